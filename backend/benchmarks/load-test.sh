@@ -0,0 +1,62 @@
+#!/usr/bin/env bash
+# Starts the backend once per thread-selection mode (MANUAL = event loop, IO = fixed io pool,
+# BLOCKING = virtual threads on Java 21) on a fresh database, and runs the login, leave-list and
+# bulk-decision scenarios of LoadTest against each. Results are appended to target/load-results.jsonl.
+# Metrics are off unless METRICS=true, so the numbers do not include instrumentation overhead, and
+# login rate limiting is off so the login scenario measures the server rather than its budget. The
+# attack scenario then runs once with the rate limits on and once with them off; its attackers rotate
+# through ATTACK_ADDRESSES forwarded addresses, so fewer addresses exhaust their budgets sooner.
+#
+#   ./load-test.sh [backend jar]        CLIENTS=128 DURATION=60 ATTACK_ADDRESSES=4 ./load-test.sh
+set -euo pipefail
+
+BACKEND_JAR=$(realpath "${1:-../target/leaveflow-backend-0.1.jar}")
+BENCH_JAR=$(realpath target/benchmarks.jar)
+RESULTS=$(realpath -m target/load-results.jsonl)
+CLIENTS=${CLIENTS:-64}
+DURATION=${DURATION:-30}
+METRICS=${METRICS:-false}
+ATTACK_ADDRESSES=${ATTACK_ADDRESSES:-16}
+URL=http://localhost:8080
+
+rm -f "$RESULTS"
+for mode in MANUAL IO BLOCKING; do
+    workdir=$(mktemp -d)
+    (cd "$workdir" && MICRONAUT_SERVER_THREAD_SELECTION=$mode LEAVEFLOW_METRICS=$METRICS LEAVEFLOW_RATE_LIMIT=false exec java -jar "$BACKEND_JAR" > server.log 2>&1) &
+    server=$!
+    trap 'kill $server 2>/dev/null || true' EXIT
+
+    until curl -s -o /dev/null "$URL/"; do
+        kill -0 $server 2>/dev/null || { echo "Backend failed to start, see $workdir/server.log"; exit 1; }
+        sleep 1
+    done
+
+    for scenario in login list decide; do
+        java -cp "$BENCH_JAR" com.leaveflow.benchmark.LoadTest --url=$URL --scenario=$scenario \
+            --clients="$CLIENTS" --duration="$DURATION" --label=$mode --results="$RESULTS"
+    done
+
+    kill $server
+    wait $server 2>/dev/null || true
+    rm -rf "$workdir"
+done
+
+for limits in true false; do
+    workdir=$(mktemp -d)
+    (cd "$workdir" && LEAVEFLOW_METRICS=$METRICS LEAVEFLOW_RATE_LIMIT=$limits \
+        LEAVEFLOW_RATE_LIMIT_TRUST_FORWARDED=true exec java -jar "$BACKEND_JAR" > server.log 2>&1) &
+    server=$!
+    trap 'kill $server 2>/dev/null || true' EXIT
+
+    until curl -s -o /dev/null "$URL/"; do
+        kill -0 $server 2>/dev/null || { echo "Backend failed to start, see $workdir/server.log"; exit 1; }
+        sleep 1
+    done
+
+    java -cp "$BENCH_JAR" com.leaveflow.benchmark.LoadTest --url=$URL --scenario=attack \
+        --clients=8 --attackers="$CLIENTS" --attack-addresses="$ATTACK_ADDRESSES" --duration="$DURATION" --label="rate-limit-$limits" --results="$RESULTS"
+
+    kill $server
+    wait $server 2>/dev/null || true
+    rm -rf "$workdir"
+done
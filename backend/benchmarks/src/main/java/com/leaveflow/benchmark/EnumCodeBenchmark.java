@@ -0,0 +1,233 @@
+package com.leaveflow.benchmark;
+
+import com.leaveflow.entity.HistoryAction;
+import com.leaveflow.entity.LeaveStatus;
+import com.leaveflow.entity.LeaveType;
+import com.leaveflow.repository.SchemaMigrator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Status/type/action columns stored as names (schema V2) vs. as enum codes (V3). Both variants seed
+// the same rows at V2; "codes" then runs the V3 migration on them, so its setup also times the
+// migration. Setup prints table and index sizes and the average leaves row payload from SQLite's
+// dbstat table; the benchmarks are the status finders and the mapping of rows back to enums.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EnumCodeBenchmark {
+    
+    private static final LeaveStatus[] STATUSES = LeaveStatus.values();
+    private static final LeaveType[] TYPES = LeaveType.values();
+    private static final HistoryAction[] ACTIONS = HistoryAction.values();
+    private static final int USERS = 5_000;
+    
+    @Param({"names", "codes"})
+    public String storage;
+    
+    @Param({"1000000"})
+    public int rows;
+    
+    private boolean codes;
+    private Path file;
+    private Connection connection;
+    private PreparedStatement byUserAndStatus;
+    private PreparedStatement firstPageByStatus;
+    private PreparedStatement approvedDays;
+    private PreparedStatement historyByAction;
+    private final SplittableRandom random = new SplittableRandom(17);
+    
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        codes = storage.equals("codes");
+        file = Files.createTempFile("leaveflow-enums", ".db");
+        connection = DriverManager.getConnection("jdbc:sqlite:" + file);
+        SchemaMigrator migrator = new SchemaMigrator();
+        migrator.migrate(connection, 2);
+        seed();
+        if (codes) {
+            long start = System.nanoTime();
+            migrator.migrate(connection, 3);
+            System.out.printf(Locale.ROOT, "%n[codes] V3 migration of %d leaves and %d history rows: %d ms%n",
+                    rows, rows, (System.nanoTime() - start) / 1_000_000);
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE");
+        }
+        printSizes();
+        
+        byUserAndStatus = connection.prepareStatement(
+                "SELECT * FROM leaves WHERE user_id = ? AND status = ?");
+        firstPageByStatus = connection.prepareStatement(
+                "SELECT * FROM leaves WHERE status = ? ORDER BY created_at DESC, id DESC LIMIT 100");
+        approvedDays = connection.prepareStatement(
+                "SELECT COALESCE(SUM(duration), 0) FROM leaves WHERE user_id = ? AND leave_type = ? AND status = ?");
+        historyByAction = connection.prepareStatement(
+                "SELECT * FROM history WHERE action = ? LIMIT 100");
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        connection.close();
+        Files.deleteIfExists(file);
+    }
+    
+    private void seed() throws SQLException {
+        connection.setAutoCommit(false);
+        LocalDate firstDay = LocalDate.of(2020, 1, 1);
+        LocalDateTime firstCreated = firstDay.atStartOfDay();
+        try (PreparedStatement leave = connection.prepareStatement(
+                "INSERT INTO leaves (user_id, leave_type, start_date, end_date, duration, status, created_at) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?)");
+             PreparedStatement history = connection.prepareStatement(
+                     "INSERT INTO history (user_id, leave_id, action, description, performed_by, old_status, new_status, timestamp) "
+                             + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = 1; i <= rows; i++) {
+                long userId = 1 + random.nextInt(USERS);
+                LocalDate start = firstDay.plusDays(random.nextInt(2_000));
+                int duration = 1 + random.nextInt(10);
+                String created = firstCreated.plusMinutes(i).toString();
+                LeaveStatus status = STATUSES[random.nextInt(STATUSES.length)];
+                leave.setLong(1, userId);
+                leave.setString(2, TYPES[random.nextInt(TYPES.length)].name());
+                leave.setString(3, start.toString());
+                leave.setString(4, start.plusDays(duration - 1).toString());
+                leave.setInt(5, duration);
+                leave.setString(6, status.name());
+                leave.setString(7, created);
+                leave.addBatch();
+                
+                history.setLong(1, userId);
+                history.setLong(2, i);
+                history.setString(3, ACTIONS[random.nextInt(ACTIONS.length)].name());
+                history.setString(4, "seeded");
+                history.setLong(5, userId);
+                history.setString(6, LeaveStatus.PENDING.name());
+                history.setString(7, status.name());
+                history.setString(8, created);
+                history.addBatch();
+                
+                if (i % 10_000 == 0) {
+                    leave.executeBatch();
+                    history.executeBatch();
+                }
+            }
+            leave.executeBatch();
+            history.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+    }
+    
+    private void printSizes() throws SQLException {
+        String sql = "SELECT m.tbl_name, "
+                + "SUM(CASE WHEN m.type = 'table' THEN d.pgsize ELSE 0 END), "
+                + "SUM(CASE WHEN m.type = 'index' THEN d.pgsize ELSE 0 END), "
+                + "SUM(CASE WHEN m.type = 'table' THEN d.payload ELSE 0 END) "
+                + "FROM dbstat d JOIN sqlite_master m ON m.name = d.name "
+                + "WHERE m.tbl_name IN ('leaves', 'history') GROUP BY m.tbl_name";
+        try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery(sql)) {
+            while (rs.next()) {
+                System.out.printf(Locale.ROOT, "[%s] %s: table %.1f MB, indexes %.1f MB, %.1f payload bytes/row%n",
+                        storage, rs.getString(1), rs.getLong(2) / 1e6, rs.getLong(3) / 1e6, rs.getLong(4) / (double) rows);
+            }
+        }
+    }
+    
+    @Benchmark
+    public int findByUserIdAndStatus() throws SQLException {
+        byUserAndStatus.setLong(1, 1 + random.nextInt(USERS));
+        bind(byUserAndStatus, 2, LeaveStatus.PENDING.name(), LeaveStatus.PENDING.code());
+        return mapStatuses(byUserAndStatus);
+    }
+    
+    @Benchmark
+    public int findPageByStatus() throws SQLException {
+        LeaveStatus status = STATUSES[random.nextInt(STATUSES.length)];
+        bind(firstPageByStatus, 1, status.name(), status.code());
+        return mapStatuses(firstPageByStatus);
+    }
+    
+    @Benchmark
+    public long sumDaysByUserTypeAndStatus() throws SQLException {
+        LeaveType type = TYPES[random.nextInt(TYPES.length)];
+        approvedDays.setLong(1, 1 + random.nextInt(USERS));
+        bind(approvedDays, 2, type.name(), type.code());
+        bind(approvedDays, 3, LeaveStatus.APPROVED.name(), LeaveStatus.APPROVED.code());
+        try (ResultSet rs = approvedDays.executeQuery()) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+    
+    @Benchmark
+    public int findHistoryByAction() throws SQLException {
+        HistoryAction action = ACTIONS[random.nextInt(ACTIONS.length)];
+        bind(historyByAction, 1, action.name(), action.code());
+        int count = 0;
+        try (ResultSet rs = historyByAction.executeQuery()) {
+            while (rs.next()) {
+                HistoryAction mapped = codes
+                        ? HistoryAction.fromCode(rs.getInt("action"))
+                        : HistoryAction.valueOf(rs.getString("action"));
+                count += mapped.code();
+            }
+        }
+        return count;
+    }
+    
+    private void bind(PreparedStatement statement, int index, String name, int code) throws SQLException {
+        if (codes) {
+            statement.setInt(index, code);
+        } else {
+            statement.setString(index, name);
+        }
+    }
+    
+    // Reads status and type back into enums the way each schema requires
+    private int mapStatuses(PreparedStatement statement) throws SQLException {
+        int count = 0;
+        try (ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                LeaveStatus status;
+                LeaveType type;
+                if (codes) {
+                    status = LeaveStatus.fromCode(rs.getInt("status"));
+                    type = LeaveType.fromCode(rs.getInt("leave_type"));
+                } else {
+                    status = LeaveStatus.valueOf(rs.getString("status"));
+                    type = LeaveType.valueOf(rs.getString("leave_type"));
+                }
+                count += status.code() + type.code();
+            }
+        }
+        return count;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,184 @@
+package com.leaveflow.benchmark;
+
+import com.leaveflow.repository.SchemaMigrator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Runs the SQL behind the hottest repository finders against a seeded SQLite file, with the
+// schema migrated to V1 (no secondary indexes) or V2 (composite indexes).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FinderIndexBenchmark {
+    
+    private static final String[] STATUSES = {"PENDING", "APPROVED", "REJECTED", "CANCELLED"};
+    private static final String[] TYPES = {"ANNUAL", "SICK", "CASUAL", "EMERGENCY"};
+    private static final String[] ACTIONS = {"APPLIED", "APPROVED", "REJECTED", "CANCELLED"};
+    private static final int USERS = 5_000;
+    
+    @Param({"false", "true"})
+    public boolean indexed;
+    
+    @Param({"1000000"})
+    public int rows;
+    
+    private Path file;
+    private Connection connection;
+    private PreparedStatement byUserAndStatus;
+    private PreparedStatement byStatusOrdered;
+    private PreparedStatement userDateRange;
+    private PreparedStatement firstPageByStatus;
+    private PreparedStatement historyByLeave;
+    private PreparedStatement historyByUser;
+    private final SplittableRandom random = new SplittableRandom(7);
+    
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        file = Files.createTempFile("leaveflow-finders", ".db");
+        connection = DriverManager.getConnection("jdbc:sqlite:" + file);
+        new SchemaMigrator().migrate(connection, indexed ? 2 : 1);
+        seed();
+        
+        byUserAndStatus = connection.prepareStatement(
+                "SELECT * FROM leaves WHERE user_id = ? AND status = ?");
+        byStatusOrdered = connection.prepareStatement(
+                "SELECT * FROM leaves WHERE status = ? ORDER BY start_date LIMIT 100");
+        userDateRange = connection.prepareStatement(
+                "SELECT * FROM leaves WHERE user_id = ? AND start_date <= ? AND end_date >= ?");
+        firstPageByStatus = connection.prepareStatement(
+                "SELECT * FROM leaves WHERE status = ? ORDER BY created_at DESC, id DESC LIMIT 100");
+        historyByLeave = connection.prepareStatement(
+                "SELECT * FROM history WHERE leave_id = ? ORDER BY timestamp DESC");
+        historyByUser = connection.prepareStatement(
+                "SELECT * FROM history WHERE user_id = ? ORDER BY timestamp DESC LIMIT 50");
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        connection.close();
+        Files.deleteIfExists(file);
+    }
+    
+    private void seed() throws SQLException {
+        connection.setAutoCommit(false);
+        LocalDate firstDay = LocalDate.of(2020, 1, 1);
+        LocalDateTime firstCreated = firstDay.atStartOfDay();
+        try (PreparedStatement leave = connection.prepareStatement(
+                "INSERT INTO leaves (user_id, leave_type, start_date, end_date, duration, status, created_at) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?)");
+             PreparedStatement history = connection.prepareStatement(
+                     "INSERT INTO history (user_id, leave_id, action, description, performed_by, timestamp) "
+                             + "VALUES (?, ?, ?, ?, ?, ?)")) {
+            for (int i = 1; i <= rows; i++) {
+                long userId = 1 + random.nextInt(USERS);
+                LocalDate start = firstDay.plusDays(random.nextInt(2_000));
+                int duration = 1 + random.nextInt(10);
+                String created = firstCreated.plusMinutes(i).toString();
+                leave.setLong(1, userId);
+                leave.setString(2, TYPES[random.nextInt(TYPES.length)]);
+                leave.setString(3, start.toString());
+                leave.setString(4, start.plusDays(duration - 1).toString());
+                leave.setInt(5, duration);
+                leave.setString(6, STATUSES[random.nextInt(STATUSES.length)]);
+                leave.setString(7, created);
+                leave.addBatch();
+                
+                history.setLong(1, userId);
+                history.setLong(2, i);
+                history.setString(3, ACTIONS[random.nextInt(ACTIONS.length)]);
+                history.setString(4, "seeded");
+                history.setLong(5, userId);
+                history.setString(6, created);
+                history.addBatch();
+                
+                if (i % 10_000 == 0) {
+                    leave.executeBatch();
+                    history.executeBatch();
+                }
+            }
+            leave.executeBatch();
+            history.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+        try (var statement = connection.createStatement()) {
+            statement.execute("ANALYZE");
+        }
+    }
+    
+    @Benchmark
+    public int findByUserIdAndStatus() throws SQLException {
+        byUserAndStatus.setLong(1, 1 + random.nextInt(USERS));
+        byUserAndStatus.setString(2, "PENDING");
+        return drain(byUserAndStatus);
+    }
+    
+    @Benchmark
+    public int findByStatus() throws SQLException {
+        byStatusOrdered.setString(1, STATUSES[random.nextInt(STATUSES.length)]);
+        return drain(byStatusOrdered);
+    }
+    
+    @Benchmark
+    public int findByUserIdAndDateRange() throws SQLException {
+        LocalDate day = LocalDate.of(2020, 1, 1).plusDays(random.nextInt(2_000));
+        userDateRange.setLong(1, 1 + random.nextInt(USERS));
+        userDateRange.setString(2, day.plusDays(30).toString());
+        userDateRange.setString(3, day.toString());
+        return drain(userDateRange);
+    }
+    
+    @Benchmark
+    public int findPageByStatusBefore() throws SQLException {
+        firstPageByStatus.setString(1, "PENDING");
+        return drain(firstPageByStatus);
+    }
+    
+    @Benchmark
+    public int findHistoryByLeaveId() throws SQLException {
+        historyByLeave.setLong(1, 1 + random.nextInt(rows));
+        return drain(historyByLeave);
+    }
+    
+    @Benchmark
+    public int findHistoryByUserId() throws SQLException {
+        historyByUser.setLong(1, 1 + random.nextInt(USERS));
+        return drain(historyByUser);
+    }
+    
+    private static int drain(PreparedStatement statement) throws SQLException {
+        int count = 0;
+        try (ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,49 @@
+package com.leaveflow.benchmark;
+
+import com.leaveflow.entity.Role;
+import com.leaveflow.entity.User;
+import com.leaveflow.service.JwtService;
+import com.leaveflow.service.TokenRevocationList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// Token issuance on login, and a full issue-then-verify round trip without the verified-token cache.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtIssuanceBenchmark {
+    
+    private JwtService jwtService;
+    private User user;
+    
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(new TokenRevocationList(100_000, 0.01), Duration.ofMinutes(15), 0, Duration.ZERO);
+        user = new User("Bench", "Mark", "bench@leaveflow.com", "unused", Role.EMPLOYEE);
+        user.setId(42L);
+    }
+    
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user);
+    }
+    
+    @Benchmark
+    public boolean generateAndValidate() {
+        return jwtService.validateToken(jwtService.generateToken(user), user.getId());
+    }
+}
\ No newline at end of file
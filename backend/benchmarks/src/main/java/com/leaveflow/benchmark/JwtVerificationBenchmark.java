@@ -0,0 +1,113 @@
+package com.leaveflow.benchmark;
+
+import com.leaveflow.entity.Role;
+import com.leaveflow.entity.User;
+import com.leaveflow.service.JwtService;
+import com.leaveflow.service.TokenClaims;
+import com.leaveflow.service.TokenRevocationList;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.Key;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Compares the original "rebuild key + parser, parse twice" validation with the cached verify path.
+// cachedVerifyWithRevocations runs the cached path against a denylist holding 100k revoked tokens,
+// the case the Bloom filter exists for; it should cost no more than cachedVerify.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtVerificationBenchmark {
+    
+    private static final String SECRET_KEY = "YourSecretKeyForJWTShouldBeAtLeast32CharactersLong123456789";
+    
+    private JwtService cachedService;
+    private JwtService uncachedService;
+    private JwtService revokingService;
+    private String token;
+    private Long userId;
+    
+    @Setup
+    public void setUp() {
+        cachedService = new JwtService(new TokenRevocationList(100_000, 0.01), Duration.ofMinutes(15), 10000, Duration.ofMinutes(5));
+        uncachedService = new JwtService(new TokenRevocationList(100_000, 0.01), Duration.ofMinutes(15), 0, Duration.ZERO);
+        
+        TokenRevocationList revocations = new TokenRevocationList(100_000, 0.01);
+        Random random = new Random(42);
+        Instant expiresAt = Instant.now().plus(Duration.ofDays(1));
+        for (int i = 0; i < 100_000; i++) {
+            revocations.revoke(random.nextLong() | 1, expiresAt);
+        }
+        revokingService = new JwtService(revocations, Duration.ofMinutes(15), 10000, Duration.ofMinutes(5));
+        
+        User user = new User("Bench", "Mark", "bench@leaveflow.com", "unused", Role.EMPLOYEE);
+        user.setId(42L);
+        userId = user.getId();
+        token = cachedService.generateToken(user);
+    }
+    
+    @Benchmark
+    public boolean legacyValidateToken() {
+        String subject = legacyExtractSubject(token);
+        return subject.equals(userId.toString()) && !legacyIsTokenExpired(token);
+    }
+    
+    @Benchmark
+    public boolean parseOnceValidateToken() {
+        return uncachedService.validateToken(token, userId);
+    }
+    
+    @Benchmark
+    public boolean cachedValidateToken() {
+        return cachedService.validateToken(token, userId);
+    }
+    
+    @Benchmark
+    public TokenClaims cachedVerify() {
+        return cachedService.verify(token);
+    }
+    
+    @Benchmark
+    public TokenClaims cachedVerifyWithRevocations() {
+        return revokingService.verify(token);
+    }
+    
+    // Mirrors the pre-cache JwtService: a new key and parser for every claim lookup
+    private static String legacyExtractSubject(String token) {
+        Key key = Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(token)
+                .getBody()
+                .getSubject();
+    }
+    
+    private static boolean legacyIsTokenExpired(String token) {
+        Key key = Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
+        Date expiration = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(token)
+                .getBody()
+                .getExpiration();
+        return expiration.before(new Date());
+    }
+}
\ No newline at end of file
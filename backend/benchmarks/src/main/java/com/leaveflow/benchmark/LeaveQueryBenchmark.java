@@ -0,0 +1,183 @@
+package com.leaveflow.benchmark;
+
+import com.leaveflow.dto.LeaveResponse;
+import com.leaveflow.entity.Leave;
+import com.leaveflow.entity.LeaveStatus;
+import com.leaveflow.entity.LeaveType;
+import com.leaveflow.repository.SchemaMigrator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// End-to-end leave reads on a seeded SQLite file at the current schema: the query, mapping rows to
+// Leave and then to LeaveResponse, as a repository call plus controller mapping would. Also compares
+// a deep OFFSET page with the keyset page the list endpoints use.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LeaveQueryBenchmark {
+    
+    private static final LeaveStatus[] STATUSES = LeaveStatus.values();
+    private static final LeaveType[] TYPES = LeaveType.values();
+    private static final int USERS = 1_000;
+    private static final int PAGE_SIZE = 100;
+    private static final int DEEP_PAGE = 500;
+    private static final LocalDateTime FIRST_CREATED = LocalDateTime.of(2020, 1, 1, 0, 0);
+    
+    @Param({"200000"})
+    public int rows;
+    
+    private Path file;
+    private Connection connection;
+    private PreparedStatement byId;
+    private PreparedStatement userPage;
+    private PreparedStatement offsetPage;
+    private PreparedStatement keysetPage;
+    private PreparedStatement approvedDays;
+    private final SplittableRandom random = new SplittableRandom(13);
+    
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        file = Files.createTempFile("leaveflow-leaves", ".db");
+        connection = DriverManager.getConnection("jdbc:sqlite:" + file);
+        new SchemaMigrator().migrate(connection);
+        seed();
+        
+        byId = connection.prepareStatement("SELECT * FROM leaves WHERE id = ?");
+        userPage = connection.prepareStatement(
+                "SELECT * FROM leaves WHERE user_id = ? ORDER BY created_at DESC, id DESC LIMIT " + PAGE_SIZE);
+        offsetPage = connection.prepareStatement(
+                "SELECT * FROM leaves ORDER BY created_at DESC, id DESC LIMIT " + PAGE_SIZE + " OFFSET ?");
+        keysetPage = connection.prepareStatement(
+                "SELECT * FROM leaves WHERE created_at < ? OR (created_at = ? AND id < ?) "
+                        + "ORDER BY created_at DESC, id DESC LIMIT " + PAGE_SIZE);
+        approvedDays = connection.prepareStatement(
+                "SELECT COALESCE(SUM(duration), 0) FROM leaves WHERE user_id = ? AND leave_type = ? "
+                        + "AND status = " + LeaveStatus.APPROVED.code() + " AND start_date >= ? AND start_date < ?");
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        connection.close();
+        Files.deleteIfExists(file);
+    }
+    
+    private void seed() throws SQLException {
+        connection.setAutoCommit(false);
+        LocalDate firstDay = LocalDate.of(2020, 1, 1);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO leaves (user_id, leave_type, start_date, end_date, duration, reason, status, created_at, updated_at) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = 1; i <= rows; i++) {
+                LocalDate start = firstDay.plusDays(random.nextInt(2_000));
+                int duration = 1 + random.nextInt(10);
+                String created = FIRST_CREATED.plusMinutes(i).toString();
+                insert.setLong(1, 1 + random.nextInt(USERS));
+                insert.setInt(2, TYPES[random.nextInt(TYPES.length)].code());
+                insert.setString(3, start.toString());
+                insert.setString(4, start.plusDays(duration - 1).toString());
+                insert.setInt(5, duration);
+                insert.setString(6, "seeded");
+                insert.setInt(7, STATUSES[random.nextInt(STATUSES.length)].code());
+                insert.setString(8, created);
+                insert.setString(9, created);
+                insert.addBatch();
+                if (i % 10_000 == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+        try (var statement = connection.createStatement()) {
+            statement.execute("ANALYZE");
+        }
+    }
+    
+    @Benchmark
+    public LeaveResponse findById() throws SQLException {
+        byId.setLong(1, 1 + random.nextInt(rows));
+        return map(byId).get(0);
+    }
+    
+    @Benchmark
+    public List<LeaveResponse> firstPageByUser() throws SQLException {
+        userPage.setLong(1, 1 + random.nextInt(USERS));
+        return map(userPage);
+    }
+    
+    @Benchmark
+    public List<LeaveResponse> deepPageByOffset() throws SQLException {
+        offsetPage.setInt(1, DEEP_PAGE * PAGE_SIZE);
+        return map(offsetPage);
+    }
+    
+    // Same rows as deepPageByOffset: ids and created_at both ascend, so the cursor is the row just above the page
+    @Benchmark
+    public List<LeaveResponse> deepPageByKeyset() throws SQLException {
+        long afterId = rows - (long) DEEP_PAGE * PAGE_SIZE + 1;
+        String afterCreated = FIRST_CREATED.plusMinutes(afterId).toString();
+        keysetPage.setString(1, afterCreated);
+        keysetPage.setString(2, afterCreated);
+        keysetPage.setLong(3, afterId);
+        return map(keysetPage);
+    }
+    
+    @Benchmark
+    public long approvedDaysForYear() throws SQLException {
+        int year = 2020 + random.nextInt(5);
+        approvedDays.setLong(1, 1 + random.nextInt(USERS));
+        approvedDays.setInt(2, TYPES[random.nextInt(TYPES.length)].code());
+        approvedDays.setString(3, LocalDate.of(year, 1, 1).toString());
+        approvedDays.setString(4, LocalDate.of(year + 1, 1, 1).toString());
+        try (ResultSet rs = approvedDays.executeQuery()) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+    
+    private static List<LeaveResponse> map(PreparedStatement statement) throws SQLException {
+        List<LeaveResponse> page = new ArrayList<>(PAGE_SIZE);
+        try (ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                Leave leave = new Leave(rs.getLong("user_id"), LeaveType.fromCode(rs.getInt("leave_type")),
+                        LocalDate.parse(rs.getString("start_date")), LocalDate.parse(rs.getString("end_date")),
+                        rs.getInt("duration"), rs.getString("reason"));
+                leave.setId(rs.getLong("id"));
+                leave.setStatus(LeaveStatus.fromCode(rs.getInt("status")));
+                leave.setCreatedAt(LocalDateTime.parse(rs.getString("created_at")));
+                leave.setUpdatedAt(LocalDateTime.parse(rs.getString("updated_at")));
+                page.add(new LeaveResponse(leave));
+            }
+        }
+        return page;
+    }
+}
\ No newline at end of file
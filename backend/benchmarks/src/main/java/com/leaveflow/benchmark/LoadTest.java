@@ -0,0 +1,343 @@
+package com.leaveflow.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Closed-loop HTTP load driver for a running backend: N clients each send one request at a time for
+// a fixed duration. Used by load-test.sh to compare login and leave-list throughput across the
+// server's thread-selection modes; JMH does not fit here because the work is on the other side of a socket.
+// The decide scenario is a one-shot timing instead: it seeds 2 x --seed-leaves pending leaves, approves
+// half of them one PUT at a time and the other half through POST /api/leaves/decisions.
+// The attack scenario measures --clients legitimate leave-list clients alone, then again while
+// --attackers clients send wrong-password logins for random accounts from --attack-addresses rotating
+// X-Forwarded-For addresses (start the backend with leaveflow.rate-limit.trust-forwarded=true so they count as distinct
+// clients), and reports both latency distributions and how many attack logins were answered 429.
+//
+//   java -cp target/benchmarks.jar com.leaveflow.benchmark.LoadTest --scenario=list --label=BLOCKING
+//
+// Options (defaults in brackets): --url [http://localhost:8080], --scenario login|list|decide|attack [list],
+// --clients [64], --attackers [64], --attack-addresses [16], --warmup seconds [10], --duration seconds [30], --seed-leaves [200],
+// --label [unlabelled], --results file to append a JSON line to [target/load-results.jsonl]
+public class LoadTest {
+    
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+    private static final String EMAIL = "employee@leaveflow.com";
+    private static final String PASSWORD = "employee123";
+    private static final String ADMIN_EMAIL = "admin@leaveflow.com";
+    private static final String ADMIN_PASSWORD = "admin123";
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+    private static final int MAX_BULK = 1000;
+    
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final String url;
+    private final String scenario;
+    
+    private String token;
+    
+    LoadTest(String url, String scenario) {
+        this.url = url;
+        this.scenario = scenario;
+    }
+    
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        String url = options.getOrDefault("url", "http://localhost:8080");
+        String scenario = options.getOrDefault("scenario", "list");
+        int clients = Integer.parseInt(options.getOrDefault("clients", "64"));
+        int attackers = Integer.parseInt(options.getOrDefault("attackers", "64"));
+        int attackAddresses = Integer.parseInt(options.getOrDefault("attack-addresses", "16"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "10"));
+        int duration = Integer.parseInt(options.getOrDefault("duration", "30"));
+        int seedLeaves = Integer.parseInt(options.getOrDefault("seed-leaves", "200"));
+        String label = options.getOrDefault("label", "unlabelled");
+        Path results = Path.of(options.getOrDefault("results", "target/load-results.jsonl"));
+        if (!List.of("login", "list", "decide", "attack").contains(scenario)) {
+            throw new IllegalArgumentException("--scenario must be login, list, decide or attack");
+        }
+        
+        LoadTest test = new LoadTest(url, scenario);
+        test.token = test.login(EMAIL, PASSWORD);
+        String json;
+        if (scenario.equals("decide")) {
+            json = test.decide(seedLeaves, label);
+        } else if (scenario.equals("attack")) {
+            test.seed(seedLeaves, LocalDate.of(2030, 1, 1));
+            json = test.attack(clients, attackers, attackAddresses, warmup, duration, label);
+        } else {
+            if (scenario.equals("list")) {
+                test.seed(seedLeaves, LocalDate.of(2030, 1, 1));
+            }
+            
+            test.run(clients, warmup, test::send);
+            Result result = test.run(clients, duration, test::send);
+            
+            json = String.format(Locale.ROOT,
+                    "{\"label\":\"%s\",\"scenario\":\"%s\",\"clients\":%d,\"durationSeconds\":%d,\"requests\":%d,"
+                            + "\"errors\":%d,\"throughput\":%.1f,\"p50Millis\":%.2f,\"p99Millis\":%.2f,\"maxMillis\":%.2f}",
+                    label, scenario, clients, duration, result.requests.sum(), result.errors.sum(),
+                    result.requests.sum() / (double) duration,
+                    result.percentile(0.50), result.percentile(0.99), result.percentile(1.0));
+        }
+        System.out.println(json);
+        if (results.getParent() != null) {
+            Files.createDirectories(results.getParent());
+        }
+        Files.writeString(results, json + System.lineSeparator(), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+    
+    private Result run(int clients, int seconds, Sender sender) throws InterruptedException {
+        Result result = new Result();
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService pool = start(clients, sender, result, running);
+        Thread.sleep(TimeUnit.SECONDS.toMillis(seconds));
+        stop(pool, running);
+        return result;
+    }
+    
+    private static ExecutorService start(int clients, Sender sender, Result result, AtomicBoolean running) {
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        for (int i = 0; i < clients; i++) {
+            pool.execute(() -> {
+                while (running.get()) {
+                    long start = System.nanoTime();
+                    boolean ok;
+                    try {
+                        ok = sender.send();
+                    } catch (IOException e) {
+                        ok = false;
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    if (running.get()) {
+                        result.record(System.nanoTime() - start, ok);
+                    }
+                }
+            });
+        }
+        return pool;
+    }
+    
+    private static void stop(ExecutorService pool, AtomicBoolean running) throws InterruptedException {
+        running.set(false);
+        pool.shutdown();
+        pool.awaitTermination(30, TimeUnit.SECONDS);
+    }
+    
+    private boolean send() throws IOException, InterruptedException {
+        HttpRequest request = scenario.equals("login")
+                ? loginRequest()
+                : HttpRequest.newBuilder(URI.create(url + "/api/leaves/my?limit=100"))
+                        .header("Authorization", "Bearer " + token)
+                        .GET()
+                        .build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+    }
+    
+    // Leave-list latency for the legitimate clients without and then with the attackers running
+    private String attack(int clients, int attackers, int addresses, int warmup, int seconds, String label)
+            throws InterruptedException {
+        run(clients, warmup, this::send);
+        Result baseline = run(clients, seconds, this::send);
+        
+        LongAdder limited = new LongAdder();
+        LongAdder unauthorized = new LongAdder();
+        Result attack = new Result();
+        AtomicBoolean attacking = new AtomicBoolean(true);
+        ExecutorService attackPool = start(attackers, () -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            HttpRequest request = HttpRequest.newBuilder(URI.create(url + "/api/auth/login"))
+                    .header("Content-Type", "application/json")
+                    .header("X-Forwarded-For", "203.0.113." + (1 + random.nextInt(addresses)))
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"email\":\"user" + random.nextInt(1_000_000)
+                            + "@example.com\",\"password\":\"guess" + random.nextInt() + "\"}"))
+                    .build();
+            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            if (status == 429) {
+                limited.increment();
+            } else if (status == 401) {
+                unauthorized.increment();
+            }
+            return status == 429 || status == 401;
+        }, attack, attacking);
+        Result underAttack = run(clients, seconds, this::send);
+        stop(attackPool, attacking);
+        
+        return String.format(Locale.ROOT,
+                "{\"label\":\"%s\",\"scenario\":\"attack\",\"clients\":%d,\"attackers\":%d,\"attackAddresses\":%d,"
+                        + "\"durationSeconds\":%d,"
+                        + "\"baselineP50Millis\":%.2f,\"baselineP99Millis\":%.2f,\"attackP50Millis\":%.2f,"
+                        + "\"attackP99Millis\":%.2f,\"errors\":%d,\"attackRequests\":%d,\"attackLimited\":%d,"
+                        + "\"attackUnauthorized\":%d,\"attackErrors\":%d}",
+                label, clients, attackers, addresses, seconds,
+                baseline.percentile(0.50), baseline.percentile(0.99),
+                underAttack.percentile(0.50), underAttack.percentile(0.99),
+                baseline.errors.sum() + underAttack.errors.sum(), attack.requests.sum(), limited.sum(),
+                unauthorized.sum(), attack.errors.sum());
+    }
+    
+    // Approves the same number of freshly seeded leaves per item and in bulk, timing each half
+    private String decide(int leaves, String label) throws IOException, InterruptedException {
+        List<Long> ids = seed(2 * leaves, LocalDate.of(2040, 1, 1));
+        String adminToken = login(ADMIN_EMAIL, ADMIN_PASSWORD);
+        
+        long start = System.nanoTime();
+        int errors = 0;
+        for (Long id : ids.subList(0, leaves)) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(url + "/api/leaves/" + id + "/approve"))
+                    .header("Authorization", "Bearer " + adminToken)
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString("{\"status\":\"APPROVED\"}"))
+                    .build();
+            if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() != 200) {
+                errors++;
+            }
+        }
+        double perItemMillis = (System.nanoTime() - start) / 1_000_000.0;
+        
+        start = System.nanoTime();
+        List<Long> bulk = ids.subList(leaves, ids.size());
+        for (int from = 0; from < bulk.size(); from += MAX_BULK) {
+            StringJoiner decisions = new StringJoiner(",", "{\"decisions\":[", "]}");
+            for (Long id : bulk.subList(from, Math.min(bulk.size(), from + MAX_BULK))) {
+                decisions.add("{\"leaveId\":" + id + ",\"status\":\"APPROVED\"}");
+            }
+            HttpRequest request = HttpRequest.newBuilder(URI.create(url + "/api/leaves/decisions"))
+                    .header("Authorization", "Bearer " + adminToken)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(decisions.toString()))
+                    .build();
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200 || !response.body().contains("\"failed\":0")) {
+                errors++;
+            }
+        }
+        double bulkMillis = (System.nanoTime() - start) / 1_000_000.0;
+        
+        return String.format(Locale.ROOT,
+                "{\"label\":\"%s\",\"scenario\":\"decide\",\"leaves\":%d,\"errors\":%d,"
+                        + "\"perItemMillis\":%.1f,\"bulkMillis\":%.1f,\"speedup\":%.1f}",
+                label, leaves, errors, perItemMillis, bulkMillis, perItemMillis / bulkMillis);
+    }
+    
+    private String login(String email, String password) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(loginRequest(email, password), HttpResponse.BodyHandlers.ofString());
+        Matcher matcher = TOKEN.matcher(response.body());
+        if (response.statusCode() != 200 || !matcher.find()) {
+            throw new IllegalStateException("Login failed with HTTP " + response.statusCode());
+        }
+        return matcher.group(1);
+    }
+    
+    // Applies one-day leaves for the employee on the working days from the given day on and returns
+    // their ids; the server refuses a range with no working day. EMERGENCY leave has no balance to run out
+    private List<Long> seed(int leaves, LocalDate day) throws IOException, InterruptedException {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < leaves; i++, day = day.plusDays(1)) {
+            while (day.getDayOfWeek() == DayOfWeek.SATURDAY || day.getDayOfWeek() == DayOfWeek.SUNDAY) {
+                day = day.plusDays(1);
+            }
+            String body = String.format("{\"leaveType\":\"EMERGENCY\",\"startDate\":\"%s\",\"endDate\":\"%s\","
+                    + "\"duration\":1,\"reason\":\"load test\"}", day, day);
+            HttpRequest request = HttpRequest.newBuilder(URI.create(url + "/api/leaves"))
+                    .header("Authorization", "Bearer " + token)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            Matcher matcher = ID.matcher(response.body());
+            if (response.statusCode() != 201 || !matcher.find()) {
+                throw new IllegalStateException("Seeding leaves failed with HTTP " + response.statusCode());
+            }
+            ids.add(Long.valueOf(matcher.group(1)));
+        }
+        return ids;
+    }
+    
+    private HttpRequest loginRequest() {
+        return loginRequest(EMAIL, PASSWORD);
+    }
+    
+    private HttpRequest loginRequest(String email, String password) {
+        return HttpRequest.newBuilder(URI.create(url + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}"))
+                .build();
+    }
+    
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            int eq = arg.indexOf('=');
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return options;
+    }
+    
+    @FunctionalInterface
+    private interface Sender {
+        // One request; true when the response was the expected one
+        boolean send() throws IOException, InterruptedException;
+    }
+    
+    // Latencies in a fixed 10-microsecond histogram up to 10 s, so recording never allocates or locks
+    private static final class Result {
+        
+        private static final int BUCKET_NANOS = 10_000;
+        private static final int BUCKETS = 1_000_000;
+        
+        private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        
+        void record(long nanos, boolean ok) {
+            histogram.incrementAndGet((int) Math.min(BUCKETS - 1, nanos / BUCKET_NANOS));
+            requests.increment();
+            if (!ok) {
+                errors.increment();
+            }
+        }
+        
+        double percentile(double p) {
+            long target = Math.max(1, (long) Math.ceil(requests.sum() * p));
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += histogram.get(i);
+                if (seen >= target) {
+                    return (i + 1) * (double) BUCKET_NANOS / 1_000_000;
+                }
+            }
+            return 0;
+        }
+    }
+}
\ No newline at end of file
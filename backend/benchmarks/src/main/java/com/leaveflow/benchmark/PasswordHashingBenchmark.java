@@ -0,0 +1,61 @@
+package com.leaveflow.benchmark;
+
+import com.leaveflow.service.Pbkdf2PasswordHasher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
+
+// Cost of one hash and one verify per hasher. PBKDF2 is deliberately slow, so this suite reports
+// milliseconds; the iteration count is a parameter to size leaveflow.password.pbkdf2.iterations.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordHashingBenchmark {
+    
+    private static final String PASSWORD = "employee123";
+    
+    @Param({"210000", "600000"})
+    public int iterations;
+    
+    private Pbkdf2PasswordHasher pbkdf2;
+    private String pbkdf2Hash;
+    
+    @Setup
+    public void setUp() {
+        pbkdf2 = new Pbkdf2PasswordHasher(iterations);
+        pbkdf2Hash = pbkdf2.hash(PASSWORD);
+    }
+    
+    @Benchmark
+    public String pbkdf2Hash() {
+        return pbkdf2.hash(PASSWORD);
+    }
+    
+    @Benchmark
+    public boolean pbkdf2Matches() {
+        return pbkdf2.matches(PASSWORD, pbkdf2Hash);
+    }
+    
+    // Mirrors the unsalted SHA-256 digest of earlier releases, the baseline the PBKDF2 numbers replace.
+    // Independent of the iterations parameter.
+    @Benchmark
+    public byte[] legacySha256() throws NoSuchAlgorithmException {
+        return MessageDigest.getInstance("SHA-256").digest(PASSWORD.getBytes(StandardCharsets.UTF_8));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,291 @@
+package com.leaveflow.benchmark;
+
+import com.leaveflow.dto.HistoryEntry;
+import com.leaveflow.dto.LeaveResponse;
+import com.leaveflow.dto.LeaveSummary;
+import com.leaveflow.dto.UserResponse;
+import com.leaveflow.dto.UserSummary;
+import com.leaveflow.entity.History;
+import com.leaveflow.entity.HistoryAction;
+import com.leaveflow.entity.Leave;
+import com.leaveflow.entity.LeaveStatus;
+import com.leaveflow.entity.LeaveType;
+import com.leaveflow.entity.Role;
+import com.leaveflow.entity.User;
+import com.leaveflow.repository.SchemaMigrator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// The three list views read as full entities then mapped to responses (SELECT *, the old path) vs.
+// projected column by column into the summary records the read repositories now return. Plain JDBC
+// on both sides, so Hibernate's own per-entity cost (persistence context entry, dirty-check snapshot)
+// is left out and the gap here is a lower bound. Run with -prof gc to compare allocation per list.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProjectionBenchmark {
+    
+    private static final LeaveStatus[] STATUSES = LeaveStatus.values();
+    private static final LeaveType[] TYPES = LeaveType.values();
+    private static final int USERS = 1_000;
+    private static final String LEAVE_COLUMNS = "id, user_id, leave_type, start_date, end_date, duration, reason, "
+            + "status, approved_by, approved_at, comments, created_at, updated_at";
+    
+    @Param({"100000"})
+    public int rows;
+    
+    private Path file;
+    private Connection connection;
+    private PreparedStatement allUsers;
+    private PreparedStatement allUserColumns;
+    private PreparedStatement allLeaves;
+    private PreparedStatement allLeaveColumns;
+    private PreparedStatement userHistory;
+    private PreparedStatement userHistoryColumns;
+    private final SplittableRandom random = new SplittableRandom(19);
+    
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        file = Files.createTempFile("leaveflow-projections", ".db");
+        connection = DriverManager.getConnection("jdbc:sqlite:" + file);
+        new SchemaMigrator().migrate(connection);
+        seed();
+        
+        allUsers = connection.prepareStatement("SELECT * FROM users ORDER BY id");
+        allUserColumns = connection.prepareStatement(
+                "SELECT id, first_name, last_name, email, role, active, annual_leave_balance, sick_leave_balance, "
+                        + "casual_leave_balance, created_at, updated_at FROM users ORDER BY id");
+        allLeaves = connection.prepareStatement("SELECT * FROM leaves ORDER BY id");
+        allLeaveColumns = connection.prepareStatement("SELECT " + LEAVE_COLUMNS + " FROM leaves ORDER BY id");
+        userHistory = connection.prepareStatement(
+                "SELECT * FROM history WHERE user_id = ? ORDER BY timestamp DESC LIMIT 100");
+        userHistoryColumns = connection.prepareStatement(
+                "SELECT id, leave_id, user_id, action, description, performed_by, old_status, new_status, timestamp "
+                        + "FROM history WHERE user_id = ? ORDER BY timestamp DESC LIMIT 100");
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        connection.close();
+        Files.deleteIfExists(file);
+    }
+    
+    // rows users, leaves and history rows; leaves and history belong to the first USERS users
+    private void seed() throws SQLException {
+        connection.setAutoCommit(false);
+        LocalDate firstDay = LocalDate.of(2020, 1, 1);
+        LocalDateTime firstCreated = firstDay.atStartOfDay();
+        try (PreparedStatement user = connection.prepareStatement(
+                "INSERT INTO users (first_name, last_name, email, password, role, active, annual_leave_balance, "
+                        + "sick_leave_balance, casual_leave_balance, created_at, updated_at) "
+                        + "VALUES (?, ?, ?, ?, ?, 1, 25, 10, 5, ?, ?)");
+             PreparedStatement leave = connection.prepareStatement(
+                     "INSERT INTO leaves (user_id, leave_type, start_date, end_date, duration, reason, status, "
+                             + "approved_by, approved_at, comments, created_at, updated_at) "
+                             + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+             PreparedStatement history = connection.prepareStatement(
+                     "INSERT INTO history (user_id, leave_id, action, description, performed_by, old_status, "
+                             + "new_status, additional_data, timestamp) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = 1; i <= rows; i++) {
+                String created = firstCreated.plusMinutes(i).toString();
+                user.setString(1, "First" + i);
+                user.setString(2, "Last" + i);
+                user.setString(3, "user" + i + "@leaveflow.com");
+                user.setString(4, "pbkdf2-sha256$210000$c2FsdHNhbHRzYWx0c2FsdA$aGFzaGhhc2hoYXNoaGFzaGhhc2hoYXNoaGFzaGhhc2g");
+                user.setInt(5, (i % 20 == 0 ? Role.ADMIN : Role.EMPLOYEE).code());
+                user.setString(6, created);
+                user.setString(7, created);
+                user.addBatch();
+                
+                long userId = 1 + random.nextInt(USERS);
+                LocalDate start = firstDay.plusDays(random.nextInt(2_000));
+                int duration = 1 + random.nextInt(10);
+                LeaveStatus status = STATUSES[random.nextInt(STATUSES.length)];
+                boolean decided = status.isDecision();
+                leave.setLong(1, userId);
+                leave.setInt(2, TYPES[random.nextInt(TYPES.length)].code());
+                leave.setString(3, start.toString());
+                leave.setString(4, start.plusDays(duration - 1).toString());
+                leave.setInt(5, duration);
+                leave.setString(6, "Family trip, back on the following Monday");
+                leave.setInt(7, status.code());
+                leave.setObject(8, decided ? 1L : null);
+                leave.setString(9, decided ? created : null);
+                leave.setString(10, decided ? "Enjoy" : null);
+                leave.setString(11, created);
+                leave.setString(12, created);
+                leave.addBatch();
+                
+                history.setLong(1, userId);
+                history.setLong(2, i);
+                history.setInt(3, HistoryAction.of(status).code());
+                history.setString(4, "Leave " + status.name().toLowerCase());
+                history.setLong(5, userId);
+                history.setInt(6, LeaveStatus.PENDING.code());
+                history.setInt(7, status.code());
+                history.setString(8, "{\"source\":\"web\",\"client\":\"leaveflow-frontend\"}");
+                history.setString(9, created);
+                history.addBatch();
+                
+                if (i % 10_000 == 0) {
+                    user.executeBatch();
+                    leave.executeBatch();
+                    history.executeBatch();
+                }
+            }
+            user.executeBatch();
+            leave.executeBatch();
+            history.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+        try (var statement = connection.createStatement()) {
+            statement.execute("ANALYZE");
+        }
+    }
+    
+    @Benchmark
+    public List<UserResponse> usersAsEntities() throws SQLException {
+        List<UserResponse> list = new ArrayList<>(rows);
+        try (ResultSet rs = allUsers.executeQuery()) {
+            while (rs.next()) {
+                User user = new User(rs.getString("first_name"), rs.getString("last_name"), rs.getString("email"),
+                        rs.getString("password"), Role.fromCode(rs.getInt("role")));
+                user.setId(rs.getLong("id"));
+                user.setActive(rs.getBoolean("active"));
+                user.setAnnualLeaveBalance(rs.getInt("annual_leave_balance"));
+                user.setSickLeaveBalance(rs.getInt("sick_leave_balance"));
+                user.setCasualLeaveBalance(rs.getInt("casual_leave_balance"));
+                user.setCreatedAt(LocalDateTime.parse(rs.getString("created_at")));
+                user.setUpdatedAt(LocalDateTime.parse(rs.getString("updated_at")));
+                list.add(UserResponse.from(user));
+            }
+        }
+        return list;
+    }
+    
+    @Benchmark
+    public List<UserSummary> usersAsProjections() throws SQLException {
+        List<UserSummary> list = new ArrayList<>(rows);
+        try (ResultSet rs = allUserColumns.executeQuery()) {
+            while (rs.next()) {
+                list.add(new UserSummary(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4),
+                        Role.fromCode(rs.getInt(5)), rs.getBoolean(6), rs.getInt(7), rs.getInt(8), rs.getInt(9),
+                        LocalDateTime.parse(rs.getString(10)), LocalDateTime.parse(rs.getString(11))));
+            }
+        }
+        return list;
+    }
+    
+    @Benchmark
+    public List<LeaveResponse> leavesAsEntities() throws SQLException {
+        List<LeaveResponse> list = new ArrayList<>(rows);
+        try (ResultSet rs = allLeaves.executeQuery()) {
+            while (rs.next()) {
+                Leave leave = new Leave(rs.getLong("user_id"), LeaveType.fromCode(rs.getInt("leave_type")),
+                        LocalDate.parse(rs.getString("start_date")), LocalDate.parse(rs.getString("end_date")),
+                        rs.getInt("duration"), rs.getString("reason"));
+                leave.setId(rs.getLong("id"));
+                leave.setStatus(LeaveStatus.fromCode(rs.getInt("status")));
+                leave.setApprovedBy(id(rs, "approved_by"));
+                leave.setApprovedAt(timestamp(rs.getString("approved_at")));
+                leave.setComments(rs.getString("comments"));
+                leave.setCreatedAt(LocalDateTime.parse(rs.getString("created_at")));
+                leave.setUpdatedAt(LocalDateTime.parse(rs.getString("updated_at")));
+                list.add(new LeaveResponse(leave));
+            }
+        }
+        return list;
+    }
+    
+    @Benchmark
+    public List<LeaveSummary> leavesAsProjections() throws SQLException {
+        List<LeaveSummary> list = new ArrayList<>(rows);
+        try (ResultSet rs = allLeaveColumns.executeQuery()) {
+            while (rs.next()) {
+                list.add(new LeaveSummary(rs.getLong(1), rs.getLong(2), LeaveType.fromCode(rs.getInt(3)),
+                        LocalDate.parse(rs.getString(4)), LocalDate.parse(rs.getString(5)), rs.getInt(6),
+                        rs.getString(7), LeaveStatus.fromCode(rs.getInt(8)), id(rs, "approved_by"),
+                        timestamp(rs.getString(10)), rs.getString(11), LocalDateTime.parse(rs.getString(12)),
+                        LocalDateTime.parse(rs.getString(13))));
+            }
+        }
+        return list;
+    }
+    
+    @Benchmark
+    public List<History> historyAsEntities() throws SQLException {
+        userHistory.setLong(1, 1 + random.nextInt(USERS));
+        List<History> list = new ArrayList<>(100);
+        try (ResultSet rs = userHistory.executeQuery()) {
+            while (rs.next()) {
+                History history = new History(rs.getLong("user_id"), rs.getLong("leave_id"),
+                        HistoryAction.fromCode(rs.getInt("action")), rs.getString("description"),
+                        id(rs, "performed_by"));
+                history.setId(rs.getLong("id"));
+                history.setOldStatus(status(rs, "old_status"));
+                history.setNewStatus(status(rs, "new_status"));
+                history.setAdditionalData(rs.getString("additional_data"));
+                history.setTimestamp(LocalDateTime.parse(rs.getString("timestamp")));
+                list.add(history);
+            }
+        }
+        return list;
+    }
+    
+    @Benchmark
+    public List<HistoryEntry> historyAsProjections() throws SQLException {
+        userHistoryColumns.setLong(1, 1 + random.nextInt(USERS));
+        List<HistoryEntry> list = new ArrayList<>(100);
+        try (ResultSet rs = userHistoryColumns.executeQuery()) {
+            while (rs.next()) {
+                list.add(new HistoryEntry(rs.getLong(1), rs.getLong(2), rs.getLong(3),
+                        HistoryAction.fromCode(rs.getInt(4)), rs.getString(5), id(rs, "performed_by"),
+                        status(rs, "old_status"), status(rs, "new_status"), LocalDateTime.parse(rs.getString(9))));
+            }
+        }
+        return list;
+    }
+    
+    private static LocalDateTime timestamp(String value) {
+        return value == null ? null : LocalDateTime.parse(value);
+    }
+    
+    private static Long id(ResultSet rs, String column) throws SQLException {
+        long id = rs.getLong(column);
+        return rs.wasNull() ? null : id;
+    }
+    
+    private static LeaveStatus status(ResultSet rs, String column) throws SQLException {
+        int code = rs.getInt(column);
+        return rs.wasNull() ? null : LeaveStatus.fromCode(code);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,188 @@
+package com.leaveflow.benchmark;
+
+import com.leaveflow.dto.UserResponse;
+import com.leaveflow.dto.UserSummary;
+import com.leaveflow.entity.Role;
+import com.leaveflow.entity.User;
+import com.leaveflow.repository.SchemaMigrator;
+import com.leaveflow.repository.UserReadRepository;
+import com.leaveflow.service.UserCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// User lookups by id and email, straight from SQLite vs. through UserCache. The "repository" here is
+// plain JDBC, so the uncached numbers are a lower bound for the real JPA path.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserLookupBenchmark {
+    
+    @Param({"10000"})
+    public int users;
+    
+    private Path file;
+    private Connection connection;
+    private JdbcUserRepository repository;
+    private UserCache cache;
+    private final SplittableRandom random = new SplittableRandom(11);
+    
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        file = Files.createTempFile("leaveflow-users", ".db");
+        connection = DriverManager.getConnection("jdbc:sqlite:" + file);
+        new SchemaMigrator().migrate(connection);
+        seed();
+        repository = new JdbcUserRepository(connection);
+        cache = new UserCache(repository, users, Duration.ofMinutes(10));
+        // Warm every entry so the cached benchmarks measure hits
+        for (long id = 1; id <= users; id++) {
+            cache.findResponseById(id);
+            cache.findByEmail(emailOf(id));
+        }
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        connection.close();
+        Files.deleteIfExists(file);
+    }
+    
+    private void seed() throws SQLException {
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO users (first_name, last_name, email, password, role, active, annual_leave_balance, "
+                        + "sick_leave_balance, casual_leave_balance, created_at, updated_at) "
+                        + "VALUES (?, ?, ?, ?, ?, 1, 25, 10, 5, ?, ?)")) {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            for (long id = 1; id <= users; id++) {
+                insert.setString(1, "First" + id);
+                insert.setString(2, "Last" + id);
+                insert.setString(3, emailOf(id));
+                insert.setString(4, "pbkdf2-sha256$210000$c2FsdA$aGFzaA");
+                insert.setInt(5, (id % 20 == 0 ? Role.ADMIN : Role.EMPLOYEE).code());
+                insert.setTimestamp(6, now);
+                insert.setTimestamp(7, now);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+    }
+    
+    @Benchmark
+    public UserResponse uncachedResponseById() {
+        return repository.findById(nextId()).map(UserResponse::from).orElseThrow();
+    }
+    
+    @Benchmark
+    public UserResponse cachedResponseById() {
+        return cache.findResponseById(nextId()).orElseThrow();
+    }
+    
+    @Benchmark
+    public User uncachedFindByEmail() {
+        return repository.findByEmail(emailOf(nextId())).orElseThrow();
+    }
+    
+    @Benchmark
+    public User cachedFindByEmail() {
+        return cache.findByEmail(emailOf(nextId())).orElseThrow();
+    }
+    
+    private long nextId() {
+        return 1 + random.nextInt(users);
+    }
+    
+    private static String emailOf(long id) {
+        return "user" + id + "@leaveflow.com";
+    }
+    
+    private static final class JdbcUserRepository implements UserReadRepository {
+        
+        private final PreparedStatement byId;
+        private final PreparedStatement byEmail;
+        
+        JdbcUserRepository(Connection connection) throws SQLException {
+            this.byId = connection.prepareStatement("SELECT * FROM users WHERE id = ?");
+            this.byEmail = connection.prepareStatement("SELECT * FROM users WHERE email = ?");
+        }
+        
+        @Override
+        public Optional<User> findById(Long id) {
+            try {
+                byId.setLong(1, id);
+                return single(byId);
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        
+        @Override
+        public Optional<User> findByEmail(String email) {
+            try {
+                byEmail.setString(1, email);
+                return single(byEmail);
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        
+        @Override
+        public List<UserSummary> listOrderById() {
+            throw new UnsupportedOperationException();
+        }
+        
+        @Override
+        public List<UserSummary> listByRoleOrderById(Role role) {
+            throw new UnsupportedOperationException();
+        }
+        
+        private static Optional<User> single(PreparedStatement statement) throws SQLException {
+            try (ResultSet rs = statement.executeQuery()) {
+                if (!rs.next()) {
+                    return Optional.empty();
+                }
+                User user = new User(rs.getString("first_name"), rs.getString("last_name"), rs.getString("email"),
+                        rs.getString("password"), Role.fromCode(rs.getInt("role")));
+                user.setId(rs.getLong("id"));
+                user.setActive(rs.getBoolean("active"));
+                user.setAnnualLeaveBalance(rs.getInt("annual_leave_balance"));
+                user.setSickLeaveBalance(rs.getInt("sick_leave_balance"));
+                user.setCasualLeaveBalance(rs.getInt("casual_leave_balance"));
+                user.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
+                user.setUpdatedAt(rs.getTimestamp("updated_at").toLocalDateTime());
+                return Optional.of(user);
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,67 @@
+#!/usr/bin/env bash
+# Measures startup time and resident memory of the packaged backend, as a JVM jar and, when it has
+# been built with -Pnative, as a native image. Each target is started RUNS times on a fresh database;
+# a run records the time until the first HTTP response, Micronaut's own "Startup completed" figure,
+# and VmRSS/VmHWM once ready and again after WARMUP seconds of the leave-list scenario. Results are
+# appended to target/startup-results.jsonl.
+#
+#   ./startup.sh [backend jar] [native binary]        RUNS=10 WARMUP=20 ./startup.sh
+set -euo pipefail
+
+BACKEND_JAR=$(realpath "${1:-../target/leaveflow-backend-0.1.jar}")
+NATIVE_BIN=$(realpath -m "${2:-../target/leaveflow-backend}")
+BENCH_JAR=$(realpath target/benchmarks.jar)
+RESULTS=$(realpath -m target/startup-results.jsonl)
+RUNS=${RUNS:-5}
+WARMUP=${WARMUP:-10}
+URL=http://localhost:8080
+
+rss_kb() {
+    awk -v key="$2:" '$1 == key { print $2 }' "/proc/$1/status"
+}
+
+measure() {
+    local label=$1; shift
+    for run in $(seq "$RUNS"); do
+        workdir=$(mktemp -d)
+        start=$(date +%s%N)
+        # The root logger is at WARN; Micronaut's "Startup completed" line is logged at INFO
+        (cd "$workdir" && LEAVEFLOW_METRICS=false LEAVEFLOW_RATE_LIMIT=false LOGGER_LEVELS_IO_MICRONAUT_RUNTIME=INFO \
+            exec "$@" > server.log 2>&1) &
+        server=$!
+        trap 'kill $server 2>/dev/null || true' EXIT
+
+        until curl -s -o /dev/null "$URL/"; do
+            kill -0 $server 2>/dev/null || { echo "Backend failed to start, see $workdir/server.log"; exit 1; }
+            sleep 0.01
+        done
+        ready_ms=$(( ($(date +%s%N) - start) / 1000000 ))
+        # Logged just after the server starts answering, so give it a moment
+        for _ in $(seq 100); do
+            grep -q 'Startup completed in' "$workdir/server.log" && break
+            sleep 0.05
+        done
+        reported_ms=$(grep -o 'Startup completed in [0-9]*ms' "$workdir/server.log" | grep -o '[0-9]*' || echo null)
+        ready_rss=$(rss_kb $server VmRSS)
+
+        java -cp "$BENCH_JAR" com.leaveflow.benchmark.LoadTest --url=$URL --scenario=list \
+            --clients=16 --duration="$WARMUP" --label="$label-warmup" --results=/dev/null > /dev/null
+        loaded_rss=$(rss_kb $server VmRSS)
+        peak_rss=$(rss_kb $server VmHWM)
+
+        printf '{"target":"%s","run":%d,"readyMillis":%d,"reportedMillis":%s,"readyRssKb":%d,"loadedRssKb":%d,"peakRssKb":%d}\n' \
+            "$label" "$run" "$ready_ms" "$reported_ms" "$ready_rss" "$loaded_rss" "$peak_rss" | tee -a "$RESULTS"
+
+        kill $server
+        wait $server 2>/dev/null || true
+        rm -rf "$workdir"
+    done
+}
+
+rm -f "$RESULTS"
+measure jvm java -jar "$BACKEND_JAR"
+if [[ -x "$NATIVE_BIN" ]]; then
+    measure native "$NATIVE_BIN"
+else
+    echo "No native image at $NATIVE_BIN (build it with: mvn package -Pnative -DskipTests), skipping"
+fi
@@ -0,0 +1,188 @@
+package com.leaveflow.controller;
+
+import com.leaveflow.dto.LeaveStatsResponse;
+import com.leaveflow.dto.UserSummary;
+import com.leaveflow.service.ConcurrencyLimiter;
+import com.leaveflow.service.HistoryArchive;
+import com.leaveflow.service.HistoryExporter;
+import com.leaveflow.service.HistoryWriter;
+import com.leaveflow.service.JwtService;
+import com.leaveflow.service.LeaveEventBus;
+import com.leaveflow.service.LeaveStatsService;
+import com.leaveflow.service.LoginRateLimiter;
+import com.leaveflow.service.PasswordHashingEngine;
+import com.leaveflow.service.ResponseCache;
+import com.leaveflow.service.RefreshTokenService;
+import com.leaveflow.service.TokenRevocationList;
+import com.leaveflow.service.TokenRevocationService;
+import com.leaveflow.service.UserCache;
+import com.leaveflow.service.UserService;
+import com.leaveflow.service.WriteScheduler;
+
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.annotation.Controller;
+import io.micronaut.http.annotation.Get;
+import io.micronaut.http.annotation.PathVariable;
+import io.micronaut.http.annotation.Post;
+import io.micronaut.http.annotation.QueryValue;
+import io.micronaut.security.annotation.Secured;
+
+import org.reactivestreams.Publisher;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+
+@Controller("/api/admin")
+@Secured("ADMIN")
+public class AdminController {
+    
+    private final PasswordHashingEngine passwordHashingEngine;
+    private final HistoryWriter historyWriter;
+    private final WriteScheduler writeScheduler;
+    private final UserCache userCache;
+    private final ResponseCache responseCache;
+    private final LeaveStatsService leaveStatsService;
+    private final LeaveEventBus leaveEventBus;
+    private final ConcurrencyLimiter concurrencyLimiter;
+    private final UserService userService;
+    private final HistoryExporter historyExporter;
+    private final HistoryArchive historyArchive;
+    private final JwtService jwtService;
+    private final LoginRateLimiter loginRateLimiter;
+    private final TokenRevocationList tokenRevocationList;
+    private final TokenRevocationService tokenRevocationService;
+    private final RefreshTokenService refreshTokenService;
+    
+    public AdminController(PasswordHashingEngine passwordHashingEngine, HistoryWriter historyWriter,
+                           WriteScheduler writeScheduler, UserCache userCache, ResponseCache responseCache,
+                           LeaveStatsService leaveStatsService,
+                           LeaveEventBus leaveEventBus, ConcurrencyLimiter concurrencyLimiter, UserService userService,
+                           HistoryExporter historyExporter, HistoryArchive historyArchive, JwtService jwtService,
+                           LoginRateLimiter loginRateLimiter, TokenRevocationList tokenRevocationList,
+                           TokenRevocationService tokenRevocationService, RefreshTokenService refreshTokenService) {
+        this.passwordHashingEngine = passwordHashingEngine;
+        this.historyWriter = historyWriter;
+        this.writeScheduler = writeScheduler;
+        this.userCache = userCache;
+        this.responseCache = responseCache;
+        this.leaveStatsService = leaveStatsService;
+        this.leaveEventBus = leaveEventBus;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.userService = userService;
+        this.historyExporter = historyExporter;
+        this.historyArchive = historyArchive;
+        this.jwtService = jwtService;
+        this.loginRateLimiter = loginRateLimiter;
+        this.tokenRevocationList = tokenRevocationList;
+        this.tokenRevocationService = tokenRevocationService;
+        this.refreshTokenService = refreshTokenService;
+    }
+    
+    @Get("/metrics")
+    public HttpResponse<Map<String, Object>> metrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("auth", userService.getAuthStats());
+        metrics.put("jwt", jwtService.getStats());
+        metrics.put("rateLimit", loginRateLimiter.getStats());
+        metrics.put("tokenRevocation", tokenRevocationList.getStats());
+        metrics.put("refreshTokens", refreshTokenService.getStats());
+        metrics.put("leaveTransitions", leaveStatsService.getTransitionCounts());
+        metrics.put("leaveEvents", leaveEventBus.getStats());
+        metrics.put("passwordHashing", passwordHashingEngine.getStats());
+        metrics.put("historyWriter", historyWriter.getStats());
+        metrics.put("writeScheduler", writeScheduler.getStats());
+        metrics.put("userCache", userCache.getStats());
+        metrics.put("responseCache", responseCache.getStats());
+        metrics.put("concurrencyLimiter", concurrencyLimiter.getStats());
+        metrics.put("historyArchive", historyArchive.getStats());
+        return HttpResponse.ok(metrics);
+    }
+    
+    // Dashboard counters, held in memory and never read from the database per request
+    @Get("/stats{?userId}")
+    public HttpResponse<LeaveStatsResponse> stats(@Nullable @QueryValue Long userId) {
+        return HttpResponse.ok(userId != null ? leaveStatsService.getStats(userId) : leaveStatsService.getStats());
+    }
+    
+    // User-management list, projected without password hashes or managed entities. Cached until any user
+    // is written; ETag from every user's id and updatedAt.
+    @Get("/users")
+    public HttpResponse<?> users(HttpRequest<?> request) {
+        return responseCache.load(ResponseCache.USERS_KEY, () -> Optional.of(userService.getAllUsers()),
+                        AdminController::version)
+                .<HttpResponse<?>>map(cached -> ConditionalResponses.of(request, responseCache, cached))
+                .orElseGet(HttpResponse::notFound);
+    }
+    
+    // A deactivated user cannot log in, and every token they hold is revoked at once
+    @Post("/users/{id}/deactivate")
+    public HttpResponse<?> deactivate(@PathVariable Long id) {
+        return setActive(id, false);
+    }
+    
+    @Post("/users/{id}/activate")
+    public HttpResponse<?> activate(@PathVariable Long id) {
+        return setActive(id, true);
+    }
+    
+    // Signs the user out everywhere: every token issued to them so far is rejected
+    @Post("/users/{id}/revoke-tokens")
+    public HttpResponse<?> revokeTokens(@PathVariable Long id) {
+        try {
+            tokenRevocationService.revokeAll(id);
+        } catch (RejectedExecutionException e) {
+            return HttpResponse.status(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        return HttpResponse.noContent();
+    }
+    
+    // Audit export of every history row from `from` through `to` (inclusive dates), optionally for one
+    // user, as CSV or NDJSON. Streamed with chunked transfer encoding, so it starts at once and never
+    // holds more than one chunk in memory.
+    @Get("/history/export{?from,to,userId,format}")
+    public HttpResponse<Publisher<byte[]>> exportHistory(@QueryValue LocalDate from, @QueryValue LocalDate to,
+                                                         @Nullable @QueryValue Long userId,
+                                                         @Nullable @QueryValue String format) {
+        HistoryExporter.Format chosen;
+        Publisher<byte[]> body;
+        try {
+            chosen = format == null ? HistoryExporter.Format.CSV : HistoryExporter.format(format);
+            body = historyExporter.export(chosen, from, to, userId);
+        } catch (IllegalArgumentException e) {
+            return HttpResponse.badRequest();
+        } catch (RejectedExecutionException e) {
+            return HttpResponse.status(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        boolean csv = chosen == HistoryExporter.Format.CSV;
+        String filename = "history-" + from + "-" + to + (csv ? ".csv" : ".ndjson");
+        return HttpResponse.ok(body)
+                .contentType(csv ? MediaType.TEXT_CSV_TYPE : MediaType.APPLICATION_JSON_STREAM_TYPE)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"");
+    }
+    
+    private HttpResponse<?> setActive(Long id, boolean active) {
+        try {
+            return userService.setActive(id, active).isPresent() ? HttpResponse.noContent() : HttpResponse.notFound();
+        } catch (RejectedExecutionException e) {
+            return HttpResponse.status(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+    }
+    
+    private static long version(List<UserSummary> users) {
+        long[] parts = new long[users.size() * 2];
+        for (int i = 0; i < users.size(); i++) {
+            parts[2 * i] = users.get(i).id();
+            parts[2 * i + 1] = ResponseCache.stamp(users.get(i).updatedAt());
+        }
+        return ResponseCache.version(parts);
+    }
+}
\ No newline at end of file
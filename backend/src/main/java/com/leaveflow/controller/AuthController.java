@@ -2,70 +2,166 @@ package com.leaveflow.controller;
 
 import com.leaveflow.dto.AuthResponse;
 import com.leaveflow.dto.LoginRequest;
+import com.leaveflow.dto.RefreshTokenRequest;
 import com.leaveflow.dto.RegisterRequest;
+import com.leaveflow.dto.TokenResponse;
 import com.leaveflow.dto.UserResponse;
 import com.leaveflow.entity.User;
 import com.leaveflow.service.UserService;
 import com.leaveflow.service.JwtService;
+import com.leaveflow.service.LoginRateLimiter;
+import com.leaveflow.service.RefreshTokenService;
+import com.leaveflow.service.TokenRevocationService;
 
+import io.jsonwebtoken.JwtException;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.HttpHeaders;
 import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
 import io.micronaut.http.annotation.Body;
 import io.micronaut.http.annotation.Controller;
 import io.micronaut.http.annotation.Get;
+import io.micronaut.http.annotation.Header;
 import io.micronaut.http.annotation.Post;
 import io.micronaut.validation.Validated;
 
-import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 
-import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 @Controller("/api/auth")
 @Validated
 public class AuthController {
     
-    @Inject
-    private UserService userService;
+    private static final String BEARER_PREFIX = "Bearer ";
     
-    @Inject
-    private JwtService jwtService;
+    private final UserService userService;
+    private final JwtService jwtService;
+    private final LoginRateLimiter loginRateLimiter;
+    private final TokenRevocationService tokenRevocationService;
+    private final RefreshTokenService refreshTokenService;
+    
+    public AuthController(UserService userService, JwtService jwtService, LoginRateLimiter loginRateLimiter,
+                          TokenRevocationService tokenRevocationService, RefreshTokenService refreshTokenService) {
+        this.userService = userService;
+        this.jwtService = jwtService;
+        this.loginRateLimiter = loginRateLimiter;
+        this.tokenRevocationService = tokenRevocationService;
+        this.refreshTokenService = refreshTokenService;
+    }
     
     @Post("/login")
-    public HttpResponse<AuthResponse> login(@Valid @Body LoginRequest loginRequest) {
-        try {
-            Optional<User> userOpt = userService.authenticate(loginRequest.getEmail(), loginRequest.getPassword());
-            
-            if (userOpt.isEmpty()) {
-                return HttpResponse.unauthorized();
-            }
-            
-            User user = userOpt.get();
-            String token = jwtService.generateToken(user);
-            UserResponse userResponse = new UserResponse(user);
-            
-            return HttpResponse.ok(new AuthResponse(token, userResponse));
-        } catch (Exception e) {
-            return HttpResponse.serverError();
+    public CompletableFuture<HttpResponse<AuthResponse>> login(@Valid @Body LoginRequest loginRequest) {
+        // Per-email budget; the per-address one is spent in LoginRateLimitFilter
+        long retryAfter = loginRateLimiter.checkEmail(loginRequest.getEmail());
+        if (retryAfter > 0) {
+            return CompletableFuture.completedFuture(LoginRateLimitFilter.tooManyRequests(retryAfter));
         }
+        return userService.authenticate(loginRequest.getEmail(), loginRequest.getPassword())
+                .<HttpResponse<AuthResponse>>thenCompose(userOpt -> {
+                    if (userOpt.isEmpty()) {
+                        return CompletableFuture.completedFuture(HttpResponse.unauthorized());
+                    }
+                    
+                    User user = userOpt.get();
+                    String token = jwtService.generateToken(user);
+                    UserResponse userResponse = userService.toResponse(user);
+                    
+                    return refreshTokenService.issue(user.getId()).thenApply(refreshToken ->
+                            HttpResponse.ok(new AuthResponse(token, refreshToken, expiresIn(), userResponse)));
+                })
+                .exceptionally(e -> {
+                    if (unwrap(e) instanceof RejectedExecutionException) {
+                        return HttpResponse.status(HttpStatus.SERVICE_UNAVAILABLE);
+                    }
+                    return HttpResponse.serverError();
+                });
     }
     
     @Post("/register")
-    public HttpResponse<AuthResponse> register(@Valid @Body RegisterRequest registerRequest) {
+    public CompletableFuture<HttpResponse<AuthResponse>> register(@Valid @Body RegisterRequest registerRequest) {
+        return userService.register(registerRequest)
+                .<HttpResponse<AuthResponse>>thenCompose(user -> {
+                    String token = jwtService.generateToken(user);
+                    UserResponse userResponse = UserResponse.from(user);
+                    
+                    return refreshTokenService.issue(user.getId()).thenApply(refreshToken -> HttpResponse.created(
+                            new AuthResponse(token, refreshToken, expiresIn(), userResponse, "Registration successful")));
+                })
+                .exceptionally(e -> {
+                    Throwable cause = unwrap(e);
+                    if (cause instanceof RejectedExecutionException) {
+                        return HttpResponse.status(HttpStatus.SERVICE_UNAVAILABLE);
+                    }
+                    if (cause instanceof RuntimeException) {
+                        return HttpResponse.badRequest();
+                    }
+                    return HttpResponse.serverError();
+                });
+    }
+    
+    // Trades a refresh token for a new access token and the next refresh token. Anonymous: the access
+    // token has usually expired by the time the client calls this.
+    @Post("/refresh")
+    public CompletableFuture<HttpResponse<TokenResponse>> refresh(@Valid @Body RefreshTokenRequest request) {
+        CompletableFuture<HttpResponse<TokenResponse>> response;
         try {
-            User user = userService.register(registerRequest);
-            String token = jwtService.generateToken(user);
-            UserResponse userResponse = new UserResponse(user);
-            
-            return HttpResponse.created(new AuthResponse(token, userResponse, "Registration successful"));
-        } catch (RuntimeException e) {
-            return HttpResponse.badRequest();
-        } catch (Exception e) {
+            response = refreshTokenService.rotate(request.getRefreshToken())
+                    .thenApply(pair -> pair
+                            .<HttpResponse<TokenResponse>>map(p -> HttpResponse.ok(
+                                    new TokenResponse(p.accessToken(), p.refreshToken(), expiresIn())))
+                            .orElseGet(HttpResponse::unauthorized));
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(HttpResponse.status(HttpStatus.SERVICE_UNAVAILABLE));
+        }
+        return response.exceptionally(e -> {
+            if (unwrap(e) instanceof RejectedExecutionException) {
+                return HttpResponse.status(HttpStatus.SERVICE_UNAVAILABLE);
+            }
             return HttpResponse.serverError();
+        });
+    }
+    
+    // Revokes the refresh token in the body, so the login cannot be renewed, and the access token in the
+    // Authorization header; the user's other sessions stay signed in. Anonymous: a client idle past the
+    // access token's lifetime still has a live refresh token to revoke. 401 when neither was presented.
+    @Post("/logout")
+    public HttpResponse<?> logout(@Nullable @Header(HttpHeaders.AUTHORIZATION) String authorization,
+                                  @Nullable @Body RefreshTokenRequest request) {
+        boolean refreshPresented = request != null && request.getRefreshToken() != null;
+        try {
+            if (refreshPresented) {
+                refreshTokenService.revoke(request.getRefreshToken());
+            }
+            if (authorization != null) {
+                String token = authorization.startsWith(BEARER_PREFIX)
+                        ? authorization.substring(BEARER_PREFIX.length())
+                        : authorization;
+                tokenRevocationService.revoke(jwtService.verify(token));
+            } else if (!refreshPresented) {
+                return HttpResponse.unauthorized();
+            }
+        } catch (JwtException | IllegalArgumentException e) {
+            // Expired, malformed, or revoked by a concurrent logout: nothing left to revoke
+            return refreshPresented ? HttpResponse.noContent() : HttpResponse.unauthorized();
+        } catch (RejectedExecutionException e) {
+            return HttpResponse.status(HttpStatus.SERVICE_UNAVAILABLE);
         }
+        return HttpResponse.noContent();
     }
     
     @Get("/test")
     public HttpResponse<String> testConnection() {
         return HttpResponse.ok("Backend connection successful! LeaveFlow API is running.");
     }
-} 
\ No newline at end of file
+    
+    private long expiresIn() {
+        return jwtService.getAccessTokenLifetime().toSeconds();
+    }
+    
+    private static Throwable unwrap(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    }
+}
\ No newline at end of file
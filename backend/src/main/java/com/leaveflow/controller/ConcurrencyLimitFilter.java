@@ -0,0 +1,53 @@
+package com.leaveflow.controller;
+
+import com.leaveflow.service.ConcurrencyLimiter;
+
+import io.micronaut.core.async.publisher.Publishers;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.http.annotation.Filter;
+import io.micronaut.http.filter.HttpServerFilter;
+import io.micronaut.http.filter.ServerFilterChain;
+import io.micronaut.http.filter.ServerFilterPhase;
+
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CompletableFuture;
+
+// Admits requests to the database-backed endpoints through the ConcurrencyLimiter, answering 503
+// when its queue is full. Runs after security so rejected credentials never take a permit. The
+// permit is held until the route has produced its response; a streamed body outlives it.
+@Filter({"/api/auth/**", "/api/leaves/**"})
+public class ConcurrencyLimitFilter implements HttpServerFilter {
+    
+    private final ConcurrencyLimiter concurrencyLimiter;
+    
+    public ConcurrencyLimitFilter(ConcurrencyLimiter concurrencyLimiter) {
+        this.concurrencyLimiter = concurrencyLimiter;
+    }
+    
+    @Override
+    public int getOrder() {
+        return ServerFilterPhase.SECURITY.after();
+    }
+    
+    @Override
+    public Publisher<MutableHttpResponse<?>> doFilter(HttpRequest<?> request, ServerFilterChain chain) {
+        CompletableFuture<Void> permit = concurrencyLimiter.acquire();
+        if (permit.isCompletedExceptionally()) {
+            concurrencyLimiter.release(permit);
+            return Publishers.just(HttpResponse.status(HttpStatus.SERVICE_UNAVAILABLE));
+        }
+        if (permit.isDone()) {
+            return Flux.from(chain.proceed(request))
+                    .doFinally(signal -> concurrencyLimiter.release(permit));
+        }
+        return Mono.fromFuture(permit)
+                .thenMany(Flux.defer(() -> chain.proceed(request)))
+                .doFinally(signal -> concurrencyLimiter.release(permit));
+    }
+}
\ No newline at end of file
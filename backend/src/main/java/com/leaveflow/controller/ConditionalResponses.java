@@ -0,0 +1,35 @@
+package com.leaveflow.controller;
+
+import com.leaveflow.service.ResponseCache;
+import io.micronaut.http.HttpHeaders;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.MutableHttpResponse;
+
+// Sends a ResponseCache body as a conditional GET response
+final class ConditionalResponses {
+    
+    // Browsers keep the body and revalidate it on every request; what it contains depends on the
+    // caller's token, so shared caches must not store it
+    private static final String CACHE_CONTROL = "private, no-cache";
+    
+    private ConditionalResponses() {
+    }
+    
+    // 304 without a body when the request's If-None-Match already names this version, otherwise 200 with
+    // the pre-serialized JSON
+    static MutableHttpResponse<?> of(HttpRequest<?> request, ResponseCache responseCache,
+                                     ResponseCache.Cached<?> cached) {
+        MutableHttpResponse<?> response;
+        if (responseCache.isNotModified(request.getHeaders().get(HttpHeaders.IF_NONE_MATCH), cached)) {
+            response = HttpResponse.notModified();
+        } else {
+            response = HttpResponse.ok(cached.body()).contentType(MediaType.APPLICATION_JSON_TYPE);
+        }
+        return response
+                .header(HttpHeaders.ETAG, cached.etag())
+                .header(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL)
+                .header(HttpHeaders.VARY, HttpHeaders.AUTHORIZATION);
+    }
+}
\ No newline at end of file
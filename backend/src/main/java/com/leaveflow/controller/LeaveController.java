@@ -0,0 +1,256 @@
+package com.leaveflow.controller;
+
+import com.leaveflow.dto.ApproveLeaveRequest;
+import com.leaveflow.dto.BulkDecisionRequest;
+import com.leaveflow.dto.BulkDecisionResponse;
+import com.leaveflow.dto.CreateLeaveRequest;
+import com.leaveflow.dto.HistoryEntry;
+import com.leaveflow.dto.LeaveBalanceResponse;
+import com.leaveflow.dto.LeavePage;
+import com.leaveflow.dto.LeaveResponse;
+import com.leaveflow.dto.LeaveSummary;
+import com.leaveflow.entity.Leave;
+import com.leaveflow.entity.LeaveStatus;
+import com.leaveflow.entity.Role;
+import com.leaveflow.service.CachedJwtTokenValidator;
+import com.leaveflow.service.LeaveBalanceService;
+import com.leaveflow.service.LeaveEventBus;
+import com.leaveflow.service.LeaveService;
+import com.leaveflow.service.ResponseCache;
+import com.leaveflow.service.TokenClaims;
+
+import io.micronaut.core.annotation.NonBlocking;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MediaType;
+import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.http.annotation.Body;
+import io.micronaut.http.annotation.Controller;
+import io.micronaut.http.annotation.Delete;
+import io.micronaut.http.annotation.Get;
+import io.micronaut.http.annotation.PathVariable;
+import io.micronaut.http.annotation.Post;
+import io.micronaut.http.annotation.Put;
+import io.micronaut.http.annotation.QueryValue;
+import io.micronaut.http.sse.Event;
+import io.micronaut.security.annotation.Secured;
+import io.micronaut.security.authentication.Authentication;
+import io.micronaut.security.rules.SecurityRule;
+import io.micronaut.validation.Validated;
+
+import jakarta.validation.Valid;
+import org.reactivestreams.Publisher;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+@Controller("/api/leaves")
+@Secured(SecurityRule.IS_AUTHENTICATED)
+@Validated
+public class LeaveController {
+    
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String COVERAGE_WARNING_HEADER = "X-Coverage-Warning";
+    
+    private final LeaveService leaveService;
+    private final LeaveBalanceService leaveBalanceService;
+    private final LeaveEventBus leaveEventBus;
+    private final ResponseCache responseCache;
+    
+    public LeaveController(LeaveService leaveService, LeaveBalanceService leaveBalanceService,
+                           LeaveEventBus leaveEventBus, ResponseCache responseCache) {
+        this.leaveService = leaveService;
+        this.leaveBalanceService = leaveBalanceService;
+        this.leaveEventBus = leaveEventBus;
+        this.responseCache = responseCache;
+    }
+    
+    // Served from the in-memory ledger totals, so it stays on the event loop. The ETag is derived from
+    // the totals themselves, which change without a write to the user row being visible here.
+    @Get("/balance")
+    @NonBlocking
+    public HttpResponse<?> balance(HttpRequest<?> request, Authentication authentication) {
+        Long userId = currentUserId(authentication);
+        return leaveBalanceService.getBalance(userId)
+                .map(balance -> responseCache.of(ResponseCache.balanceKey(userId), balance, version(userId, balance)))
+                .<HttpResponse<?>>map(cached -> ConditionalResponses.of(request, responseCache, cached))
+                .orElseGet(HttpResponse::notFound);
+    }
+    
+    // List endpoints return a plain JSON array; when more rows exist the opaque cursor for the
+    // next page is sent in the X-Next-Cursor header and passed back as ?cursor=
+    @Get("{?cursor,limit}")
+    @Secured("ADMIN")
+    public HttpResponse<List<LeaveSummary>> all(@Nullable @QueryValue String cursor, @Nullable @QueryValue Integer limit) {
+        return page(() -> leaveService.findAll(cursor, limit));
+    }
+    
+    @Get("/my{?cursor,limit}")
+    public HttpResponse<List<LeaveSummary>> my(@Nullable @QueryValue String cursor, @Nullable @QueryValue Integer limit,
+                                               Authentication authentication) {
+        return page(() -> leaveService.findByUserId(currentUserId(authentication), cursor, limit));
+    }
+    
+    @Get("/pending{?cursor,limit}")
+    @Secured("ADMIN")
+    public HttpResponse<List<LeaveSummary>> pending(@Nullable @QueryValue String cursor, @Nullable @QueryValue Integer limit) {
+        return page(() -> leaveService.findByStatus(LeaveStatus.PENDING, cursor, limit));
+    }
+    
+    @Get("/status/{status}{?cursor,limit}")
+    @Secured("ADMIN")
+    public HttpResponse<List<LeaveSummary>> byStatus(@PathVariable String status, @Nullable @QueryValue String cursor,
+                                                     @Nullable @QueryValue Integer limit) {
+        return page(() -> leaveService.findByStatus(LeaveStatus.parse(status), cursor, limit));
+    }
+    
+    // Newline-delimited JSON export of every leave (optionally one status), streamed with backpressure
+    @Get(value = "/export{?status}", produces = MediaType.APPLICATION_JSON_STREAM)
+    @Secured("ADMIN")
+    public HttpResponse<Publisher<LeaveSummary>> export(@Nullable @QueryValue String status) {
+        LeaveStatus filter;
+        try {
+            filter = status == null ? null : LeaveStatus.parse(status);
+        } catch (IllegalArgumentException e) {
+            return HttpResponse.badRequest();
+        }
+        return HttpResponse.ok(leaveService.export(filter));
+    }
+    
+    // Server-sent "leave" events for every committed status change the caller may see (admins: all,
+    // employees: their own), instead of polling the list endpoints. Nothing is replayed: a client
+    // re-reads its list when it (re)connects, then applies the events. The stream is tied to the access
+    // token: it ends when the token expires or is revoked, and the client reconnects with a fresh one.
+    @Get(value = "/events", produces = MediaType.TEXT_EVENT_STREAM)
+    @NonBlocking
+    public HttpResponse<Publisher<Event<?>>> events(Authentication authentication) {
+        try {
+            Object claims = authentication.getAttributes().get(CachedJwtTokenValidator.CLAIMS_ATTRIBUTE);
+            if (!(claims instanceof TokenClaims tokenClaims)) {
+                return HttpResponse.unauthorized();
+            }
+            return HttpResponse.ok(leaveEventBus.subscribe(tokenClaims, isAdmin(authentication)));
+        } catch (RejectedExecutionException e) {
+            return HttpResponse.status(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+    }
+    
+    @Post
+    public HttpResponse<LeaveResponse> create(@Valid @Body CreateLeaveRequest request, Authentication authentication) {
+        try {
+            Leave leave = leaveService.apply(currentUserId(authentication), request);
+            MutableHttpResponse<LeaveResponse> response = HttpResponse.created(new LeaveResponse(leave));
+            leaveService.coverageWarning(leave).ifPresent(warning -> response.header(COVERAGE_WARNING_HEADER, warning));
+            return response;
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return HttpResponse.badRequest();
+        } catch (RejectedExecutionException e) {
+            // The write queue is full
+            return HttpResponse.status(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+    }
+    
+    // Ids of the users on approved leave on the given day, from the in-memory calendar
+    @Get("/out/{date}")
+    @Secured("ADMIN")
+    @NonBlocking
+    public List<Long> usersOut(@PathVariable LocalDate date) {
+        return leaveService.usersOutOn(date);
+    }
+    
+    // Decides up to 1000 pending leaves in one call; each item gets its own result, so this is 200
+    // even when some items could not be applied
+    @Post("/decisions")
+    @Secured("ADMIN")
+    public HttpResponse<BulkDecisionResponse> decideAll(@Valid @Body BulkDecisionRequest request,
+                                                        Authentication authentication) {
+        return HttpResponse.ok(leaveService.decideAll(currentUserId(authentication), request.getDecisions()));
+    }
+    
+    // Cached until the leave is written; ETag from its id and updatedAt
+    @Get("/{id}")
+    public HttpResponse<?> getById(@PathVariable Long id, HttpRequest<?> request, Authentication authentication) {
+        return responseCache.load(ResponseCache.leaveKey(id), () -> leaveService.findById(id).map(LeaveResponse::new),
+                        leave -> ResponseCache.version(leave.getId(), ResponseCache.stamp(leave.getUpdatedAt())))
+                .filter(cached -> isAdmin(authentication)
+                        || cached.value().getUserId().equals(currentUserId(authentication)))
+                .<HttpResponse<?>>map(cached -> ConditionalResponses.of(request, responseCache, cached))
+                .orElseGet(HttpResponse::notFound);
+    }
+    
+    // The leave's audit trail, newest first; visible to its owner and to admins
+    @Get("/{id}/history")
+    public HttpResponse<List<HistoryEntry>> history(@PathVariable Long id, Authentication authentication) {
+        return leaveService.findById(id)
+                .filter(leave -> isAdmin(authentication) || leave.getUserId().equals(currentUserId(authentication)))
+                .map(leave -> HttpResponse.ok(leaveService.findHistory(leave)))
+                .orElseGet(HttpResponse::notFound);
+    }
+    
+    // The caller's latest history rows across all their leaves, newest first
+    @Get("/history{?limit}")
+    public List<HistoryEntry> myHistory(@Nullable @QueryValue Integer limit, Authentication authentication) {
+        return leaveService.findUserHistory(currentUserId(authentication), limit);
+    }
+    
+    @Put("/{id}/approve")
+    @Secured("ADMIN")
+    public HttpResponse<LeaveResponse> approve(@PathVariable Long id, @Valid @Body ApproveLeaveRequest request,
+                                               Authentication authentication) {
+        try {
+            return leaveService.decide(id, currentUserId(authentication), request)
+                    .map(leave -> HttpResponse.ok(new LeaveResponse(leave)))
+                    .orElseGet(HttpResponse::notFound);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return HttpResponse.badRequest();
+        } catch (RejectedExecutionException e) {
+            return HttpResponse.status(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+    }
+    
+    @Delete("/{id}")
+    public HttpResponse<LeaveResponse> cancel(@PathVariable Long id, Authentication authentication) {
+        try {
+            return leaveService.cancel(id, currentUserId(authentication), isAdmin(authentication))
+                    .map(leave -> HttpResponse.ok(new LeaveResponse(leave)))
+                    .orElseGet(HttpResponse::notFound);
+        } catch (SecurityException e) {
+            return HttpResponse.status(HttpStatus.FORBIDDEN);
+        } catch (IllegalStateException e) {
+            return HttpResponse.badRequest();
+        } catch (RejectedExecutionException e) {
+            return HttpResponse.status(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+    }
+    
+    private static HttpResponse<List<LeaveSummary>> page(Supplier<LeavePage> query) {
+        LeavePage page;
+        try {
+            page = query.get();
+        } catch (IllegalArgumentException e) {
+            return HttpResponse.badRequest();
+        }
+        if (page.nextCursor() == null) {
+            return HttpResponse.ok(page.items());
+        }
+        return HttpResponse.ok(page.items()).header(NEXT_CURSOR_HEADER, page.nextCursor());
+    }
+    
+    private static long version(Long userId, LeaveBalanceResponse balance) {
+        return ResponseCache.version(userId, balance.getAnnualRemaining(), balance.getSickRemaining(),
+                balance.getCasualRemaining(), balance.getAnnualUsed(), balance.getSickUsed(), balance.getCasualUsed());
+    }
+    
+    static Long currentUserId(Authentication authentication) {
+        Object userId = authentication.getAttributes().get("userId");
+        return userId instanceof Number ? ((Number) userId).longValue() : null;
+    }
+    
+    static boolean isAdmin(Authentication authentication) {
+        return authentication.getRoles().contains(Role.ADMIN.name());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,64 @@
+package com.leaveflow.controller;
+
+import com.leaveflow.service.LoginRateLimiter;
+
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.core.async.publisher.Publishers;
+import io.micronaut.http.HttpMethod;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.http.annotation.Filter;
+import io.micronaut.http.filter.HttpServerFilter;
+import io.micronaut.http.filter.ServerFilterChain;
+import io.micronaut.http.filter.ServerFilterPhase;
+import io.micronaut.http.server.util.HttpClientAddressResolver;
+
+import org.reactivestreams.Publisher;
+
+import java.util.concurrent.TimeUnit;
+
+// Answers 429 with Retry-After once a client address has used up its login/register/refresh budget,
+// before security, the ConcurrencyLimiter or the route see the request. The per-email budget needs the body,
+// so AuthController.login checks it first thing. The socket address is used unless trust-forwarded is
+// set: behind a proxy the forwarded headers name the client, anywhere else they are attacker-chosen.
+@Filter(value = {"/api/auth/login", "/api/auth/register", "/api/auth/refresh"}, methods = HttpMethod.POST)
+@Requires(property = "leaveflow.rate-limit.enabled", notEquals = "false")
+public class LoginRateLimitFilter implements HttpServerFilter {
+    
+    private final LoginRateLimiter loginRateLimiter;
+    private final HttpClientAddressResolver clientAddressResolver;
+    private final boolean trustForwarded;
+    
+    public LoginRateLimitFilter(LoginRateLimiter loginRateLimiter, HttpClientAddressResolver clientAddressResolver,
+                                @Value("${leaveflow.rate-limit.trust-forwarded:false}") boolean trustForwarded) {
+        this.loginRateLimiter = loginRateLimiter;
+        this.clientAddressResolver = clientAddressResolver;
+        this.trustForwarded = trustForwarded;
+    }
+    
+    @Override
+    public int getOrder() {
+        return ServerFilterPhase.SECURITY.before();
+    }
+    
+    @Override
+    public Publisher<MutableHttpResponse<?>> doFilter(HttpRequest<?> request, ServerFilterChain chain) {
+        String address = trustForwarded
+                ? clientAddressResolver.resolve(request)
+                : request.getRemoteAddress().getAddress().getHostAddress();
+        long retryAfter = loginRateLimiter.checkAddress(address);
+        if (retryAfter > 0) {
+            return Publishers.just(tooManyRequests(retryAfter));
+        }
+        return chain.proceed(request);
+    }
+    
+    static <T> MutableHttpResponse<T> tooManyRequests(long retryAfterNanos) {
+        long seconds = Math.max(1, (retryAfterNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        return HttpResponse.<T>status(HttpStatus.TOO_MANY_REQUESTS)
+                .header("Retry-After", Long.toString(seconds));
+    }
+}
\ No newline at end of file
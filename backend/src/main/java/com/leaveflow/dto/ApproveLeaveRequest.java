@@ -0,0 +1,28 @@
+package com.leaveflow.dto;
+
+import io.micronaut.serde.annotation.Serdeable;
+import jakarta.validation.constraints.NotBlank;
+
+@Serdeable
+public class ApproveLeaveRequest {
+    
+    @NotBlank
+    private String status; // APPROVED or REJECTED
+    
+    private String comments;
+    
+    // Constructors
+    public ApproveLeaveRequest() {}
+    
+    public ApproveLeaveRequest(String status, String comments) {
+        this.status = status;
+        this.comments = comments;
+    }
+    
+    // Getters and Setters
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    
+    public String getComments() { return comments; }
+    public void setComments(String comments) { this.comments = comments; }
+}
\ No newline at end of file
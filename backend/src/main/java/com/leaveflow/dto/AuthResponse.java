@@ -1,37 +1,22 @@
 package com.leaveflow.dto;
 
-public class AuthResponse {
-    
-    private String token;
-    private String tokenType = "Bearer";
-    private UserResponse user;
-    private String message;
-    
-    // Constructors
-    public AuthResponse() {}
-    
-    public AuthResponse(String token, UserResponse user) {
-        this.token = token;
-        this.user = user;
-        this.message = "Authentication successful";
+import io.micronaut.serde.annotation.Serdeable;
+
+// token is the access token, valid for expiresIn seconds; refreshToken renews it through /api/auth/refresh
+@Serdeable
+public record AuthResponse(
+        String token,
+        String tokenType,
+        long expiresIn,
+        String refreshToken,
+        UserResponse user,
+        String message) {
+    
+    public AuthResponse(String token, String refreshToken, long expiresIn, UserResponse user) {
+        this(token, refreshToken, expiresIn, user, "Authentication successful");
     }
     
-    public AuthResponse(String token, UserResponse user, String message) {
-        this.token = token;
-        this.user = user;
-        this.message = message;
+    public AuthResponse(String token, String refreshToken, long expiresIn, UserResponse user, String message) {
+        this(token, "Bearer", expiresIn, refreshToken, user, message);
     }
-    
-    // Getters and Setters
-    public String getToken() { return token; }
-    public void setToken(String token) { this.token = token; }
-    
-    public String getTokenType() { return tokenType; }
-    public void setTokenType(String tokenType) { this.tokenType = tokenType; }
-    
-    public UserResponse getUser() { return user; }
-    public void setUser(UserResponse user) { this.user = user; }
-    
-    public String getMessage() { return message; }
-    public void setMessage(String message) { this.message = message; }
-} 
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.leaveflow.dto;
+
+import io.micronaut.serde.annotation.Serdeable;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+@Serdeable
+public class BulkDecisionItem {
+    
+    @NotNull
+    private Long leaveId;
+    
+    @NotBlank
+    private String status; // APPROVED or REJECTED
+    
+    private String comments;
+    
+    // Constructors
+    public BulkDecisionItem() {}
+    
+    public BulkDecisionItem(Long leaveId, String status, String comments) {
+        this.leaveId = leaveId;
+        this.status = status;
+        this.comments = comments;
+    }
+    
+    // Getters and Setters
+    public Long getLeaveId() { return leaveId; }
+    public void setLeaveId(Long leaveId) { this.leaveId = leaveId; }
+    
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    
+    public String getComments() { return comments; }
+    public void setComments(String comments) { this.comments = comments; }
+}
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.leaveflow.dto;
+
+import io.micronaut.serde.annotation.Serdeable;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@Serdeable
+public class BulkDecisionRequest {
+    
+    @NotEmpty
+    @Size(max = 1000)
+    private List<@Valid BulkDecisionItem> decisions;
+    
+    // Constructors
+    public BulkDecisionRequest() {}
+    
+    public BulkDecisionRequest(List<BulkDecisionItem> decisions) {
+        this.decisions = decisions;
+    }
+    
+    // Getters and Setters
+    public List<BulkDecisionItem> getDecisions() { return decisions; }
+    public void setDecisions(List<BulkDecisionItem> decisions) { this.decisions = decisions; }
+}
\ No newline at end of file
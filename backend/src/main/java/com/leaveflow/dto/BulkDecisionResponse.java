@@ -0,0 +1,10 @@
+package com.leaveflow.dto;
+
+import io.micronaut.serde.annotation.Serdeable;
+
+import java.util.List;
+
+// Results are in request order
+@Serdeable
+public record BulkDecisionResponse(int approved, int rejected, int failed, List<BulkDecisionResult> results) {
+}
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.leaveflow.dto;
+
+import io.micronaut.serde.annotation.Serdeable;
+
+// Outcome of one item of a bulk decision: APPROVED or REJECTED when applied, otherwise NOT_FOUND,
+// INVALID, INSUFFICIENT_BALANCE or FAILED with a message
+@Serdeable
+public record BulkDecisionResult(Long leaveId, String outcome, String message) {
+    
+    public boolean applied() {
+        return "APPROVED".equals(outcome) || "REJECTED".equals(outcome);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.leaveflow.dto;
+
+import com.leaveflow.entity.HistoryAction;
+import com.leaveflow.entity.LeaveStatus;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.data.annotation.MappedProperty;
+import io.micronaut.data.model.DataType;
+import io.micronaut.serde.annotation.Serdeable;
+
+import java.time.LocalDateTime;
+
+// One row of a leave's audit trail, projected from the history table
+@Serdeable
+public record HistoryEntry(
+        Long id,
+        Long leaveId,
+        Long userId,
+        @MappedProperty(value = "action", type = DataType.INTEGER) HistoryAction action,
+        String description,
+        @Nullable Long performedBy,
+        @MappedProperty(value = "old_status", type = DataType.INTEGER) @Nullable LeaveStatus oldStatus,
+        @MappedProperty(value = "new_status", type = DataType.INTEGER) @Nullable LeaveStatus newStatus,
+        LocalDateTime timestamp) {
+}
\ No newline at end of file
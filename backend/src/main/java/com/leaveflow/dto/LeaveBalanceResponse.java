@@ -0,0 +1,46 @@
+package com.leaveflow.dto;
+
+import io.micronaut.serde.annotation.Serdeable;
+
+@Serdeable
+public class LeaveBalanceResponse {
+    
+    private int annualRemaining;
+    private int sickRemaining;
+    private int casualRemaining;
+    private int annualUsed;
+    private int sickUsed;
+    private int casualUsed;
+    
+    // Constructors
+    public LeaveBalanceResponse() {}
+    
+    public LeaveBalanceResponse(int annualRemaining, int sickRemaining, int casualRemaining,
+                                int annualUsed, int sickUsed, int casualUsed) {
+        this.annualRemaining = annualRemaining;
+        this.sickRemaining = sickRemaining;
+        this.casualRemaining = casualRemaining;
+        this.annualUsed = annualUsed;
+        this.sickUsed = sickUsed;
+        this.casualUsed = casualUsed;
+    }
+    
+    // Getters and Setters
+    public int getAnnualRemaining() { return annualRemaining; }
+    public void setAnnualRemaining(int annualRemaining) { this.annualRemaining = annualRemaining; }
+    
+    public int getSickRemaining() { return sickRemaining; }
+    public void setSickRemaining(int sickRemaining) { this.sickRemaining = sickRemaining; }
+    
+    public int getCasualRemaining() { return casualRemaining; }
+    public void setCasualRemaining(int casualRemaining) { this.casualRemaining = casualRemaining; }
+    
+    public int getAnnualUsed() { return annualUsed; }
+    public void setAnnualUsed(int annualUsed) { this.annualUsed = annualUsed; }
+    
+    public int getSickUsed() { return sickUsed; }
+    public void setSickUsed(int sickUsed) { this.sickUsed = sickUsed; }
+    
+    public int getCasualUsed() { return casualUsed; }
+    public void setCasualUsed(int casualUsed) { this.casualUsed = casualUsed; }
+}
\ No newline at end of file
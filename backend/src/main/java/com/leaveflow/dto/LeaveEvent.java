@@ -0,0 +1,13 @@
+package com.leaveflow.dto;
+
+import com.leaveflow.entity.LeaveStatus;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.serde.annotation.Serdeable;
+
+// One committed status change, pushed on /api/leaves/events: the leave as it is now, and the status
+// it left (null for a newly applied leave). Clients replace their copy of the leave with it.
+@Serdeable
+public record LeaveEvent(
+        LeaveSummary leave,
+        @Nullable LeaveStatus oldStatus) {
+}
\ No newline at end of file
@@ -0,0 +1,6 @@
+package com.leaveflow.dto;
+
+import java.util.List;
+
+public record LeavePage(List<LeaveSummary> items, String nextCursor) {
+}
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.leaveflow.dto;
+
+import io.micronaut.serde.annotation.Serdeable;
+
+import java.util.Map;
+
+// Leave counts for the admin dashboard; byMonth is keyed by the start date's "yyyy-MM"
+// and broken down by status, byStatusAndType by status then leave type
+@Serdeable
+public record LeaveStatsResponse(
+        long totalLeaves,
+        long totalDays,
+        Map<String, Long> byStatus,
+        Map<String, Long> byType,
+        Map<String, Map<String, Long>> byMonth,
+        Map<String, Map<String, Long>> byStatusAndType) {
+}
\ No newline at end of file
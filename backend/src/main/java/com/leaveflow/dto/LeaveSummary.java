@@ -0,0 +1,38 @@
+package com.leaveflow.dto;
+
+import com.leaveflow.entity.Leave;
+import com.leaveflow.entity.LeaveStatus;
+import com.leaveflow.entity.LeaveType;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.data.annotation.MappedProperty;
+import io.micronaut.data.model.DataType;
+import io.micronaut.serde.annotation.Serdeable;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// A leave as shown in list views, selected column by column into this record (see LeaveReadRepository)
+// instead of loading managed Leave entities. Serializes to the same JSON as LeaveResponse. The coded enums
+// are read as their INTEGER codes and converted by CodedEnumConverters.
+@Serdeable
+public record LeaveSummary(
+        Long id,
+        Long userId,
+        @MappedProperty(value = "leave_type", type = DataType.INTEGER) LeaveType leaveType,
+        LocalDate startDate,
+        LocalDate endDate,
+        Integer duration,
+        @Nullable String reason,
+        @MappedProperty(value = "status", type = DataType.INTEGER) LeaveStatus status,
+        @Nullable Long approvedBy,
+        @Nullable LocalDateTime approvedAt,
+        @Nullable String comments,
+        LocalDateTime createdAt,
+        @Nullable LocalDateTime updatedAt) {
+    
+    public static LeaveSummary from(Leave leave) {
+        return new LeaveSummary(leave.getId(), leave.getUserId(), leave.getLeaveType(), leave.getStartDate(),
+                leave.getEndDate(), leave.getDuration(), leave.getReason(), leave.getStatus(), leave.getApprovedBy(),
+                leave.getApprovedAt(), leave.getComments(), leave.getCreatedAt(), leave.getUpdatedAt());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.leaveflow.dto;
+
+import io.micronaut.core.annotation.Introspected;
+
+@Introspected
+public record LedgerTotal(Long userId, String leaveType, String entryType, Long days) {
+}
\ No newline at end of file
@@ -1,8 +1,10 @@
 package com.leaveflow.dto;
 
+import io.micronaut.serde.annotation.Serdeable;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 
+@Serdeable
 public class LoginRequest {
     
     @NotBlank
@@ -26,4 +28,4 @@ public class LoginRequest {
     
     public String getPassword() { return password; }
     public void setPassword(String password) { this.password = password; }
-} 
\ No newline at end of file
+}
\ No newline at end of file
@@ -1,9 +1,11 @@
 package com.leaveflow.dto;
 
+import io.micronaut.serde.annotation.Serdeable;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
+@Serdeable
 public class RegisterRequest {
     
     @NotBlank
@@ -50,4 +52,4 @@ public class RegisterRequest {
     
     public String getRole() { return role; }
     public void setRole(String role) { this.role = role; }
-} 
\ No newline at end of file
+}
\ No newline at end of file
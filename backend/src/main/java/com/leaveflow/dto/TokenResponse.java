@@ -0,0 +1,16 @@
+package com.leaveflow.dto;
+
+import io.micronaut.serde.annotation.Serdeable;
+
+// POST /api/auth/refresh: the new access token, valid for expiresIn seconds, and the refresh token to use next
+@Serdeable
+public record TokenResponse(
+        String token,
+        String tokenType,
+        long expiresIn,
+        String refreshToken) {
+    
+    public TokenResponse(String token, String refreshToken, long expiresIn) {
+        this(token, "Bearer", expiresIn, refreshToken);
+    }
+}
\ No newline at end of file
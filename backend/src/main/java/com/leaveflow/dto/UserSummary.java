@@ -0,0 +1,26 @@
+package com.leaveflow.dto;
+
+import com.leaveflow.entity.Role;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.data.annotation.MappedProperty;
+import io.micronaut.data.model.DataType;
+import io.micronaut.serde.annotation.Serdeable;
+
+import java.time.LocalDateTime;
+
+// A user as shown in the user-management list: the UserResponse fields, projected straight from
+// the users table, so the password hash is never read
+@Serdeable
+public record UserSummary(
+        Long id,
+        String firstName,
+        String lastName,
+        String email,
+        @MappedProperty(value = "role", type = DataType.INTEGER) Role role,
+        boolean active,
+        @Nullable Integer annualLeaveBalance,
+        @Nullable Integer sickLeaveBalance,
+        @Nullable Integer casualLeaveBalance,
+        LocalDateTime createdAt,
+        @Nullable LocalDateTime updatedAt) {
+}
\ No newline at end of file
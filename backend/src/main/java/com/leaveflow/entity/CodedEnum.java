@@ -0,0 +1,65 @@
+package com.leaveflow.entity;
+
+import jakarta.persistence.AttributeConverter;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.function.IntFunction;
+
+// An enum stored as a small integer code instead of its name. Codes are part of the schema (see
+// V3__enum_codes.sql): never renumber or reuse one, only append.
+public interface CodedEnum {
+    
+    int code();
+    
+    // Lookup table from code to constant, for the enums' fromCode
+    static <E extends Enum<E> & CodedEnum> E[] byCode(E[] values) {
+        int max = Arrays.stream(values).mapToInt(CodedEnum::code).max().orElse(-1);
+        E[] table = Arrays.copyOf(values, max + 1);
+        Arrays.fill(table, null);
+        for (E value : values) {
+            table[value.code()] = value;
+        }
+        return table;
+    }
+    
+    static <E extends Enum<E>> E lookup(E[] table, int code, Class<E> type) {
+        E value = code >= 0 && code < table.length ? table[code] : null;
+        if (value == null) {
+            throw new IllegalStateException("Unknown " + type.getSimpleName() + " code " + code);
+        }
+        return value;
+    }
+    
+    // Case-insensitive parse of a request value; what names the field in the error message
+    static <E extends Enum<E>> E parse(Class<E> type, String value, String what) {
+        if (value == null) {
+            throw new IllegalArgumentException("Invalid " + what);
+        }
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid " + what);
+        }
+    }
+    
+    // JPA mapping between a coded enum attribute and its INTEGER column
+    abstract class Converter<E extends Enum<E> & CodedEnum> implements AttributeConverter<E, Integer> {
+        
+        private final IntFunction<E> fromCode;
+        
+        protected Converter(IntFunction<E> fromCode) {
+            this.fromCode = fromCode;
+        }
+        
+        @Override
+        public Integer convertToDatabaseColumn(E value) {
+            return value == null ? null : value.code();
+        }
+        
+        @Override
+        public E convertToEntityAttribute(Integer code) {
+            return code == null ? null : fromCode.apply(code);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.leaveflow.entity;
+
+import io.micronaut.core.convert.MutableConversionService;
+import io.micronaut.core.convert.TypeConverterRegistrar;
+import jakarta.inject.Singleton;
+
+// Code -> constant conversions for the coded enums. Micronaut Data JDBC cannot apply the entities' JPA
+// converters when it maps a row into a projection record (LeaveSummary, UserSummary, HistoryEntry), so
+// those records read the INTEGER column and the conversion service turns it into the enum with these.
+@Singleton
+public class CodedEnumConverters implements TypeConverterRegistrar {
+    
+    @Override
+    public void register(MutableConversionService conversionService) {
+        conversionService.addConverter(Integer.class, LeaveStatus.class, LeaveStatus::fromCode);
+        conversionService.addConverter(Integer.class, LeaveType.class, LeaveType::fromCode);
+        conversionService.addConverter(Integer.class, Role.class, Role::fromCode);
+        conversionService.addConverter(Integer.class, HistoryAction.class, HistoryAction::fromCode);
+    }
+}
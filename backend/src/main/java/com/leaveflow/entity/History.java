@@ -22,9 +22,10 @@ public class History {
     @Column(name = "leave_id", nullable = false)
     private Long leaveId;
     
-    @NotBlank
+    @NotNull
     @Column(name = "action", nullable = false)
-    private String action; // APPLIED, APPROVED, REJECTED, MODIFIED, CANCELLED
+    @Convert(converter = HistoryAction.Converter.class)
+    private HistoryAction action;
     
     @NotBlank
     @Column(name = "description", nullable = false)
@@ -34,10 +35,12 @@ public class History {
     private Long performedBy; // User ID who performed the action
     
     @Column(name = "old_status")
-    private String oldStatus;
+    @Convert(converter = LeaveStatus.Converter.class)
+    private LeaveStatus oldStatus;
     
     @Column(name = "new_status")
-    private String newStatus;
+    @Convert(converter = LeaveStatus.Converter.class)
+    private LeaveStatus newStatus;
     
     @Column(name = "additional_data")
     private String additionalData; // JSON string for any additional data
@@ -53,7 +56,7 @@ public class History {
     // Constructors
     public History() {}
     
-    public History(Long userId, Long leaveId, String action, String description, Long performedBy) {
+    public History(Long userId, Long leaveId, HistoryAction action, String description, Long performedBy) {
         this.userId = userId;
         this.leaveId = leaveId;
         this.action = action;
@@ -61,8 +64,8 @@ public class History {
         this.performedBy = performedBy;
     }
     
-    public History(Long userId, Long leaveId, String action, String description, Long performedBy, 
-                   String oldStatus, String newStatus) {
+    public History(Long userId, Long leaveId, HistoryAction action, String description, Long performedBy, 
+                   LeaveStatus oldStatus, LeaveStatus newStatus) {
         this.userId = userId;
         this.leaveId = leaveId;
         this.action = action;
@@ -82,8 +85,8 @@ public class History {
     public Long getLeaveId() { return leaveId; }
     public void setLeaveId(Long leaveId) { this.leaveId = leaveId; }
     
-    public String getAction() { return action; }
-    public void setAction(String action) { this.action = action; }
+    public HistoryAction getAction() { return action; }
+    public void setAction(HistoryAction action) { this.action = action; }
     
     public String getDescription() { return description; }
     public void setDescription(String description) { this.description = description; }
@@ -91,15 +94,15 @@ public class History {
     public Long getPerformedBy() { return performedBy; }
     public void setPerformedBy(Long performedBy) { this.performedBy = performedBy; }
     
-    public String getOldStatus() { return oldStatus; }
-    public void setOldStatus(String oldStatus) { this.oldStatus = oldStatus; }
+    public LeaveStatus getOldStatus() { return oldStatus; }
+    public void setOldStatus(LeaveStatus oldStatus) { this.oldStatus = oldStatus; }
     
-    public String getNewStatus() { return newStatus; }
-    public void setNewStatus(String newStatus) { this.newStatus = newStatus; }
+    public LeaveStatus getNewStatus() { return newStatus; }
+    public void setNewStatus(LeaveStatus newStatus) { this.newStatus = newStatus; }
     
     public String getAdditionalData() { return additionalData; }
     public void setAdditionalData(String additionalData) { this.additionalData = additionalData; }
     
     public LocalDateTime getTimestamp() { return timestamp; }
     public void setTimestamp(LocalDateTime timestamp) { this.timestamp = timestamp; }
-} 
\ No newline at end of file
+}
\ No newline at end of file
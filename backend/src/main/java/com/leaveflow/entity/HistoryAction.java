@@ -0,0 +1,48 @@
+package com.leaveflow.entity;
+
+// What happened to a leave in a History row
+public enum HistoryAction implements CodedEnum {
+    APPLIED(0),
+    APPROVED(1),
+    REJECTED(2),
+    MODIFIED(3),
+    CANCELLED(4);
+    
+    private static final HistoryAction[] BY_CODE = CodedEnum.byCode(values());
+    
+    private final int code;
+    
+    HistoryAction(int code) {
+        this.code = code;
+    }
+    
+    @Override
+    public int code() {
+        return code;
+    }
+    
+    // The action recorded when a leave moves to the given status
+    public static HistoryAction of(LeaveStatus status) {
+        return switch (status) {
+            case PENDING -> APPLIED;
+            case APPROVED -> APPROVED;
+            case REJECTED -> REJECTED;
+            case CANCELLED -> CANCELLED;
+        };
+    }
+    
+    public static HistoryAction fromCode(int code) {
+        return CodedEnum.lookup(BY_CODE, code, HistoryAction.class);
+    }
+    
+    public static HistoryAction parse(String value) {
+        return CodedEnum.parse(HistoryAction.class, value, "history action");
+    }
+    
+    @jakarta.persistence.Converter
+    public static class Converter extends CodedEnum.Converter<HistoryAction> {
+        public Converter() {
+            super(HistoryAction::fromCode);
+        }
+    }
+}
\ No newline at end of file
@@ -1,7 +1,6 @@
 package com.leaveflow.entity;
 
 import jakarta.persistence.*;
-import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
 import java.time.LocalDate;
@@ -19,9 +18,10 @@ public class Leave {
     @Column(name = "user_id", nullable = false)
     private Long userId;
     
-    @NotBlank
+    @NotNull
     @Column(name = "leave_type", nullable = false)
-    private String leaveType; // ANNUAL, SICK, CASUAL, EMERGENCY
+    @Convert(converter = LeaveType.Converter.class)
+    private LeaveType leaveType;
     
     @NotNull
     @Column(name = "start_date", nullable = false)
@@ -38,9 +38,10 @@ public class Leave {
     @Column(name = "reason")
     private String reason;
     
-    @NotBlank
+    @NotNull
     @Column(name = "status", nullable = false)
-    private String status = "PENDING"; // PENDING, APPROVED, REJECTED
+    @Convert(converter = LeaveStatus.Converter.class)
+    private LeaveStatus status = LeaveStatus.PENDING;
     
     @Column(name = "approved_by")
     private Long approvedBy; // User ID of admin who approved/rejected
@@ -71,7 +72,7 @@ public class Leave {
     // Constructors
     public Leave() {}
     
-    public Leave(Long userId, String leaveType, LocalDate startDate, LocalDate endDate, Integer duration, String reason) {
+    public Leave(Long userId, LeaveType leaveType, LocalDate startDate, LocalDate endDate, Integer duration, String reason) {
         this.userId = userId;
         this.leaveType = leaveType;
         this.startDate = startDate;
@@ -87,8 +88,8 @@ public class Leave {
     public Long getUserId() { return userId; }
     public void setUserId(Long userId) { this.userId = userId; }
     
-    public String getLeaveType() { return leaveType; }
-    public void setLeaveType(String leaveType) { this.leaveType = leaveType; }
+    public LeaveType getLeaveType() { return leaveType; }
+    public void setLeaveType(LeaveType leaveType) { this.leaveType = leaveType; }
     
     public LocalDate getStartDate() { return startDate; }
     public void setStartDate(LocalDate startDate) { this.startDate = startDate; }
@@ -102,8 +103,8 @@ public class Leave {
     public String getReason() { return reason; }
     public void setReason(String reason) { this.reason = reason; }
     
-    public String getStatus() { return status; }
-    public void setStatus(String status) { this.status = status; }
+    public LeaveStatus getStatus() { return status; }
+    public void setStatus(LeaveStatus status) { this.status = status; }
     
     public Long getApprovedBy() { return approvedBy; }
     public void setApprovedBy(Long approvedBy) { this.approvedBy = approvedBy; }
@@ -119,4 +120,4 @@ public class Leave {
     
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
-} 
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,76 @@
+package com.leaveflow.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "leave_ledger")
+public class LeaveLedgerEntry {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @NotNull
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @NotBlank
+    @Column(name = "leave_type", nullable = false)
+    private String leaveType; // ANNUAL, SICK, CASUAL
+    
+    @NotBlank
+    @Column(name = "entry_type", nullable = false)
+    private String entryType; // GRANT, DEBIT, CREDIT
+    
+    @NotNull
+    @Column(name = "days", nullable = false)
+    private Integer days; // Signed change to the balance: GRANT/CREDIT positive, DEBIT negative
+    
+    @Column(name = "leave_id")
+    private Long leaveId; // Leave that caused the DEBIT/CREDIT, null for GRANT
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+    
+    // Constructors
+    public LeaveLedgerEntry() {}
+    
+    public LeaveLedgerEntry(Long userId, String leaveType, String entryType, Integer days, Long leaveId) {
+        this.userId = userId;
+        this.leaveType = leaveType;
+        this.entryType = entryType;
+        this.days = days;
+        this.leaveId = leaveId;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    
+    public String getLeaveType() { return leaveType; }
+    public void setLeaveType(String leaveType) { this.leaveType = leaveType; }
+    
+    public String getEntryType() { return entryType; }
+    public void setEntryType(String entryType) { this.entryType = entryType; }
+    
+    public Integer getDays() { return days; }
+    public void setDays(Integer days) { this.days = days; }
+    
+    public Long getLeaveId() { return leaveId; }
+    public void setLeaveId(Long leaveId) { this.leaveId = leaveId; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
\ No newline at end of file
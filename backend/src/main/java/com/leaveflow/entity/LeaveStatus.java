@@ -0,0 +1,47 @@
+package com.leaveflow.entity;
+
+// Lifecycle of a leave: PENDING until an admin approves or rejects it; pending and approved leaves
+// can be cancelled
+public enum LeaveStatus implements CodedEnum {
+    PENDING(0),
+    APPROVED(1),
+    REJECTED(2),
+    CANCELLED(3);
+    
+    private static final LeaveStatus[] BY_CODE = CodedEnum.byCode(values());
+    
+    private final int code;
+    
+    LeaveStatus(int code) {
+        this.code = code;
+    }
+    
+    @Override
+    public int code() {
+        return code;
+    }
+    
+    // Pending and approved leaves hold their dates; rejected and cancelled ones do not
+    public boolean isActive() {
+        return this == PENDING || this == APPROVED;
+    }
+    
+    public boolean isDecision() {
+        return this == APPROVED || this == REJECTED;
+    }
+    
+    public static LeaveStatus fromCode(int code) {
+        return CodedEnum.lookup(BY_CODE, code, LeaveStatus.class);
+    }
+    
+    public static LeaveStatus parse(String value) {
+        return CodedEnum.parse(LeaveStatus.class, value, "status");
+    }
+    
+    @jakarta.persistence.Converter
+    public static class Converter extends CodedEnum.Converter<LeaveStatus> {
+        public Converter() {
+            super(LeaveStatus::fromCode);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,37 @@
+package com.leaveflow.entity;
+
+// ANNUAL, SICK and CASUAL leave draw on a balance (see LeaveBalanceService); EMERGENCY does not
+public enum LeaveType implements CodedEnum {
+    ANNUAL(0),
+    SICK(1),
+    CASUAL(2),
+    EMERGENCY(3);
+    
+    private static final LeaveType[] BY_CODE = CodedEnum.byCode(values());
+    
+    private final int code;
+    
+    LeaveType(int code) {
+        this.code = code;
+    }
+    
+    @Override
+    public int code() {
+        return code;
+    }
+    
+    public static LeaveType fromCode(int code) {
+        return CodedEnum.lookup(BY_CODE, code, LeaveType.class);
+    }
+    
+    public static LeaveType parse(String value) {
+        return CodedEnum.parse(LeaveType.class, value, "leave type");
+    }
+    
+    @jakarta.persistence.Converter
+    public static class Converter extends CodedEnum.Converter<LeaveType> {
+        public Converter() {
+            super(LeaveType::fromCode);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.leaveflow.entity;
+
+// Also the role claim in issued tokens, by name
+public enum Role implements CodedEnum {
+    EMPLOYEE(0),
+    ADMIN(1);
+    
+    private static final Role[] BY_CODE = CodedEnum.byCode(values());
+    
+    private final int code;
+    
+    Role(int code) {
+        this.code = code;
+    }
+    
+    @Override
+    public int code() {
+        return code;
+    }
+    
+    public static Role fromCode(int code) {
+        return CodedEnum.lookup(BY_CODE, code, Role.class);
+    }
+    
+    public static Role parse(String value) {
+        return CodedEnum.parse(Role.class, value, "role");
+    }
+    
+    @jakarta.persistence.Converter
+    public static class Converter extends CodedEnum.Converter<Role> {
+        public Converter() {
+            super(Role::fromCode);
+        }
+    }
+}
\ No newline at end of file
@@ -3,6 +3,7 @@ package com.leaveflow.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 
 import java.time.LocalDateTime;
@@ -35,9 +36,10 @@ public class User {
     @Column(name = "password", nullable = false)
     private String password;
     
-    @NotBlank
+    @NotNull
     @Column(name = "role", nullable = false)
-    private String role; // EMPLOYEE or ADMIN
+    @Convert(converter = Role.Converter.class)
+    private Role role;
     
     @Column(name = "active", nullable = false)
     private boolean active = true;
@@ -71,7 +73,7 @@ public class User {
     // Constructors
     public User() {}
     
-    public User(String firstName, String lastName, String email, String password, String role) {
+    public User(String firstName, String lastName, String email, String password, Role role) {
         this.firstName = firstName;
         this.lastName = lastName;
         this.email = email;
@@ -95,8 +97,8 @@ public class User {
     public String getPassword() { return password; }
     public void setPassword(String password) { this.password = password; }
     
-    public String getRole() { return role; }
-    public void setRole(String role) { this.role = role; }
+    public Role getRole() { return role; }
+    public void setRole(Role role) { this.role = role; }
     
     public boolean isActive() { return active; }
     public void setActive(boolean active) { this.active = active; }
@@ -116,7 +118,9 @@ public class User {
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
     
+    // Not a column; marked so Micronaut Data's read repositories do not map it
+    @Transient
     public String getFullName() {
         return firstName + " " + lastName;
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
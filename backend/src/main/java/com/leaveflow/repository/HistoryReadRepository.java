@@ -0,0 +1,24 @@
+package com.leaveflow.repository;
+
+import com.leaveflow.dto.HistoryEntry;
+import com.leaveflow.entity.History;
+import io.micronaut.data.jdbc.annotation.JdbcRepository;
+import io.micronaut.data.model.Pageable;
+import io.micronaut.data.model.query.builder.sql.Dialect;
+import io.micronaut.data.repository.GenericRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// History lists served from the read-only "read" pool as HistoryEntry projections. Reads go to the
+// hot partition only: callers pass HistoryArchive.hotFrom() and read older years from the archive.
+// Micronaut Data JDBC, like the other read repositories.
+@JdbcRepository(value = "read", dialect = Dialect.MYSQL)
+@TimedRepository
+public interface HistoryReadRepository extends GenericRepository<History, Long> {
+    
+    List<HistoryEntry> findByLeaveIdAndTimestampGreaterThanEqualsOrderByTimestampDesc(Long leaveId, LocalDateTime from);
+    
+    List<HistoryEntry> findByUserIdAndTimestampGreaterThanEqualsOrderByTimestampDesc(Long userId, LocalDateTime from,
+                                                                                     Pageable pageable);
+}
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.leaveflow.repository;
 
 import com.leaveflow.entity.History;
+import com.leaveflow.entity.HistoryAction;
 import io.micronaut.data.annotation.Repository;
 import io.micronaut.data.annotation.Query;
 import io.micronaut.data.jpa.repository.JpaRepository;
@@ -9,13 +10,14 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
+@TimedRepository
 public interface HistoryRepository extends JpaRepository<History, Long> {
     
     List<History> findByUserId(Long userId);
     
     List<History> findByLeaveId(Long leaveId);
     
-    List<History> findByAction(String action);
+    List<History> findByAction(HistoryAction action);
     
     List<History> findByPerformedBy(Long performedBy);
     
@@ -28,4 +30,4 @@ public interface HistoryRepository extends JpaRepository<History, Long> {
     
     @Query("SELECT h FROM History h WHERE h.userId = :userId AND h.timestamp >= :fromDate AND h.timestamp <= :toDate ORDER BY h.timestamp DESC")
     List<History> findByUserIdAndDateRange(Long userId, LocalDateTime fromDate, LocalDateTime toDate);
-} 
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.leaveflow.repository;
+
+import com.leaveflow.dto.LedgerTotal;
+import com.leaveflow.entity.LeaveLedgerEntry;
+import io.micronaut.data.annotation.Query;
+import io.micronaut.data.annotation.Repository;
+import io.micronaut.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+@Repository
+@TimedRepository
+public interface LeaveLedgerRepository extends JpaRepository<LeaveLedgerEntry, Long> {
+    
+    List<LeaveLedgerEntry> findByUserId(Long userId);
+    
+    @Query("SELECT e.userId AS userId, e.leaveType AS leaveType, e.entryType AS entryType, SUM(e.days) AS days " +
+           "FROM LeaveLedgerEntry e GROUP BY e.userId, e.leaveType, e.entryType")
+    List<LedgerTotal> sumByUserAndTypeAndEntryType();
+}
\ No newline at end of file
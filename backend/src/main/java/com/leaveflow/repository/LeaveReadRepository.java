@@ -0,0 +1,41 @@
+package com.leaveflow.repository;
+
+import com.leaveflow.dto.LeaveSummary;
+import com.leaveflow.entity.Leave;
+import com.leaveflow.entity.LeaveStatus;
+import io.micronaut.data.annotation.Query;
+import io.micronaut.data.jdbc.annotation.JdbcRepository;
+import io.micronaut.data.model.Pageable;
+import io.micronaut.data.model.query.builder.sql.Dialect;
+import io.micronaut.data.repository.GenericRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+// Leave queries served from the read-only "read" pool. Writes and reads that must see
+// their own writes go through LeaveRepository on the write connection. Micronaut Data JDBC, so the
+// queries are SQL against the leaves table rather than JPQL.
+@JdbcRepository(value = "read", dialect = Dialect.MYSQL)
+@TimedRepository
+public interface LeaveReadRepository extends GenericRepository<Leave, Long> {
+    
+    Optional<Leave> findById(Long id);
+    
+    // Columns of a LeaveSummary, aliased to its components
+    String SUMMARY = "SELECT id, user_id, leave_type, start_date, end_date, duration, reason, status, approved_by, "
+            + "approved_at, comments, created_at, updated_at FROM leaves ";
+    
+    // Keyset pages, newest first: rows strictly after the (createdAt, id) cursor, limited by the Pageable size.
+    // The cursor is compared as a row value; SQLite seeks the (..., created_at, id) index with it, whereas
+    // the equivalent "created_at < ? OR (created_at = ? AND id < ?)" is planned as an OR of two index scans
+    // plus a sort, so every page cost more the deeper it was.
+    @Query(SUMMARY + "WHERE (created_at, id) < (:createdAt, :id) ORDER BY created_at DESC, id DESC")
+    List<LeaveSummary> findPageBefore(LocalDateTime createdAt, Long id, Pageable pageable);
+    
+    @Query(SUMMARY + "WHERE user_id = :userId AND (created_at, id) < (:createdAt, :id) ORDER BY created_at DESC, id DESC")
+    List<LeaveSummary> findPageByUserIdBefore(Long userId, LocalDateTime createdAt, Long id, Pageable pageable);
+    
+    @Query(SUMMARY + "WHERE status = :status AND (created_at, id) < (:createdAt, :id) ORDER BY created_at DESC, id DESC")
+    List<LeaveSummary> findPageByStatusBefore(LeaveStatus status, LocalDateTime createdAt, Long id, Pageable pageable);
+}
\ No newline at end of file
@@ -1,25 +1,31 @@
 package com.leaveflow.repository;
 
 import com.leaveflow.entity.Leave;
+import com.leaveflow.entity.LeaveStatus;
+import com.leaveflow.entity.LeaveType;
 import io.micronaut.data.annotation.Repository;
 import io.micronaut.data.annotation.Query;
 import io.micronaut.data.jpa.repository.JpaRepository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
+@TimedRepository
 public interface LeaveRepository extends JpaRepository<Leave, Long> {
     
     List<Leave> findByUserId(Long userId);
     
-    List<Leave> findByUserIdAndStatus(Long userId, String status);
+    List<Leave> findByIdIn(Collection<Long> ids);
     
-    List<Leave> findByStatus(String status);
+    List<Leave> findByUserIdAndStatus(Long userId, LeaveStatus status);
     
-    List<Leave> findByLeaveType(String leaveType);
+    List<Leave> findByStatus(LeaveStatus status);
     
-    List<Leave> findByUserIdAndLeaveType(Long userId, String leaveType);
+    List<Leave> findByLeaveType(LeaveType leaveType);
+    
+    List<Leave> findByUserIdAndLeaveType(Long userId, LeaveType leaveType);
     
     @Query("SELECT l FROM Leave l WHERE l.startDate >= :startDate AND l.endDate <= :endDate")
     List<Leave> findByDateRange(LocalDate startDate, LocalDate endDate);
@@ -27,9 +33,18 @@ public interface LeaveRepository extends JpaRepository<Leave, Long> {
     @Query("SELECT l FROM Leave l WHERE l.userId = :userId AND l.startDate >= :startDate AND l.endDate <= :endDate")
     List<Leave> findByUserIdAndDateRange(Long userId, LocalDate startDate, LocalDate endDate);
     
-    @Query("SELECT COUNT(l) FROM Leave l WHERE l.userId = :userId AND l.leaveType = :leaveType AND l.status = 'APPROVED' AND YEAR(l.startDate) = :year")
-    Long countApprovedLeavesByUserAndTypeAndYear(Long userId, String leaveType, int year);
+    // The status is a bound parameter rather than a literal so it goes through the column's converter
+    @Query("SELECT COUNT(l) FROM Leave l WHERE l.userId = :userId AND l.leaveType = :leaveType AND l.status = :status AND YEAR(l.startDate) = :year")
+    Long countByUserAndTypeAndStatusAndYear(Long userId, LeaveType leaveType, LeaveStatus status, int year);
+    
+    @Query("SELECT COALESCE(SUM(l.duration), 0) FROM Leave l WHERE l.userId = :userId AND l.leaveType = :leaveType AND l.status = :status AND YEAR(l.startDate) = :year")
+    Integer sumDaysByUserAndTypeAndStatusAndYear(Long userId, LeaveType leaveType, LeaveStatus status, int year);
+    
+    default Long countApprovedLeavesByUserAndTypeAndYear(Long userId, LeaveType leaveType, int year) {
+        return countByUserAndTypeAndStatusAndYear(userId, leaveType, LeaveStatus.APPROVED, year);
+    }
     
-    @Query("SELECT COALESCE(SUM(l.duration), 0) FROM Leave l WHERE l.userId = :userId AND l.leaveType = :leaveType AND l.status = 'APPROVED' AND YEAR(l.startDate) = :year")
-    Integer sumApprovedLeaveDaysByUserAndTypeAndYear(Long userId, String leaveType, int year);
-} 
\ No newline at end of file
+    default Integer sumApprovedLeaveDaysByUserAndTypeAndYear(Long userId, LeaveType leaveType, int year) {
+        return sumDaysByUserAndTypeAndStatusAndYear(userId, leaveType, LeaveStatus.APPROVED, year);
+    }
+}
\ No newline at end of file
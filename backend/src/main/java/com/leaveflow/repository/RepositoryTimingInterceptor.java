@@ -0,0 +1,67 @@
+package com.leaveflow.repository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micronaut.aop.InterceptorBean;
+import io.micronaut.aop.MethodInterceptor;
+import io.micronaut.aop.MethodInvocationContext;
+import io.micronaut.configuration.metrics.annotation.RequiresMetrics;
+import io.micronaut.context.BeanProvider;
+import io.micronaut.inject.ExecutableMethod;
+import jakarta.inject.Singleton;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Times @TimedRepository methods. The bean only exists while micronaut.metrics.enabled is true; without
+// it the binding has no interceptor and calls go straight to the generated repository method.
+// Timers for successful calls are cached per method so the hot path does no tag building. The registry
+// is looked up on first use: its binders depend on services that depend on the repositories.
+@Singleton
+@RequiresMetrics
+@InterceptorBean(TimedRepository.class)
+public class RepositoryTimingInterceptor implements MethodInterceptor<Object, Object> {
+    
+    static final String METRIC = "leaveflow.repository";
+    
+    private final BeanProvider<MeterRegistry> meterRegistry;
+    private final Map<ExecutableMethod<?, ?>, Timer> timers = new ConcurrentHashMap<>();
+    
+    public RepositoryTimingInterceptor(BeanProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+    
+    @Override
+    public Object intercept(MethodInvocationContext<Object, Object> context) {
+        long start = System.nanoTime();
+        String exception = null;
+        try {
+            return context.proceed();
+        } catch (RuntimeException e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            Timer timer = exception == null
+                    ? timers.computeIfAbsent(context.getExecutableMethod(), method -> timer(context, "none"))
+                    : timer(context, exception);
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+    
+    private Timer timer(MethodInvocationContext<Object, Object> context, String exception) {
+        return Timer.builder(METRIC)
+                .description("Repository method execution time")
+                .tag("repository", repositoryName(context))
+                .tag("method", context.getMethodName())
+                .tag("exception", exception)
+                .register(meterRegistry.get());
+    }
+    
+    // The repository interface, not JpaRepository, for inherited methods: the target is its generated proxy
+    private static String repositoryName(MethodInvocationContext<Object, Object> context) {
+        String proxy = context.getTarget().getClass().getSimpleName();
+        int suffix = proxy.indexOf('$');
+        return suffix > 0 ? proxy.substring(0, suffix) : proxy;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,50 @@
+package com.leaveflow.repository;
+
+import io.micronaut.context.BeanProvider;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.event.BeanCreatedEvent;
+import io.micronaut.context.event.BeanCreatedEventListener;
+import io.micronaut.data.connection.jdbc.advice.DelegatingDataSource;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+// Migrates the schema as soon as the DataSource exists, before Hibernate or any repository uses it
+@Singleton
+@Requires(property = "leaveflow.migrations.enabled", notEquals = "false")
+public class SchemaMigrationListener implements BeanCreatedEventListener<DataSource> {
+    
+    private static final Logger LOG = LoggerFactory.getLogger(SchemaMigrationListener.class);
+    
+    private final BeanProvider<DataSource> writeDataSource;
+    
+    public SchemaMigrationListener(@Named("default") BeanProvider<DataSource> writeDataSource) {
+        this.writeDataSource = writeDataSource;
+    }
+    
+    @Override
+    public DataSource onCreated(BeanCreatedEvent<DataSource> event) {
+        DataSource dataSource = event.getBean();
+        // The read pool opens the file read-only, which fails until the write pool has created it. The JDBC
+        // read repositories can ask for it first, so the write pool (and this migration) is created before it.
+        if (!"default".equals(event.getBeanIdentifier().getName())) {
+            writeDataSource.get();
+        }
+        try (Connection connection = DelegatingDataSource.unwrapDataSource(dataSource).getConnection()) {
+            // The read-only pool shares the file migrated through the write pool
+            if (connection.isReadOnly()) {
+                return dataSource;
+            }
+            int applied = new SchemaMigrator().migrate(connection);
+            LOG.info("Schema is up to date ({} migration(s) applied)", applied);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Schema migration failed", e);
+        }
+        return dataSource;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,175 @@
+package com.leaveflow.repository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+
+// Applies the versioned SQL scripts under db/migration in order, once each, recording them in
+// schema_version. Scripts are listed in db/migration/index.txt because classpath directories
+// cannot be listed reliably inside a jar. Each script runs in its own transaction.
+public class SchemaMigrator {
+    
+    private static final Logger LOG = LoggerFactory.getLogger(SchemaMigrator.class);
+    
+    public static final String DEFAULT_LOCATION = "db/migration";
+    private static final Pattern SCRIPT_NAME = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+    
+    private final String location;
+    private final ClassLoader classLoader;
+    
+    public SchemaMigrator() {
+        this(DEFAULT_LOCATION, SchemaMigrator.class.getClassLoader());
+    }
+    
+    public SchemaMigrator(String location, ClassLoader classLoader) {
+        this.location = location;
+        this.classLoader = classLoader;
+    }
+    
+    public int migrate(Connection connection) throws SQLException {
+        return migrate(connection, Integer.MAX_VALUE);
+    }
+    
+    // Applies pending migrations up to and including targetVersion; returns how many were applied
+    public int migrate(Connection connection, int targetVersion) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        try {
+            ensureVersionTable(connection);
+            Map<Integer, Long> applied = appliedVersions(connection);
+            int count = 0;
+            for (Migration migration : loadMigrations()) {
+                if (migration.version > targetVersion) {
+                    break;
+                }
+                Long checksum = applied.get(migration.version);
+                if (checksum != null) {
+                    if (checksum != migration.checksum) {
+                        throw new IllegalStateException("Migration V" + migration.version + " (" + migration.description
+                                + ") has changed since it was applied");
+                    }
+                    continue;
+                }
+                apply(connection, migration);
+                count++;
+            }
+            return count;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+    
+    private void ensureVersionTable(Connection connection) throws SQLException {
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("CREATE TABLE IF NOT EXISTS schema_version ("
+                    + "version INTEGER PRIMARY KEY, "
+                    + "description VARCHAR(255) NOT NULL, "
+                    + "checksum BIGINT NOT NULL, "
+                    + "installed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP)");
+        }
+    }
+    
+    private Map<Integer, Long> appliedVersions(Connection connection) throws SQLException {
+        Map<Integer, Long> applied = new HashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT version, checksum FROM schema_version")) {
+            while (rs.next()) {
+                applied.put(rs.getInt(1), rs.getLong(2));
+            }
+        }
+        return applied;
+    }
+    
+    private void apply(Connection connection, Migration migration) throws SQLException {
+        long start = System.nanoTime();
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : migration.statements()) {
+                statement.execute(sql);
+            }
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO schema_version (version, description, checksum) VALUES (?, ?, ?)")) {
+                insert.setInt(1, migration.version);
+                insert.setString(2, migration.description);
+                insert.setLong(3, migration.checksum);
+                insert.executeUpdate();
+            }
+            connection.commit();
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        }
+        LOG.info("Applied migration V{} ({}) in {} ms", migration.version, migration.description,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+    
+    private List<Migration> loadMigrations() {
+        List<Migration> migrations = new ArrayList<>();
+        for (String name : readLines(location + "/index.txt")) {
+            Matcher matcher = SCRIPT_NAME.matcher(name);
+            if (!matcher.matches()) {
+                throw new IllegalStateException("Invalid migration script name: " + name);
+            }
+            String script = String.join("\n", readLines(location + "/" + name));
+            CRC32 crc = new CRC32();
+            crc.update(script.getBytes(StandardCharsets.UTF_8));
+            migrations.add(new Migration(Integer.parseInt(matcher.group(1)),
+                    matcher.group(2).replace('_', ' '), script, crc.getValue()));
+        }
+        migrations.sort((a, b) -> Integer.compare(a.version, b.version));
+        return migrations;
+    }
+    
+    private List<String> readLines(String resource) {
+        InputStream in = classLoader.getResourceAsStream(resource);
+        if (in == null) {
+            throw new IllegalStateException("Migration resource not found: " + resource);
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            return reader.lines()
+                    .map(String::strip)
+                    .filter(line -> !line.isEmpty())
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read " + resource, e);
+        }
+    }
+    
+    private record Migration(int version, String description, String script, long checksum) {
+        
+        // Strips "--" comments and splits on ';'. Scripts must not contain ';' or "--" inside literals.
+        List<String> statements() {
+            String withoutComments = script.lines()
+                    .map(line -> {
+                        int comment = line.indexOf("--");
+                        return comment >= 0 ? line.substring(0, comment) : line;
+                    })
+                    .collect(Collectors.joining("\n"));
+            List<String> statements = new ArrayList<>();
+            for (String sql : withoutComments.split(";")) {
+                if (!sql.isBlank()) {
+                    statements.add(sql.strip());
+                }
+            }
+            return statements;
+        }
+    }
+}
\ No newline at end of file
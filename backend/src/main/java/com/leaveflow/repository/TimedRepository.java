@@ -0,0 +1,18 @@
+package com.leaveflow.repository;
+
+import io.micronaut.aop.Around;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Records every call on the annotated repository in the leaveflow.repository timer, tagged with the
+// repository and method name. Applied only while metrics are enabled; see RepositoryTimingInterceptor.
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Around
+public @interface TimedRepository {
+}
\ No newline at end of file
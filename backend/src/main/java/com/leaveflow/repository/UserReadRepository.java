@@ -0,0 +1,28 @@
+package com.leaveflow.repository;
+
+import com.leaveflow.dto.UserSummary;
+import com.leaveflow.entity.Role;
+import com.leaveflow.entity.User;
+import io.micronaut.data.jdbc.annotation.JdbcRepository;
+import io.micronaut.data.model.query.builder.sql.Dialect;
+import io.micronaut.data.repository.GenericRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+// User lookups served from the read-only "read" pool. A Micronaut Data JDBC repository: the SQL is
+// generated at compile time and rows are mapped through bean introspection, without Hibernate.
+// There is no SQLite dialect; MySQL's is the nearest (LIMIT/OFFSET paging, backtick quoting).
+@JdbcRepository(value = "read", dialect = Dialect.MYSQL)
+@TimedRepository
+public interface UserReadRepository extends GenericRepository<User, Long> {
+    
+    Optional<User> findById(Long id);
+    
+    Optional<User> findByEmail(String email);
+    
+    // List views get projections: no password hash, no managed entities
+    List<UserSummary> listOrderById();
+    
+    List<UserSummary> listByRoleOrderById(Role role);
+}
\ No newline at end of file
@@ -1,22 +1,40 @@
 package com.leaveflow.repository;
 
+import com.leaveflow.entity.Role;
 import com.leaveflow.entity.User;
+import io.micronaut.data.annotation.Query;
 import io.micronaut.data.annotation.Repository;
 import io.micronaut.data.jpa.repository.JpaRepository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
+@TimedRepository
 public interface UserRepository extends JpaRepository<User, Long> {
     
     Optional<User> findByEmail(String email);
     
-    List<User> findByRole(String role);
+    List<User> findByRole(Role role);
     
     List<User> findByActive(boolean active);
     
     boolean existsByEmail(String email);
     
-    Optional<User> findByEmailAndPassword(String email, String password);
-} 
\ No newline at end of file
+    // Single-statement adjustments so concurrent approvals cannot lose updates. They bypass @PreUpdate, so
+    // they set updatedAt themselves; the user's ETags and cached responses are keyed on it.
+    @Query("UPDATE User u SET u.annualLeaveBalance = u.annualLeaveBalance + :delta, u.updatedAt = :updatedAt WHERE u.id = :id")
+    int adjustAnnualLeaveBalance(Long id, int delta, LocalDateTime updatedAt);
+    
+    @Query("UPDATE User u SET u.sickLeaveBalance = u.sickLeaveBalance + :delta, u.updatedAt = :updatedAt WHERE u.id = :id")
+    int adjustSickLeaveBalance(Long id, int delta, LocalDateTime updatedAt);
+    
+    @Query("UPDATE User u SET u.casualLeaveBalance = u.casualLeaveBalance + :delta, u.updatedAt = :updatedAt WHERE u.id = :id")
+    int adjustCasualLeaveBalance(Long id, int delta, LocalDateTime updatedAt);
+    
+    // Replaces the hash only while it is still the one that was verified, leaving the balances and active
+    // flag as they are now rather than as a cached copy of the user had them
+    @Query("UPDATE User u SET u.password = :password, u.updatedAt = :updatedAt WHERE u.id = :id AND u.password = :previous")
+    int replacePassword(Long id, String previous, String password, LocalDateTime updatedAt);
+}
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.leaveflow.service;
+
+import io.micronaut.serde.annotation.Serdeable;
+
+@Serdeable
+public record AuthStats(
+        long succeeded,
+        long failed,
+        double meanLookupMillis,
+        double meanVerifyMillis) {
+}
\ No newline at end of file
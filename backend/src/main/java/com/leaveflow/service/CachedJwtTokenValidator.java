@@ -0,0 +1,52 @@
+package com.leaveflow.service;
+
+import io.micronaut.context.annotation.Replaces;
+import io.micronaut.core.async.publisher.Publishers;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.security.authentication.Authentication;
+import io.micronaut.security.token.jwt.validator.JwtTokenValidator;
+import io.micronaut.security.token.validator.TokenValidator;
+import jakarta.inject.Singleton;
+import org.reactivestreams.Publisher;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+// Routes bearer-token authentication through JwtService so each request reuses the shared
+// key/parser and the verified-token cache instead of a second, uncached JWT validation stack.
+@Singleton
+@Replaces(JwtTokenValidator.class)
+public class CachedJwtTokenValidator implements TokenValidator<HttpRequest<?>> {
+    
+    // Authentication attribute holding the request's TokenClaims
+    public static final String CLAIMS_ATTRIBUTE = "claims";
+    
+    private final JwtService jwtService;
+    
+    public CachedJwtTokenValidator(JwtService jwtService) {
+        this.jwtService = jwtService;
+    }
+    
+    @Override
+    public Publisher<Authentication> validateToken(String token, HttpRequest<?> request) {
+        return jwtService.tryVerify(token)
+                .map(claims -> Publishers.just(toAuthentication(claims)))
+                .orElseGet(Publishers::empty);
+    }
+    
+    private static Authentication toAuthentication(TokenClaims claims) {
+        Map<String, Object> attributes = new HashMap<>();
+        if (claims.userId() != null) {
+            attributes.put("userId", claims.userId());
+        }
+        if (claims.role() != null) {
+            attributes.put("role", claims.role());
+        }
+        attributes.put(CLAIMS_ATTRIBUTE, claims);
+        return Authentication.build(
+                String.valueOf(claims.userId()),
+                claims.role() != null ? Collections.singletonList(claims.role()) : Collections.emptyList(),
+                attributes);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,95 @@
+package com.leaveflow.service;
+
+import io.micronaut.context.annotation.Value;
+import jakarta.inject.Singleton;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+// Caps how many database-bound requests run at once, whatever thread they run on. With virtual
+// threads nothing else bounds concurrency, and SQLite gains nothing from more concurrent readers than
+// the read pool has connections. Waiting never blocks a thread: a request over the limit gets a
+// future that is completed when a permit is handed to it, and is rejected once the queue is full.
+@Singleton
+public class ConcurrencyLimiter {
+    
+    private final int maxConcurrent;
+    private final int queueCapacity;
+    private final Object lock = new Object();
+    private final ArrayDeque<CompletableFuture<Void>> waiters = new ArrayDeque<>();
+    private int inFlight;
+    
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder queued = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    
+    public ConcurrencyLimiter(@Value("${leaveflow.concurrency.max-concurrent:16}") int maxConcurrent,
+                              @Value("${leaveflow.concurrency.queue-capacity:1000}") int queueCapacity) {
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("leaveflow.concurrency.max-concurrent must be at least 1");
+        }
+        this.maxConcurrent = maxConcurrent;
+        this.queueCapacity = queueCapacity;
+    }
+    
+    // Completes once the caller holds a permit, or fails with RejectedExecutionException when the
+    // queue is full. Every returned future must be passed to release(), whatever its outcome.
+    public CompletableFuture<Void> acquire() {
+        synchronized (lock) {
+            if (inFlight < maxConcurrent) {
+                inFlight++;
+                admitted.increment();
+                return CompletableFuture.completedFuture(null);
+            }
+            if (waiters.size() >= queueCapacity) {
+                rejected.increment();
+                return CompletableFuture.failedFuture(new RejectedExecutionException("Too many concurrent requests"));
+            }
+            CompletableFuture<Void> permit = new CompletableFuture<>();
+            waiters.add(permit);
+            queued.increment();
+            return permit;
+        }
+    }
+    
+    public void release(CompletableFuture<Void> permit) {
+        synchronized (lock) {
+            if (waiters.remove(permit)) {
+                // Given up while still queued
+                return;
+            }
+        }
+        // Cancelling wins only if the permit has not been granted yet; whoever was granting it passes it on
+        if (permit.cancel(false) || permit.isCompletedExceptionally()) {
+            return;
+        }
+        handOff();
+    }
+    
+    public ConcurrencyLimiterStats getStats() {
+        synchronized (lock) {
+            return new ConcurrencyLimiterStats(inFlight, maxConcurrent, waiters.size(), queueCapacity,
+                    admitted.sum(), queued.sum(), rejected.sum());
+        }
+    }
+    
+    // Passes a freed permit to the longest waiter, skipping any that were cancelled in the meantime
+    private void handOff() {
+        while (true) {
+            CompletableFuture<Void> next;
+            synchronized (lock) {
+                next = waiters.poll();
+                if (next == null) {
+                    inFlight--;
+                    return;
+                }
+            }
+            if (next.complete(null)) {
+                admitted.increment();
+                return;
+            }
+        }
+    }
+}
\ No newline at end of file
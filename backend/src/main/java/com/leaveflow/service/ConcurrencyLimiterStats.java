@@ -0,0 +1,14 @@
+package com.leaveflow.service;
+
+import io.micronaut.serde.annotation.Serdeable;
+
+@Serdeable
+public record ConcurrencyLimiterStats(
+        int inFlight,
+        int maxConcurrent,
+        int queueDepth,
+        int queueCapacity,
+        long admitted,
+        long queued,
+        long rejected) {
+}
\ No newline at end of file
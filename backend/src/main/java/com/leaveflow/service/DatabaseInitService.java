@@ -1,5 +1,6 @@
 package com.leaveflow.service;
 
+import com.leaveflow.entity.Role;
 import com.leaveflow.entity.User;
 import com.leaveflow.repository.UserRepository;
 import io.micronaut.context.event.ApplicationEventListener;
@@ -15,10 +16,15 @@ public class DatabaseInitService implements ApplicationEventListener<ServerStart
     
     private final UserRepository userRepository;
     private final UserService userService;
+    private final LeaveBalanceService leaveBalanceService;
+    private final WriteScheduler writeScheduler;
     
-    public DatabaseInitService(UserRepository userRepository, UserService userService) {
+    public DatabaseInitService(UserRepository userRepository, UserService userService,
+                               LeaveBalanceService leaveBalanceService, WriteScheduler writeScheduler) {
         this.userRepository = userRepository;
         this.userService = userService;
+        this.leaveBalanceService = leaveBalanceService;
+        this.writeScheduler = writeScheduler;
     }
     
     @Override
@@ -34,10 +40,10 @@ public class DatabaseInitService implements ApplicationEventListener<ServerStart
                 admin.setLastName("Admin");
                 admin.setEmail("admin@leaveflow.com");
                 admin.setPassword(userService.hashPassword("admin123"));
-                admin.setRole("ADMIN");
+                admin.setRole(Role.ADMIN);
                 admin.setActive(true);
                 
-                userRepository.save(admin);
+                leaveBalanceService.openAccount(writeScheduler.execute(() -> userRepository.save(admin)));
                 LOG.info("Default admin user created: admin@leaveflow.com / admin123");
             }
             
@@ -49,10 +55,10 @@ public class DatabaseInitService implements ApplicationEventListener<ServerStart
                 employee.setLastName("Employee");
                 employee.setEmail("employee@leaveflow.com");
                 employee.setPassword(userService.hashPassword("employee123"));
-                employee.setRole("EMPLOYEE");
+                employee.setRole(Role.EMPLOYEE);
                 employee.setActive(true);
                 
-                userRepository.save(employee);
+                leaveBalanceService.openAccount(writeScheduler.execute(() -> userRepository.save(employee)));
                 LOG.info("Test employee user created: employee@leaveflow.com / employee123");
             }
             
@@ -62,4 +68,4 @@ public class DatabaseInitService implements ApplicationEventListener<ServerStart
             LOG.error("Failed to initialize database: {}", e.getMessage(), e);
         }
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,513 @@
+package com.leaveflow.service;
+
+import com.leaveflow.dto.HistoryEntry;
+import com.leaveflow.entity.HistoryAction;
+import com.leaveflow.entity.LeaveStatus;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.context.event.ApplicationEventListener;
+import io.micronaut.context.event.StartupEvent;
+import io.micronaut.data.connection.jdbc.advice.DelegatingDataSource;
+import io.micronaut.scheduling.annotation.Scheduled;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// Year partitions of the history table. The table holds the hot partition, every row from hotFrom
+// (1 January of the year after the latest archived one) on; each older year lives in its own
+// gzipped SQLite file under the archive directory, listed in history_archive. A scheduled run moves
+// each year older than hot-years into a file: it copies the rows from the read pool, compresses the
+// file, records it, then deletes the copied rows on the writer in small chunks. Only rows up to the
+// highest id copied are deleted: a row of an archived year written later (a HistoryWriter batch
+// flushed after the run) stays in the table and is merged into its year's file on the next run. Hot
+// reads bound their queries by hotFrom, so rows still waiting to be deleted are never read twice.
+// Archived years are read on demand from a decompressed copy; the last few copies are kept in a
+// temp directory.
+@Singleton
+public class HistoryArchive implements ApplicationEventListener<StartupEvent> {
+    
+    private static final Logger LOG = LoggerFactory.getLogger(HistoryArchive.class);
+    
+    static final String COLUMNS = "id, leave_id, user_id, action, description, performed_by, old_status, "
+            + "new_status, additional_data, timestamp";
+    private static final String ARCHIVE_SCHEMA = """
+            CREATE TABLE history (
+                id INTEGER PRIMARY KEY,
+                leave_id BIGINT NOT NULL,
+                user_id BIGINT NOT NULL,
+                action INTEGER NOT NULL,
+                description VARCHAR(255) NOT NULL,
+                performed_by BIGINT,
+                old_status INTEGER,
+                new_status INTEGER,
+                additional_data VARCHAR(255),
+                timestamp TIMESTAMP NOT NULL
+            )""";
+    private static final LocalDateTime NOTHING_ARCHIVED = LocalDate.EPOCH.atStartOfDay();
+    private static final int COPY_BATCH_SIZE = 1_000;
+    private static final int DELETE_CHUNK_SIZE = 5_000;
+    
+    private final DataSource dataSource;
+    private final WriteScheduler writeScheduler;
+    private final boolean enabled;
+    private final Path directory;
+    private final int hotYears;
+    private final int retentionYears;
+    private final int cacheSize;
+    private final Path cacheDirectory;
+    
+    // Archived years with their file names; empty once the retention policy has dropped the file
+    private final ConcurrentSkipListMap<Integer, Optional<String>> years = new ConcurrentSkipListMap<>();
+    // Decompressed copies by year, least recently used first
+    private final Map<Integer, Path> decompressed = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicBoolean archiving = new AtomicBoolean();
+    private volatile LocalDateTime hotFrom = NOTHING_ARCHIVED;
+    private volatile long archivedRows;
+    private volatile long lastRunMillis;
+    
+    public HistoryArchive(@Named("read") DataSource dataSource, WriteScheduler writeScheduler,
+                          @Value("${leaveflow.history.archive.enabled:true}") boolean enabled,
+                          @Value("${leaveflow.history.archive.directory:history-archive}") String directory,
+                          @Value("${leaveflow.history.archive.hot-years:1}") int hotYears,
+                          @Value("${leaveflow.history.archive.retention-years:0}") int retentionYears,
+                          @Value("${leaveflow.history.archive.cache-size:2}") int cacheSize) throws IOException {
+        this.dataSource = DelegatingDataSource.unwrapDataSource(dataSource);
+        this.writeScheduler = writeScheduler;
+        this.enabled = enabled;
+        this.directory = Path.of(directory);
+        this.hotYears = Math.max(0, hotYears);
+        this.retentionYears = retentionYears;
+        this.cacheSize = Math.max(1, cacheSize);
+        this.cacheDirectory = Files.createTempDirectory("leaveflow-history");
+    }
+    
+    @Override
+    public void onApplicationEvent(StartupEvent event) {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT year, file, row_count FROM history_archive")) {
+            long rows = 0;
+            while (rs.next()) {
+                years.put(rs.getInt(1), Optional.ofNullable(rs.getString(2)));
+                rows += rs.getLong(3);
+            }
+            archivedRows = rows;
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to read the history archive index", e);
+        }
+        hotFrom = years.isEmpty() ? NOTHING_ARCHIVED : LocalDate.of(years.lastKey() + 1, 1, 1).atStartOfDay();
+        LOG.info("History archive: {} archived year(s), hot partition from {}", years.size(), hotFrom);
+    }
+    
+    // Start of the hot partition; rows before it are read from the archive files
+    public LocalDateTime hotFrom() {
+        return hotFrom;
+    }
+    
+    // Rows of one leave from the archived years fromYear onward, newest first
+    public List<HistoryEntry> findByLeaveId(Long leaveId, int fromYear) {
+        List<HistoryEntry> entries = new ArrayList<>();
+        for (Integer year : years.tailMap(fromYear).descendingKeySet()) {
+            query(year, "SELECT " + COLUMNS + " FROM history WHERE leave_id = ? ORDER BY timestamp DESC, id DESC",
+                    statement -> statement.setLong(1, leaveId), entries, Integer.MAX_VALUE);
+        }
+        return entries;
+    }
+    
+    // Up to limit rows of one user's activity from the archived years, newest first
+    public List<HistoryEntry> findByUserId(Long userId, int limit) {
+        List<HistoryEntry> entries = new ArrayList<>();
+        for (Integer year : years.descendingKeySet()) {
+            if (entries.size() >= limit) {
+                break;
+            }
+            int remaining = limit - entries.size();
+            query(year, "SELECT " + COLUMNS + " FROM history WHERE user_id = ? ORDER BY timestamp DESC, id DESC LIMIT ?",
+                    statement -> {
+                        statement.setLong(1, userId);
+                        statement.setInt(2, remaining);
+                    }, entries, limit);
+        }
+        return entries;
+    }
+    
+    // A read-only connection to one archived year, or empty when that year has nothing to read
+    public Optional<Connection> connect(int year) throws SQLException {
+        Optional<Path> file = localCopy(year);
+        if (file.isEmpty()) {
+            return Optional.empty();
+        }
+        Properties properties = new Properties();
+        properties.setProperty("open_mode", "1");
+        return Optional.of(DriverManager.getConnection("jdbc:sqlite:" + file.get(), properties));
+    }
+    
+    @Scheduled(fixedDelay = "${leaveflow.history.archive.interval:1d}",
+            initialDelay = "${leaveflow.history.archive.initial-delay:5m}")
+    void scheduledRun() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            archiveDue();
+        } catch (Exception e) {
+            LOG.error("History archiving failed: {}", e.getMessage(), e);
+        }
+    }
+    
+    // Merges rows left behind in already archived years, archives every year before the hot window and
+    // applies the retention policy. Returns the number of years archived; a run already in progress makes this a no-op.
+    public int archiveDue() throws SQLException, IOException {
+        if (!archiving.compareAndSet(false, true)) {
+            return 0;
+        }
+        long start = System.nanoTime();
+        try {
+            for (int year : archivedYearsWithRows()) {
+                if (retentionYears > 0 && year < Year.now().getValue() - retentionYears) {
+                    // Past retention: the year's file is gone, and so are these rows
+                    purgeArchivedRows(LocalDate.of(year, 1, 1).atStartOfDay(),
+                            LocalDate.of(year + 1, 1, 1).atStartOfDay(), Long.MAX_VALUE);
+                } else {
+                    archiveYear(year);
+                }
+            }
+            int firstHotYear = Year.now().getValue() - hotYears;
+            int archived = 0;
+            Optional<Integer> oldest;
+            while ((oldest = oldestHotYear()).isPresent() && oldest.get() < firstHotYear) {
+                archiveYear(oldest.get());
+                archived++;
+            }
+            applyRetention();
+            return archived;
+        } finally {
+            lastRunMillis = (System.nanoTime() - start) / 1_000_000;
+            archiving.set(false);
+        }
+    }
+    
+    public HistoryArchiveStats getStats() {
+        synchronized (decompressed) {
+            return new HistoryArchiveStats(hotFrom, years.size(), archivedRows, decompressed.size(), lastRunMillis);
+        }
+    }
+    
+    @PreDestroy
+    void close() throws IOException {
+        synchronized (decompressed) {
+            decompressed.clear();
+        }
+        try (Stream<Path> files = Files.walk(cacheDirectory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+    
+    private Optional<Integer> oldestHotYear() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT MIN(timestamp) FROM history WHERE timestamp >= ?")) {
+            statement.setTimestamp(1, Timestamp.valueOf(hotFrom));
+            try (ResultSet rs = statement.executeQuery()) {
+                Timestamp oldest = rs.next() ? rs.getTimestamp(1) : null;
+                return Optional.ofNullable(oldest).map(t -> t.toLocalDateTime().getYear());
+            }
+        }
+    }
+    
+    // Years before hotFrom that still have rows in the table: written after their year was archived, or
+    // copied by a run that stopped before deleting them
+    private List<Integer> archivedYearsWithRows() throws SQLException {
+        List<Integer> late = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT MIN(timestamp) FROM history WHERE timestamp >= ? AND timestamp < ?")) {
+            LocalDateTime from = NOTHING_ARCHIVED;
+            while (from.isBefore(hotFrom)) {
+                statement.setTimestamp(1, Timestamp.valueOf(from));
+                statement.setTimestamp(2, Timestamp.valueOf(hotFrom));
+                Timestamp oldest;
+                try (ResultSet rs = statement.executeQuery()) {
+                    oldest = rs.next() ? rs.getTimestamp(1) : null;
+                }
+                if (oldest == null) {
+                    break;
+                }
+                int year = oldest.toLocalDateTime().getYear();
+                late.add(year);
+                from = LocalDate.of(year + 1, 1, 1).atStartOfDay();
+            }
+        }
+        return late;
+    }
+    
+    // Moves every table row of year into the archive file for year, adding to the file when the year
+    // has been archived before
+    private void archiveYear(int year) throws SQLException, IOException {
+        LocalDateTime from = LocalDate.of(year, 1, 1).atStartOfDay();
+        LocalDateTime to = LocalDate.of(year + 1, 1, 1).atStartOfDay();
+        Files.createDirectories(directory);
+        String name = "history-" + year + ".db.gz";
+        Path database = directory.resolve("history-" + year + ".db");
+        Files.deleteIfExists(database);
+        Optional<String> existing = years.getOrDefault(year, Optional.empty());
+        if (existing.isPresent()) {
+            try (InputStream in = new GZIPInputStream(Files.newInputStream(directory.resolve(existing.get())), 1 << 16)) {
+                Files.copy(in, database);
+            }
+        }
+        
+        Copied copied = copy(database, from, to, existing.isEmpty());
+        if (copied.rows() > 0) {
+            Path partial = directory.resolve(name + ".partial");
+            try (InputStream in = Files.newInputStream(database);
+                 OutputStream out = new GZIPOutputStream(Files.newOutputStream(partial), 1 << 16)) {
+                in.transferTo(out);
+            }
+            Files.move(partial, directory.resolve(name), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        }
+        Files.deleteIfExists(database);
+        
+        String file = copied.rows() > 0 ? name : null;
+        long previousRows = writeScheduler.executeJdbc(connection -> {
+            long previous = 0;
+            try (PreparedStatement select = connection.prepareStatement(
+                    "SELECT row_count FROM history_archive WHERE year = ?")) {
+                select.setInt(1, year);
+                try (ResultSet rs = select.executeQuery()) {
+                    if (rs.next()) {
+                        previous = rs.getLong(1);
+                    }
+                }
+            }
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT OR REPLACE INTO history_archive (year, file, row_count, archived_at) VALUES (?, ?, ?, ?)")) {
+                insert.setInt(1, year);
+                insert.setString(2, file);
+                insert.setLong(3, copied.rows());
+                insert.setTimestamp(4, Timestamp.valueOf(LocalDateTime.now()));
+                insert.executeUpdate();
+            }
+            return previous;
+        });
+        years.put(year, Optional.ofNullable(file));
+        evict(year);
+        archivedRows += copied.rows() - previousRows;
+        if (to.isAfter(hotFrom)) {
+            hotFrom = to;
+        }
+        LOG.info("Archived {} history row(s) from {} into {}", copied.rows() - previousRows, year, file);
+        purgeArchivedRows(from, to, copied.maxId());
+    }
+    
+    // Copies [from, to) from the hot table into the SQLite file, indexed like the hot table; rows the
+    // file already holds are skipped. Returns the file's row count and the highest id read.
+    private Copied copy(Path database, LocalDateTime from, LocalDateTime to, boolean create) throws SQLException {
+        long maxId = 0;
+        try (Connection source = dataSource.getConnection();
+             PreparedStatement select = source.prepareStatement("SELECT " + COLUMNS
+                     + " FROM history WHERE timestamp >= ? AND timestamp < ? ORDER BY id");
+             Connection target = DriverManager.getConnection("jdbc:sqlite:" + database)) {
+            if (create) {
+                try (Statement ddl = target.createStatement()) {
+                    ddl.execute(ARCHIVE_SCHEMA);
+                }
+            }
+            target.setAutoCommit(false);
+            select.setTimestamp(1, Timestamp.valueOf(from));
+            select.setTimestamp(2, Timestamp.valueOf(to));
+            try (ResultSet rs = select.executeQuery();
+                 PreparedStatement insert = target.prepareStatement(
+                         "INSERT OR IGNORE INTO history (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+                long read = 0;
+                while (rs.next()) {
+                    for (int column = 1; column <= 10; column++) {
+                        insert.setObject(column, rs.getObject(column));
+                    }
+                    maxId = rs.getLong(1);
+                    insert.addBatch();
+                    if (++read % COPY_BATCH_SIZE == 0) {
+                        insert.executeBatch();
+                    }
+                }
+                insert.executeBatch();
+            }
+            target.commit();
+            target.setAutoCommit(true);
+            try (Statement ddl = target.createStatement()) {
+                if (create) {
+                    ddl.execute("CREATE INDEX idx_history_leave_timestamp ON history (leave_id, timestamp)");
+                    ddl.execute("CREATE INDEX idx_history_user_timestamp ON history (user_id, timestamp)");
+                    ddl.execute("CREATE INDEX idx_history_timestamp ON history (timestamp)");
+                }
+                ddl.execute("VACUUM");
+            }
+            try (Statement count = target.createStatement();
+                 ResultSet rs = count.executeQuery("SELECT COUNT(*) FROM history")) {
+                return new Copied(rs.next() ? rs.getLong(1) : 0, maxId);
+            }
+        }
+    }
+    
+    // Deletes the rows of [from, to) copied into the archive, those with ids up to maxId, a chunk per
+    // write unit so other writes interleave. Rows written since the copy stay for the next run.
+    private void purgeArchivedRows(LocalDateTime from, LocalDateTime to, long maxId) throws SQLException {
+        if (maxId == 0) {
+            return;
+        }
+        long total = 0;
+        int deleted;
+        do {
+            deleted = writeScheduler.executeJdbc(connection -> {
+                try (PreparedStatement delete = connection.prepareStatement(
+                        "DELETE FROM history WHERE id IN (SELECT id FROM history "
+                                + "WHERE timestamp >= ? AND timestamp < ? AND id <= ? LIMIT ?)")) {
+                    delete.setTimestamp(1, Timestamp.valueOf(from));
+                    delete.setTimestamp(2, Timestamp.valueOf(to));
+                    delete.setLong(3, maxId);
+                    delete.setInt(4, DELETE_CHUNK_SIZE);
+                    return delete.executeUpdate();
+                }
+            });
+            total += deleted;
+        } while (deleted == DELETE_CHUNK_SIZE);
+        if (total > 0) {
+            LOG.info("Purged {} archived row(s) from the history table", total);
+        }
+    }
+    
+    // Drops archive files older than retention-years; 0 keeps them forever
+    private void applyRetention() throws SQLException, IOException {
+        if (retentionYears <= 0) {
+            return;
+        }
+        int oldestKept = Year.now().getValue() - retentionYears;
+        for (Map.Entry<Integer, Optional<String>> entry : years.headMap(oldestKept).entrySet()) {
+            if (entry.getValue().isEmpty()) {
+                continue;
+            }
+            int year = entry.getKey();
+            writeScheduler.executeJdbc(connection -> {
+                try (PreparedStatement update = connection.prepareStatement(
+                        "UPDATE history_archive SET file = NULL WHERE year = ?")) {
+                    update.setInt(1, year);
+                    return update.executeUpdate();
+                }
+            });
+            years.put(year, Optional.empty());
+            evict(year);
+            Files.deleteIfExists(directory.resolve(entry.getValue().get()));
+            LOG.info("Dropped the {} history archive under the {}-year retention policy", year, retentionYears);
+        }
+    }
+    
+    private void query(int year, String sql, Binder binder, List<HistoryEntry> into, int limit) {
+        try {
+            Optional<Connection> archive = connect(year);
+            if (archive.isEmpty()) {
+                return;
+            }
+            try (Connection connection = archive.get();
+                 PreparedStatement statement = connection.prepareStatement(sql)) {
+                binder.bind(statement);
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next() && into.size() < limit) {
+                        into.add(entry(rs));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to read the " + year + " history archive", e);
+        }
+    }
+    
+    // Decompresses an archived year on first use; the least recently used copy beyond cache-size is deleted
+    private Optional<Path> localCopy(int year) {
+        Optional<String> file = years.getOrDefault(year, Optional.empty());
+        if (file.isEmpty()) {
+            return Optional.empty();
+        }
+        synchronized (decompressed) {
+            Path copy = decompressed.get(year);
+            if (copy != null) {
+                return Optional.of(copy);
+            }
+            copy = cacheDirectory.resolve("history-" + year + ".db");
+            try (InputStream in = new GZIPInputStream(Files.newInputStream(directory.resolve(file.get())), 1 << 16)) {
+                Files.copy(in, copy, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to open the " + year + " history archive", e);
+            }
+            decompressed.put(year, copy);
+            while (decompressed.size() > cacheSize) {
+                evict(decompressed.keySet().iterator().next());
+            }
+            return Optional.of(copy);
+        }
+    }
+    
+    // Open connections keep reading an evicted copy until they close
+    private void evict(int year) {
+        synchronized (decompressed) {
+            Path copy = decompressed.remove(year);
+            if (copy != null) {
+                try {
+                    Files.deleteIfExists(copy);
+                } catch (IOException e) {
+                    LOG.warn("Could not delete {}: {}", copy, e.getMessage());
+                }
+            }
+        }
+    }
+    
+    static HistoryEntry entry(ResultSet rs) throws SQLException {
+        long performedBy = rs.getLong(6);
+        Long performer = rs.wasNull() ? null : performedBy;
+        int oldStatus = rs.getInt(7);
+        LeaveStatus oldValue = rs.wasNull() ? null : LeaveStatus.fromCode(oldStatus);
+        int newStatus = rs.getInt(8);
+        LeaveStatus newValue = rs.wasNull() ? null : LeaveStatus.fromCode(newStatus);
+        return new HistoryEntry(rs.getLong(1), rs.getLong(2), rs.getLong(3), HistoryAction.fromCode(rs.getInt(4)),
+                rs.getString(5), performer, oldValue, newValue, rs.getTimestamp(10).toLocalDateTime());
+    }
+    
+    private record Copied(long rows, long maxId) {}
+    
+    private interface Binder {
+        void bind(PreparedStatement statement) throws SQLException;
+    }
+}
\ No newline at end of file
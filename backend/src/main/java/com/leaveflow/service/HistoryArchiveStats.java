@@ -0,0 +1,14 @@
+package com.leaveflow.service;
+
+import io.micronaut.serde.annotation.Serdeable;
+
+import java.time.LocalDateTime;
+
+@Serdeable
+public record HistoryArchiveStats(
+        LocalDateTime hotFrom,
+        int archivedYears,
+        long archivedRows,
+        int decompressedFiles,
+        long lastRunMillis) {
+}
\ No newline at end of file
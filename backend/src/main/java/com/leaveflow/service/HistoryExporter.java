@@ -0,0 +1,325 @@
+package com.leaveflow.service;
+
+import com.leaveflow.entity.HistoryAction;
+import com.leaveflow.entity.LeaveStatus;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.data.connection.jdbc.advice.DelegatingDataSource;
+import io.micronaut.scheduling.TaskExecutors;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+// Streams history rows in a date range as CSV or NDJSON without loading them. Rows are read through a
+// forward-only cursor on one read connection and encoded into chunks of about chunkBytes, each sent
+// as soon as the client asks for it. The range is walked one window at a time, one statement per
+// window, so no SQLite read transaction spans the whole export and WAL checkpoints can keep up.
+// Windows before the hot partition come from HistoryArchive's year files.
+@Singleton
+public class HistoryExporter {
+    
+    private static final String CSV_HEADER = HistoryArchive.COLUMNS.replace(" ", "") + "\r\n";
+    
+    public enum Format { CSV, NDJSON }
+    
+    private final DataSource dataSource;
+    private final HistoryArchive historyArchive;
+    private final Scheduler blockingScheduler;
+    private final Duration window;
+    private final int fetchSize;
+    private final int chunkBytes;
+    // Each running export holds a read connection for its whole duration
+    private final Semaphore running;
+    
+    public HistoryExporter(@Named("read") DataSource dataSource, HistoryArchive historyArchive,
+                           @Named(TaskExecutors.BLOCKING) ExecutorService blockingExecutor,
+                           @Value("${leaveflow.history.export.window:7d}") Duration window,
+                           @Value("${leaveflow.history.export.fetch-size:500}") int fetchSize,
+                           @Value("${leaveflow.history.export.chunk-bytes:65536}") int chunkBytes,
+                           @Value("${leaveflow.history.export.max-concurrent:2}") int maxConcurrent) {
+        this.dataSource = DelegatingDataSource.unwrapDataSource(dataSource);
+        this.historyArchive = historyArchive;
+        this.blockingScheduler = Schedulers.fromExecutorService(blockingExecutor);
+        this.window = window.isNegative() || window.isZero() ? Duration.ofDays(7) : window;
+        this.fetchSize = Math.max(1, fetchSize);
+        this.chunkBytes = Math.max(1024, chunkBytes);
+        this.running = new Semaphore(Math.max(1, maxConcurrent));
+    }
+    
+    public static Format format(String value) {
+        try {
+            return Format.valueOf(value.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid export format: " + value);
+        }
+    }
+    
+    // Rows with from <= timestamp < to + 1 day, oldest first, optionally for one user. Throws
+    // RejectedExecutionException when max-concurrent exports are already running. The slot is taken when
+    // the body is subscribed and given back when it ends, fails or is cancelled, so a response that is
+    // never subscribed (the client left first) holds none; one that loses the race for the last slot
+    // between this check and its subscription fails with the same exception.
+    public Publisher<byte[]> export(Format format, LocalDate from, LocalDate to, @Nullable Long userId) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("Export range ends before it starts");
+        }
+        if (running.availablePermits() == 0) {
+            throw new RejectedExecutionException("Too many history exports running");
+        }
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+        return Flux.using(
+                        () -> {
+                            if (!running.tryAcquire()) {
+                                throw new RejectedExecutionException("Too many history exports running");
+                            }
+                            return running;
+                        },
+                        permit -> Flux.<byte[], Cursor>generate(
+                                () -> new Cursor(format, from.atStartOfDay(), end, userId),
+                                (cursor, sink) -> {
+                                    try {
+                                        byte[] chunk = cursor.nextChunk();
+                                        if (chunk == null) {
+                                            sink.complete();
+                                        } else {
+                                            sink.next(chunk);
+                                        }
+                                    } catch (SQLException e) {
+                                        sink.error(new IllegalStateException("History export failed", e));
+                                    }
+                                    return cursor;
+                                },
+                                Cursor::close),
+                        Semaphore::release)
+                .subscribeOn(blockingScheduler);
+    }
+    
+    // One export's position: the current window's open result set, and the start of the next window
+    private final class Cursor {
+        
+        private final Format format;
+        private final LocalDateTime end;
+        private final Long userId;
+        private final StringBuilder buffer = new StringBuilder();
+        private LocalDateTime nextWindow;
+        private Connection connection;
+        private PreparedStatement statement;
+        private ResultSet rows;
+        private int archiveYear = -1;
+        private Connection archiveConnection;
+        private PreparedStatement archiveStatement;
+        private boolean headerWritten;
+        
+        Cursor(Format format, LocalDateTime start, LocalDateTime end, Long userId) {
+            this.format = format;
+            this.nextWindow = start;
+            this.end = end;
+            this.userId = userId;
+        }
+        
+        // The next encoded chunk, or null once the range is exhausted
+        byte[] nextChunk() throws SQLException {
+            if (format == Format.CSV && !headerWritten) {
+                buffer.append(CSV_HEADER);
+                headerWritten = true;
+            }
+            while (buffer.length() < chunkBytes) {
+                if (rows == null && !openNextWindow()) {
+                    break;
+                }
+                if (rows.next()) {
+                    append(rows);
+                } else {
+                    rows.close();
+                    rows = null;
+                }
+            }
+            if (buffer.isEmpty()) {
+                return null;
+            }
+            byte[] chunk = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            buffer.setLength(0);
+            return chunk;
+        }
+        
+        // Windows before the hot partition are read from that year's archive file and end with its year
+        private boolean openNextWindow() throws SQLException {
+            while (nextWindow.isBefore(end)) {
+                LocalDateTime windowEnd = nextWindow.plus(window);
+                if (windowEnd.isAfter(end)) {
+                    windowEnd = end;
+                }
+                LocalDateTime hotFrom = historyArchive.hotFrom();
+                PreparedStatement source;
+                if (nextWindow.isBefore(hotFrom)) {
+                    LocalDateTime nextYear = LocalDate.of(nextWindow.getYear() + 1, 1, 1).atStartOfDay();
+                    windowEnd = Collections.min(List.of(windowEnd, nextYear, hotFrom));
+                    source = archiveStatement(nextWindow.getYear());
+                } else {
+                    source = hotStatement();
+                }
+                LocalDateTime windowStart = nextWindow;
+                nextWindow = windowEnd;
+                if (source == null) {
+                    // Nothing archived for that year
+                    continue;
+                }
+                source.setTimestamp(1, Timestamp.valueOf(windowStart));
+                source.setTimestamp(2, Timestamp.valueOf(windowEnd));
+                if (userId != null) {
+                    source.setLong(3, userId);
+                }
+                rows = source.executeQuery();
+                return true;
+            }
+            return false;
+        }
+        
+        private PreparedStatement hotStatement() throws SQLException {
+            if (statement == null) {
+                connection = dataSource.getConnection();
+                statement = prepare(connection);
+            }
+            return statement;
+        }
+        
+        private PreparedStatement archiveStatement(int year) throws SQLException {
+            if (archiveYear != year) {
+                closeArchive();
+                archiveYear = year;
+                Optional<Connection> archive = historyArchive.connect(year);
+                if (archive.isPresent()) {
+                    archiveConnection = archive.get();
+                    archiveStatement = prepare(archiveConnection);
+                }
+            }
+            return archiveStatement;
+        }
+        
+        private PreparedStatement prepare(Connection source) throws SQLException {
+            PreparedStatement prepared = source.prepareStatement("SELECT " + HistoryArchive.COLUMNS + " FROM history "
+                            + "WHERE timestamp >= ? AND timestamp < ?" + (userId != null ? " AND user_id = ?" : "")
+                            + " ORDER BY timestamp, id",
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            prepared.setFetchSize(fetchSize);
+            return prepared;
+        }
+        
+        private void closeArchive() {
+            try (Connection c = archiveConnection; PreparedStatement s = archiveStatement) {
+                // Closed in reverse order by try-with-resources
+            } catch (SQLException ignored) {
+                // Nothing left to release
+            }
+            archiveConnection = null;
+            archiveStatement = null;
+        }
+        
+        private void append(ResultSet rs) throws SQLException {
+            long id = rs.getLong(1);
+            long leaveId = rs.getLong(2);
+            long userId = rs.getLong(3);
+            String action = HistoryAction.fromCode(rs.getInt(4)).name();
+            String description = rs.getString(5);
+            String performedBy = nullableLong(rs, 6);
+            String oldStatus = nullableStatus(rs, 7);
+            String newStatus = nullableStatus(rs, 8);
+            String additionalData = rs.getString(9);
+            String timestamp = rs.getTimestamp(10).toLocalDateTime().toString();
+            if (format == Format.CSV) {
+                buffer.append(id).append(',').append(leaveId).append(',').append(userId).append(',').append(action).append(',');
+                csv(description).append(',');
+                buffer.append(performedBy != null ? performedBy : "").append(',')
+                        .append(oldStatus != null ? oldStatus : "").append(',')
+                        .append(newStatus != null ? newStatus : "").append(',');
+                csv(additionalData).append(',').append(timestamp).append("\r\n");
+            } else {
+                buffer.append("{\"id\":").append(id)
+                        .append(",\"leaveId\":").append(leaveId)
+                        .append(",\"userId\":").append(userId)
+                        .append(",\"action\":\"").append(action).append('"')
+                        .append(",\"description\":");
+                json(description).append(",\"performedBy\":").append(performedBy)
+                        .append(",\"oldStatus\":");
+                json(oldStatus).append(",\"newStatus\":");
+                json(newStatus).append(",\"additionalData\":");
+                json(additionalData).append(",\"timestamp\":\"").append(timestamp).append("\"}\n");
+            }
+        }
+        
+        // RFC 4180: quote when the field holds a separator, quote or line break; double inner quotes
+        private StringBuilder csv(String value) {
+            if (value == null) {
+                return buffer;
+            }
+            if (value.chars().noneMatch(c -> c == ',' || c == '"' || c == '\n' || c == '\r')) {
+                return buffer.append(value);
+            }
+            return buffer.append('"').append(value.replace("\"", "\"\"")).append('"');
+        }
+        
+        private StringBuilder json(String value) {
+            if (value == null) {
+                return buffer.append("null");
+            }
+            buffer.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '"' -> buffer.append("\\\"");
+                    case '\\' -> buffer.append("\\\\");
+                    case '\n' -> buffer.append("\\n");
+                    case '\r' -> buffer.append("\\r");
+                    case '\t' -> buffer.append("\\t");
+                    default -> {
+                        if (c < 0x20) {
+                            buffer.append(String.format("\\u%04x", (int) c));
+                        } else {
+                            buffer.append(c);
+                        }
+                    }
+                }
+            }
+            return buffer.append('"');
+        }
+        
+        void close() {
+            closeArchive();
+            try (Connection c = connection; PreparedStatement s = statement; ResultSet r = rows) {
+                // Closed in reverse order by try-with-resources
+            } catch (SQLException ignored) {
+                // Nothing left to release
+            }
+        }
+    }
+    
+    private static String nullableLong(ResultSet rs, int column) throws SQLException {
+        long value = rs.getLong(column);
+        return rs.wasNull() ? null : Long.toString(value);
+    }
+    
+    private static String nullableStatus(ResultSet rs, int column) throws SQLException {
+        int code = rs.getInt(column);
+        return rs.wasNull() ? null : LeaveStatus.fromCode(code).name();
+    }
+}
\ No newline at end of file
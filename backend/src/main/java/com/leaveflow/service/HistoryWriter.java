@@ -0,0 +1,264 @@
+package com.leaveflow.service;
+
+import com.leaveflow.entity.CodedEnum;
+import com.leaveflow.entity.History;
+import io.micronaut.context.annotation.Value;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// Takes History rows off the request path. Callers enqueue into a bounded lock-free queue and a
+// single writer thread flushes them as multi-row INSERTs, one transaction per batch, through the
+// WriteScheduler. When the queue is full, callers wait for room rather than dropping audit rows.
+@Singleton
+public class HistoryWriter {
+    
+    private static final Logger LOG = LoggerFactory.getLogger(HistoryWriter.class);
+    
+    private static final String INSERT_PREFIX = "INSERT INTO history (user_id, leave_id, action, description, "
+            + "performed_by, old_status, new_status, additional_data, timestamp) VALUES ";
+    private static final String ROW_PLACEHOLDERS = "(?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int COLUMNS = 9;
+    // SQLite allows at most 32766 bound parameters per statement
+    private static final int MAX_BATCH_SIZE = 32766 / COLUMNS;
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long MAX_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    
+    private final WriteScheduler writeScheduler;
+    private final int batchSize;
+    private final int capacity;
+    private final long lingerNanos;
+    private final Duration drainTimeout;
+    private final String fullBatchSql;
+    
+    private final ConcurrentLinkedQueue<History> queue = new ConcurrentLinkedQueue<>();
+    // Reserved slots; a producer claims one by CAS before offering, which is what bounds the queue
+    private final AtomicInteger size = new AtomicInteger();
+    private final Thread writer;
+    private volatile boolean running = true;
+    
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder flushNanos = new LongAdder();
+    private final LongAdder backpressureWaits = new LongAdder();
+    private final LongAdder backpressureNanos = new LongAdder();
+    private final AtomicLong maxFlushNanos = new AtomicLong();
+    private final AtomicInteger maxFlushSize = new AtomicInteger();
+    
+    public HistoryWriter(WriteScheduler writeScheduler,
+                         @Value("${leaveflow.history.writer.batch-size:200}") int batchSize,
+                         @Value("${leaveflow.history.writer.linger:20ms}") Duration linger,
+                         @Value("${leaveflow.history.writer.queue-capacity:10000}") int queueCapacity,
+                         @Value("${leaveflow.history.writer.drain-timeout:10s}") Duration drainTimeout) {
+        this.writeScheduler = writeScheduler;
+        this.batchSize = Math.max(1, Math.min(batchSize, MAX_BATCH_SIZE));
+        this.capacity = Math.max(queueCapacity, this.batchSize);
+        this.lingerNanos = linger.toNanos();
+        this.drainTimeout = drainTimeout;
+        this.fullBatchSql = insertSql(this.batchSize);
+        this.writer = new Thread(this::run, "history-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+    
+    // Queues the row for the next flush, blocking while the queue is full
+    public void record(History history) {
+        if (history.getTimestamp() == null) {
+            history.setTimestamp(LocalDateTime.now());
+        }
+        long waitStart = 0;
+        long backoff = 1_000;
+        while (true) {
+            if (!running) {
+                throw new IllegalStateException("History writer is shut down");
+            }
+            int current = size.get();
+            if (current < capacity && size.compareAndSet(current, current + 1)) {
+                queue.offer(history);
+                enqueued.increment();
+                if (waitStart != 0) {
+                    backpressureNanos.add(System.nanoTime() - waitStart);
+                }
+                // Wake the writer when it may be idle or a full batch is ready
+                if (current == 0 || current + 1 == batchSize) {
+                    LockSupport.unpark(writer);
+                }
+                return;
+            }
+            if (current >= capacity) {
+                if (waitStart == 0) {
+                    waitStart = System.nanoTime();
+                    backpressureWaits.increment();
+                }
+                LockSupport.unpark(writer);
+                LockSupport.parkNanos(this, backoff);
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_NANOS);
+            }
+        }
+    }
+    
+    public HistoryWriterStats getStats() {
+        long flushCount = flushes.sum();
+        long waits = backpressureWaits.sum();
+        return new HistoryWriterStats(
+                size.get(),
+                capacity,
+                batchSize,
+                TimeUnit.NANOSECONDS.toMillis(lingerNanos),
+                enqueued.sum(),
+                written.sum(),
+                failed.sum(),
+                flushCount,
+                flushCount > 0 ? (double) (written.sum() + failed.sum()) / flushCount : 0.0,
+                maxFlushSize.get(),
+                flushCount > 0 ? flushNanos.sum() / 1e6 / flushCount : 0.0,
+                maxFlushNanos.get() / 1e6,
+                waits,
+                waits > 0 ? backpressureNanos.sum() / 1e6 / waits : 0.0);
+    }
+    
+    // Stops accepting rows and waits for everything already queued to reach the database
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(drainTimeout.toMillis());
+        if (writer.isAlive()) {
+            LOG.warn("History writer did not drain within {}; {} row(s) not written", drainTimeout, size.get());
+        }
+    }
+    
+    private void run() {
+        List<History> batch = new ArrayList<>(batchSize);
+        while (running || size.get() > 0) {
+            try {
+                if (size.get() == 0) {
+                    LockSupport.parkNanos(this, TimeUnit.SECONDS.toNanos(1));
+                    continue;
+                }
+                // Give a partial batch up to one linger period to fill before flushing it
+                long deadline = System.nanoTime() + lingerNanos;
+                while (running && size.get() < batchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    LockSupport.parkNanos(this, remaining);
+                }
+                History history;
+                while (batch.size() < batchSize && (history = queue.poll()) != null) {
+                    batch.add(history);
+                }
+                if (!batch.isEmpty()) {
+                    flush(batch);
+                    size.addAndGet(-batch.size());
+                    batch.clear();
+                }
+            } catch (RuntimeException e) {
+                LOG.error("History writer loop failed", e);
+            }
+        }
+    }
+    
+    private void flush(List<History> batch) {
+        long start = System.nanoTime();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                insert(batch);
+                written.add(batch.size());
+                break;
+            } catch (SQLException | RuntimeException e) {
+                if (attempt == MAX_ATTEMPTS) {
+                    failed.add(batch.size());
+                    LOG.error("Dropping {} history row(s) for leaves {} after {} attempts", batch.size(),
+                            batch.stream().map(History::getLeaveId).distinct().toList(), attempt, e);
+                    break;
+                }
+                LOG.warn("History flush failed (attempt {}), retrying: {}", attempt, e.getMessage());
+                LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(50L * attempt));
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        flushes.increment();
+        flushNanos.add(elapsed);
+        maxFlushNanos.accumulateAndGet(elapsed, Math::max);
+        maxFlushSize.accumulateAndGet(batch.size(), Math::max);
+    }
+    
+    private void insert(List<History> batch) throws SQLException {
+        String sql = batch.size() == batchSize ? fullBatchSql : insertSql(batch.size());
+        writeScheduler.executeJdbc(connection -> {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                int index = 1;
+                for (History history : batch) {
+                    statement.setLong(index++, history.getUserId());
+                    statement.setLong(index++, history.getLeaveId());
+                    statement.setInt(index++, history.getAction().code());
+                    statement.setString(index++, history.getDescription());
+                    setNullableLong(statement, index++, history.getPerformedBy());
+                    setNullableCode(statement, index++, history.getOldStatus());
+                    setNullableCode(statement, index++, history.getNewStatus());
+                    statement.setString(index++, history.getAdditionalData());
+                    // Bound the same way Hibernate binds LocalDateTime, so JPA reads these rows back unchanged
+                    statement.setTimestamp(index++, Timestamp.valueOf(history.getTimestamp()));
+                }
+                statement.executeUpdate();
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+            return null;
+        });
+    }
+    
+    private static void setNullableCode(PreparedStatement statement, int index, CodedEnum value) throws SQLException {
+        if (value == null) {
+            statement.setNull(index, Types.INTEGER);
+        } else {
+            statement.setInt(index, value.code());
+        }
+    }
+    
+    private static void setNullableLong(PreparedStatement statement, int index, Long value) throws SQLException {
+        if (value == null) {
+            statement.setNull(index, Types.BIGINT);
+        } else {
+            statement.setLong(index, value);
+        }
+    }
+    
+    private static String insertSql(int rows) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + rows * (ROW_PLACEHOLDERS.length() + 2));
+        sql.append(INSERT_PREFIX);
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(ROW_PLACEHOLDERS);
+        }
+        return sql.toString();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.leaveflow.service;
+
+import io.micronaut.serde.annotation.Serdeable;
+
+@Serdeable
+public record HistoryWriterStats(
+        int queueDepth,
+        int queueCapacity,
+        int batchSize,
+        long lingerMillis,
+        long enqueued,
+        long written,
+        long failed,
+        long flushes,
+        double meanFlushSize,
+        int maxFlushSize,
+        double meanFlushMillis,
+        double maxFlushMillis,
+        long backpressureWaits,
+        double meanBackpressureWaitMillis) {
+}
\ No newline at end of file
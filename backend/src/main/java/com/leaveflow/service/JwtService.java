@@ -1,83 +1,156 @@
 package com.leaveflow.service;
 
+import com.leaveflow.entity.Role;
 import com.leaveflow.entity.User;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 
+import io.micronaut.context.annotation.Value;
+import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
 
 @Singleton
 public class JwtService {
     
-    private final String SECRET_KEY = "YourSecretKeyForJWTShouldBeAtLeast32CharactersLong123456789";
-    private final long JWT_EXPIRATION = 86400000; // 24 hours
+    private static final String SECRET_KEY = "YourSecretKeyForJWTShouldBeAtLeast32CharactersLong123456789";
+    
+    // Built once: the key and parser are immutable and thread-safe
+    private final Key key = Keys.hmacShaKeyFor(SECRET_KEY.getBytes(StandardCharsets.UTF_8));
+    private final JwtParser parser = Jwts.parserBuilder().setSigningKey(key).build();
+    private final VerifiedTokenCache cache;
+    private final TokenRevocationList revocations;
+    private final SecureRandom random = new SecureRandom();
+    private final Duration accessTokenLifetime;
+    private final Clock clock;
+    
+    private final LongAdder issued = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder parsed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    
+    @Inject
+    public JwtService(TokenRevocationList revocations,
+                      @Value("${leaveflow.jwt.access-token-lifetime:15m}") Duration accessTokenLifetime,
+                      @Value("${leaveflow.jwt.cache.max-size:10000}") int cacheMaxSize,
+                      @Value("${leaveflow.jwt.cache.ttl:5m}") Duration cacheTtl) {
+        this(revocations, accessTokenLifetime, cacheMaxSize, cacheTtl, Clock.systemUTC());
+    }
+    
+    JwtService(TokenRevocationList revocations, Duration accessTokenLifetime, int cacheMaxSize, Duration cacheTtl,
+               Clock clock) {
+        this.revocations = revocations;
+        this.accessTokenLifetime = accessTokenLifetime;
+        this.clock = clock;
+        this.cache = new VerifiedTokenCache(cacheMaxSize, cacheTtl, clock);
+    }
     
     public String generateToken(User user) {
-        Map<String, Object> claims = new HashMap<>();
-        claims.put("userId", user.getId());
-        claims.put("email", user.getEmail());
-        claims.put("role", user.getRole());
-        claims.put("firstName", user.getFirstName());
-        claims.put("lastName", user.getLastName());
-        
-        return createToken(claims, user.getEmail());
+        return generateToken(user.getId(), user.getRole());
     }
     
-    private String createToken(Map<String, Object> claims, String subject) {
-        Key key = Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
-        
+    // A short-lived access token carrying only what authorization needs: the user id as subject, the role,
+    // a token id for revocation, and issue and expiry times. Names and email come from /api/auth responses,
+    // not from the header sent on every request. Clients renew it with a refresh token.
+    public String generateToken(Long userId, Role role) {
+        long now = clock.millis();
+        issued.increment();
         return Jwts.builder()
-                .setClaims(claims)
-                .setSubject(subject)
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + JWT_EXPIRATION))
+                .setSubject(userId.toString())
+                .claim("role", role.name())
+                .setId(Long.toHexString(nextTokenId()))
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + accessTokenLifetime.toMillis()))
                 .signWith(key, SignatureAlgorithm.HS256)
                 .compact();
     }
     
-    public String extractEmail(String token) {
-        Object claim = extractClaim(token, "sub");
-        return claim != null ? claim.toString() : null;
+    public Duration getAccessTokenLifetime() {
+        return accessTokenLifetime;
+    }
+    
+    // Verifies the signature at most once per token per cache window and returns the typed claims.
+    // Throws JwtException when the token is malformed, tampered with, expired or revoked. Revocation is
+    // checked on every call, cached or not, against the in-memory TokenRevocationList.
+    public TokenClaims verify(String token) {
+        TokenClaims claims = cache.get(token);
+        if (claims != null) {
+            cacheHits.increment();
+        } else {
+            try {
+                claims = TokenClaims.from(parser.parseClaimsJws(token).getBody());
+            } catch (JwtException | IllegalArgumentException e) {
+                rejected.increment();
+                throw e;
+            }
+            parsed.increment();
+            cache.put(token, claims);
+        }
+        if (revocations.isRevoked(claims)) {
+            throw new JwtException("Token has been revoked");
+        }
+        return claims;
+    }
+    
+    public Optional<TokenClaims> tryVerify(String token) {
+        try {
+            return Optional.of(verify(token));
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
     }
     
     public Long extractUserId(String token) {
-        return Long.valueOf(extractClaim(token, "userId").toString());
+        return verify(token).userId();
     }
     
     public String extractRole(String token) {
-        Object claim = extractClaim(token, "role");
-        return claim != null ? claim.toString() : null;
+        return verify(token).role();
     }
     
-    private Object extractClaim(String token, String claimName) {
-        Key key = Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .get(claimName);
+    public boolean isTokenExpired(String token) {
+        return verify(token).isExpired(Instant.now(clock));
     }
     
-    public boolean isTokenExpired(String token) {
-        Key key = Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
-        Date expiration = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getExpiration();
-        return expiration.before(new Date());
+    public boolean validateToken(String token, Long userId) {
+        TokenClaims claims = verify(token);
+        return userId.equals(claims.userId()) && !claims.isExpired(Instant.now(clock));
+    }
+    
+    // Random and never 0, which TokenRevocationList cannot store
+    private long nextTokenId() {
+        long id;
+        do {
+            id = random.nextLong();
+        } while (id == 0);
+        return id;
+    }
+    
+    public int getCachedTokenCount() {
+        return cache.size();
     }
     
-    public boolean validateToken(String token, String email) {
-        final String tokenEmail = extractEmail(token);
-        return (tokenEmail.equals(email) && !isTokenExpired(token));
+    public JwtStats getStats() {
+        long hits = cacheHits.sum();
+        long verifications = hits + parsed.sum() + rejected.sum();
+        return new JwtStats(
+                cache.size(),
+                issued.sum(),
+                hits,
+                parsed.sum(),
+                rejected.sum(),
+                verifications > 0 ? (double) hits / verifications : 0.0);
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.leaveflow.service;
+
+import io.micronaut.serde.annotation.Serdeable;
+
+@Serdeable
+public record JwtStats(
+        int cachedTokens,
+        long issued,
+        long cacheHits,
+        long parsed,
+        long rejected,
+        double cacheHitRate) {
+}
\ No newline at end of file
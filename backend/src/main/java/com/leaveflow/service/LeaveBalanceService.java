@@ -0,0 +1,288 @@
+package com.leaveflow.service;
+
+import com.leaveflow.dto.LeaveBalanceResponse;
+import com.leaveflow.dto.LedgerTotal;
+import com.leaveflow.entity.LeaveLedgerEntry;
+import com.leaveflow.entity.LeaveType;
+import com.leaveflow.entity.User;
+import com.leaveflow.repository.LeaveLedgerRepository;
+import com.leaveflow.repository.UserRepository;
+import io.micronaut.context.event.ApplicationEventListener;
+import io.micronaut.context.event.StartupEvent;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Leave balances backed by the append-only leave_ledger table. Per-user totals are kept in memory,
+// hydrated once at startup and changed only on the WriteScheduler thread under that user's stripe
+// lock, so balance reads never touch the database and approvals cannot overdraw or lose an update.
+@Singleton
+public class LeaveBalanceService implements ApplicationEventListener<StartupEvent> {
+    
+    private static final Logger LOG = LoggerFactory.getLogger(LeaveBalanceService.class);
+    
+    // Index order matches the balance columns and LeaveBalanceResponse
+    private static final LeaveType[] TRACKED_TYPES = {LeaveType.ANNUAL, LeaveType.SICK, LeaveType.CASUAL};
+    private static final int STRIPES = 64;
+    
+    private final LeaveLedgerRepository ledgerRepository;
+    private final UserRepository userRepository;
+    private final WriteScheduler writeScheduler;
+    private final UserCacheInvalidator userCacheInvalidator;
+    private final Map<Long, Account> accounts = new ConcurrentHashMap<>();
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+    
+    public LeaveBalanceService(LeaveLedgerRepository ledgerRepository, UserRepository userRepository,
+                               WriteScheduler writeScheduler, UserCacheInvalidator userCacheInvalidator) {
+        this.ledgerRepository = ledgerRepository;
+        this.userRepository = userRepository;
+        this.writeScheduler = writeScheduler;
+        this.userCacheInvalidator = userCacheInvalidator;
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+    
+    @Override
+    public void onApplicationEvent(StartupEvent event) {
+        hydrate();
+    }
+    
+    public void hydrate() {
+        accounts.clear();
+        List<LedgerTotal> totals = ledgerRepository.sumByUserAndTypeAndEntryType();
+        for (LedgerTotal total : totals) {
+            // The ledger keeps leave types by name
+            int type = typeIndex(ledgerType(total.leaveType()));
+            if (type < 0) {
+                continue;
+            }
+            Account account = accounts.computeIfAbsent(total.userId(), id -> new Account());
+            int days = total.days() != null ? total.days().intValue() : 0;
+            if ("GRANT".equals(total.entryType())) {
+                account.granted[type] += days;
+            } else {
+                // DEBIT rows are negative and CREDIT rows positive, so used days is the negated sum
+                account.used[type] -= days;
+            }
+        }
+        
+        // Users created before the ledger existed start from their stored balance columns
+        int opened = 0;
+        for (User user : userRepository.findAll()) {
+            if (!accounts.containsKey(user.getId())) {
+                openAccount(user);
+                opened++;
+            }
+        }
+        LOG.info("Leave balance ledger hydrated: {} accounts ({} opened from user balances)", accounts.size(), opened);
+    }
+    
+    // Records the opening allowance for a newly created user
+    public void openAccount(User user) {
+        int[] allowance = {
+                valueOrZero(user.getAnnualLeaveBalance()),
+                valueOrZero(user.getSickLeaveBalance()),
+                valueOrZero(user.getCasualLeaveBalance())
+        };
+        // Locks are only taken once on the writer thread, so a caller waiting here never blocks the writer
+        writeScheduler.execute(() -> {
+            ReentrantLock lock = lockFor(user.getId());
+            lock.lock();
+            try {
+                if (accounts.containsKey(user.getId())) {
+                    return;
+                }
+                for (int type = 0; type < TRACKED_TYPES.length; type++) {
+                    ledgerRepository.save(new LeaveLedgerEntry(user.getId(), TRACKED_TYPES[type].name(), "GRANT", allowance[type], null));
+                }
+                Account account = new Account();
+                System.arraycopy(allowance, 0, account.granted, 0, allowance.length);
+                accounts.put(user.getId(), account);
+            } finally {
+                lock.unlock();
+            }
+        });
+    }
+    
+    public Optional<LeaveBalanceResponse> getBalance(Long userId) {
+        Account account = accounts.get(userId);
+        if (account == null) {
+            return Optional.empty();
+        }
+        ReentrantLock lock = lockFor(userId);
+        lock.lock();
+        try {
+            return Optional.of(new LeaveBalanceResponse(
+                    account.remaining(0), account.remaining(1), account.remaining(2),
+                    account.used[0], account.used[1], account.used[2]));
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    public int getRemaining(Long userId, LeaveType leaveType) {
+        int type = requireType(leaveType);
+        Account account = accounts.get(userId);
+        if (account == null) {
+            return 0;
+        }
+        ReentrantLock lock = lockFor(userId);
+        lock.lock();
+        try {
+            return account.remaining(type);
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    public boolean isTracked(LeaveType leaveType) {
+        return typeIndex(leaveType) >= 0;
+    }
+    
+    // Consumes balance for an approved leave; fails without side effects if the balance is too low
+    public void debit(Long userId, LeaveType leaveType, Long leaveId, int days) {
+        adjust(userId, leaveType, leaveId, "DEBIT", -days);
+    }
+    
+    // Debits a batch of approved leaves in one write unit. Debits that would overdraw are refused and
+    // their leave ids returned; the rest are written as ledger rows plus one balance-column update per
+    // user and leave type, and reach the in-memory totals when the unit commits.
+    public Set<Long> debitAll(List<Debit> debits) {
+        return writeScheduler.execute(() -> {
+            Map<Long, int[]> accepted = new HashMap<>();
+            Set<Long> refused = new HashSet<>();
+            List<LeaveLedgerEntry> entries = new ArrayList<>(debits.size());
+            for (Debit debit : debits) {
+                int type = requireType(debit.leaveType());
+                Account account = accounts.get(debit.userId());
+                int[] batch = accepted.computeIfAbsent(debit.userId(), id -> new int[TRACKED_TYPES.length]);
+                // Only the writer thread changes accounts, so no lock is needed to read them here
+                if (account == null || account.remaining(type) - batch[type] < debit.days()) {
+                    refused.add(debit.leaveId());
+                    continue;
+                }
+                batch[type] += debit.days();
+                entries.add(new LeaveLedgerEntry(debit.userId(), TRACKED_TYPES[type].name(), "DEBIT", -debit.days(), debit.leaveId()));
+            }
+            ledgerRepository.saveAll(entries);
+            accepted.forEach((userId, days) -> {
+                for (int type = 0; type < days.length; type++) {
+                    if (days[type] != 0) {
+                        adjustUserColumn(userId, type, -days[type]);
+                    }
+                }
+            });
+            writeScheduler.afterCommit(() -> accepted.forEach((userId, days) -> {
+                ReentrantLock lock = lockFor(userId);
+                lock.lock();
+                try {
+                    Account account = accounts.get(userId);
+                    for (int type = 0; type < days.length; type++) {
+                        account.used[type] += days[type];
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }));
+            return refused;
+        });
+    }
+    
+    // Returns balance when an approved leave is cancelled
+    public void credit(Long userId, LeaveType leaveType, Long leaveId, int days) {
+        adjust(userId, leaveType, leaveId, "CREDIT", days);
+    }
+    
+    private void adjust(Long userId, LeaveType leaveType, Long leaveId, String entryType, int delta) {
+        int type = requireType(leaveType);
+        writeScheduler.execute(() -> {
+            // Only the writer thread changes accounts, so no lock is needed to read them here
+            Account account = accounts.get(userId);
+            if (account == null) {
+                throw new RuntimeException("User not found");
+            }
+            if (delta < 0 && account.remaining(type) + delta < 0) {
+                throw new IllegalStateException("Insufficient " + TRACKED_TYPES[type].name().toLowerCase() + " leave balance");
+            }
+            ledgerRepository.save(new LeaveLedgerEntry(userId, TRACKED_TYPES[type].name(), entryType, delta, leaveId));
+            adjustUserColumn(userId, type, delta);
+            // The in-memory total only moves once the ledger row has been committed
+            writeScheduler.afterCommit(() -> {
+                ReentrantLock lock = lockFor(userId);
+                lock.lock();
+                try {
+                    account.used[type] -= delta;
+                } finally {
+                    lock.unlock();
+                }
+            });
+        });
+    }
+    
+    // Keeps the denormalised balance columns on users in step for UserResponse
+    private void adjustUserColumn(Long userId, int type, int delta) {
+        LocalDateTime now = LocalDateTime.now();
+        switch (type) {
+            case 0 -> userRepository.adjustAnnualLeaveBalance(userId, delta, now);
+            case 1 -> userRepository.adjustSickLeaveBalance(userId, delta, now);
+            default -> userRepository.adjustCasualLeaveBalance(userId, delta, now);
+        }
+        userCacheInvalidator.invalidate(userId);
+    }
+    
+    private ReentrantLock lockFor(Long userId) {
+        return locks[Long.hashCode(userId) & (STRIPES - 1)];
+    }
+    
+    private static int requireType(LeaveType leaveType) {
+        int type = typeIndex(leaveType);
+        if (type < 0) {
+            throw new RuntimeException("Invalid leave type");
+        }
+        return type;
+    }
+    
+    private static int typeIndex(LeaveType leaveType) {
+        for (int i = 0; i < TRACKED_TYPES.length; i++) {
+            if (TRACKED_TYPES[i] == leaveType) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    private static LeaveType ledgerType(String name) {
+        try {
+            return LeaveType.parse(name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+    
+    private static int valueOrZero(Integer value) {
+        return value != null ? value : 0;
+    }
+    
+    public record Debit(Long userId, LeaveType leaveType, Long leaveId, int days) {}
+    
+    private static final class Account {
+        final int[] granted = new int[TRACKED_TYPES.length];
+        final int[] used = new int[TRACKED_TYPES.length];
+        
+        int remaining(int type) {
+            return granted[type] - used[type];
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,253 @@
+package com.leaveflow.service;
+
+import com.leaveflow.entity.Leave;
+import com.leaveflow.entity.LeaveStatus;
+import io.micronaut.context.event.ApplicationEventListener;
+import io.micronaut.context.event.StartupEvent;
+import io.micronaut.data.connection.jdbc.advice.DelegatingDataSource;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+// In-memory calendar of active (pending or approved) leaves, for apply-time validation without a
+// table scan. Each user has an immutable array of epoch-day intervals sorted by start with a running
+// max of the ends, so "does [start, end] overlap anything" is one binary search. Each day with an
+// approved leave has a bitmap of the users who are out. Built from the leaves table at startup and
+// updated when a status change commits, on the writer thread, so a check made inside a write unit
+// always sees every earlier write.
+@Singleton
+public class LeaveCalendar implements ApplicationEventListener<StartupEvent> {
+    
+    private static final Logger LOG = LoggerFactory.getLogger(LeaveCalendar.class);
+    
+    private final DataSource dataSource;
+    private final WriteScheduler writeScheduler;
+    private final Map<Long, Intervals> byUser = new ConcurrentHashMap<>();
+    // Copy-on-write: a day's bitmap is replaced, never modified, so readers need no locking
+    private final Map<Long, BitSet> outByDay = new ConcurrentHashMap<>();
+    
+    public LeaveCalendar(@Named("read") DataSource dataSource, WriteScheduler writeScheduler) {
+        this.dataSource = DelegatingDataSource.unwrapDataSource(dataSource);
+        this.writeScheduler = writeScheduler;
+    }
+    
+    @Override
+    public void onApplicationEvent(StartupEvent event) {
+        rebuild();
+    }
+    
+    // Id of an active leave of this user overlapping [start, end], if any
+    public Optional<Long> findOverlap(Long userId, LocalDate start, LocalDate end) {
+        Intervals intervals = byUser.get(userId);
+        return intervals == null
+                ? Optional.empty()
+                : intervals.findOverlap(start.toEpochDay(), end.toEpochDay());
+    }
+    
+    public List<Long> usersOutOn(LocalDate day) {
+        BitSet bits = outByDay.get(day.toEpochDay());
+        return bits == null ? List.of() : bits.stream().mapToObj(Long::valueOf).toList();
+    }
+    
+    // Most other users out on any single day of [start, end], and the first day it happens
+    public Optional<Coverage> busiestDay(LocalDate start, LocalDate end, Long excludingUserId) {
+        Coverage busiest = null;
+        for (long day = start.toEpochDay(); day <= end.toEpochDay(); day++) {
+            BitSet bits = outByDay.get(day);
+            if (bits == null) {
+                continue;
+            }
+            int out = bits.cardinality() - (bits.get(Math.toIntExact(excludingUserId)) ? 1 : 0);
+            if (out > 0 && (busiest == null || out > busiest.usersOut())) {
+                busiest = new Coverage(LocalDate.ofEpochDay(day), out);
+            }
+        }
+        return Optional.ofNullable(busiest);
+    }
+    
+    // Call from inside the write unit that changed the leave; oldStatus is null for a new leave.
+    // The change is applied once the transaction commits and dropped if it rolls back.
+    public void recordStatusChange(Leave leave, LeaveStatus oldStatus) {
+        Entry entry = new Entry(leave.getId(), leave.getUserId(), leave.getStartDate().toEpochDay(),
+                leave.getEndDate().toEpochDay(), leave.getStatus() == LeaveStatus.APPROVED);
+        boolean wasActive = oldStatus != null && oldStatus.isActive();
+        boolean active = leave.getStatus().isActive();
+        writeScheduler.afterCommit(() -> {
+            if (wasActive) {
+                remove(entry);
+            }
+            if (active) {
+                add(entry);
+            }
+        });
+    }
+    
+    public void rebuild() {
+        long start = System.nanoTime();
+        Map<Long, List<Entry>> entries = new HashMap<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT id, user_id, start_date, end_date, status FROM leaves WHERE status IN (?, ?)")) {
+            statement.setInt(1, LeaveStatus.PENDING.code());
+            statement.setInt(2, LeaveStatus.APPROVED.code());
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    Entry entry = new Entry(rs.getLong(1), rs.getLong(2), rs.getDate(3).toLocalDate().toEpochDay(),
+                            rs.getDate(4).toLocalDate().toEpochDay(), rs.getInt(5) == LeaveStatus.APPROVED.code());
+                    entries.computeIfAbsent(entry.userId, id -> new ArrayList<>()).add(entry);
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to build the leave calendar", e);
+        }
+        
+        byUser.clear();
+        outByDay.clear();
+        Map<Long, BitSet> days = new HashMap<>();
+        int count = 0;
+        for (Map.Entry<Long, List<Entry>> user : entries.entrySet()) {
+            byUser.put(user.getKey(), Intervals.of(user.getValue()));
+            for (Entry entry : user.getValue()) {
+                if (entry.approved) {
+                    for (long day = entry.start; day <= entry.end; day++) {
+                        days.computeIfAbsent(day, d -> new BitSet()).set(Math.toIntExact(entry.userId));
+                    }
+                }
+                count++;
+            }
+        }
+        outByDay.putAll(days);
+        LOG.info("Leave calendar built from {} active leaves in {} ms", count, (System.nanoTime() - start) / 1_000_000);
+    }
+    
+    private void add(Entry entry) {
+        byUser.compute(entry.userId, (id, intervals) -> intervals == null ? Intervals.of(List.of(entry)) : intervals.with(entry));
+        if (entry.approved) {
+            for (long day = entry.start; day <= entry.end; day++) {
+                outByDay.compute(day, (d, bits) -> {
+                    BitSet copy = bits == null ? new BitSet() : (BitSet) bits.clone();
+                    copy.set(Math.toIntExact(entry.userId));
+                    return copy;
+                });
+            }
+        }
+    }
+    
+    private void remove(Entry entry) {
+        Intervals remaining = byUser.computeIfPresent(entry.userId, (id, intervals) -> intervals.without(entry.leaveId));
+        // Only approved leaves mark a day, and a day stays marked while another approved leave covers it
+        for (long day = entry.start; day <= entry.end; day++) {
+            if (remaining != null && remaining.approvedOn(day)) {
+                continue;
+            }
+            outByDay.computeIfPresent(day, (d, bits) -> {
+                if (!bits.get(Math.toIntExact(entry.userId))) {
+                    return bits;
+                }
+                BitSet copy = (BitSet) bits.clone();
+                copy.clear(Math.toIntExact(entry.userId));
+                return copy.isEmpty() ? null : copy;
+            });
+        }
+    }
+    
+    public record Coverage(LocalDate day, int usersOut) {}
+    
+    private record Entry(long leaveId, long userId, long start, long end, boolean approved) {}
+    
+    // One user's active leaves sorted by start day. maxEnd[i] is the latest end among entries 0..i,
+    // so entries 0..k (all starting on or before a query's end) overlap it iff maxEnd[k] >= its start.
+    private static final class Intervals {
+        
+        private final Entry[] entries;
+        private final long[] starts;
+        private final long[] maxEnd;
+        
+        private Intervals(Entry[] entries) {
+            this.entries = entries;
+            this.starts = new long[entries.length];
+            this.maxEnd = new long[entries.length];
+            long max = Long.MIN_VALUE;
+            for (int i = 0; i < entries.length; i++) {
+                starts[i] = entries[i].start;
+                max = Math.max(max, entries[i].end);
+                maxEnd[i] = max;
+            }
+        }
+        
+        static Intervals of(List<Entry> entries) {
+            Entry[] sorted = entries.toArray(new Entry[0]);
+            Arrays.sort(sorted, (a, b) -> Long.compare(a.start, b.start));
+            return new Intervals(sorted);
+        }
+        
+        Optional<Long> findOverlap(long start, long end) {
+            int last = lastStartingOnOrBefore(end);
+            if (last < 0 || maxEnd[last] < start) {
+                return Optional.empty();
+            }
+            // maxEnd is non-decreasing, so the first index reaching the start is the entry that raised
+            // it there: its own end is >= start and it starts on or before end
+            int low = 0;
+            int high = last;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (maxEnd[mid] >= start) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            return Optional.of(entries[low].leaveId);
+        }
+        
+        boolean approvedOn(long day) {
+            for (int i = lastStartingOnOrBefore(day); i >= 0 && maxEnd[i] >= day; i--) {
+                if (entries[i].approved && entries[i].end >= day) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        
+        Intervals with(Entry entry) {
+            List<Entry> copy = new ArrayList<>(Arrays.asList(entries));
+            copy.removeIf(e -> e.leaveId == entry.leaveId);
+            copy.add(entry);
+            return of(copy);
+        }
+        
+        Intervals without(long leaveId) {
+            Entry[] remaining = Arrays.stream(entries).filter(e -> e.leaveId != leaveId).toArray(Entry[]::new);
+            return remaining.length == 0 ? null : new Intervals(remaining);
+        }
+        
+        private int lastStartingOnOrBefore(long day) {
+            int index = Arrays.binarySearch(starts, day);
+            if (index < 0) {
+                return -index - 2;
+            }
+            // Equal starts: move to the last of them
+            while (index + 1 < starts.length && starts[index + 1] == day) {
+                index++;
+            }
+            return index;
+        }
+    }
+}
\ No newline at end of file
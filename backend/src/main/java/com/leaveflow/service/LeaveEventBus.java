@@ -0,0 +1,177 @@
+package com.leaveflow.service;
+
+import com.leaveflow.dto.LeaveEvent;
+import com.leaveflow.dto.LeaveSummary;
+import com.leaveflow.entity.Leave;
+import com.leaveflow.entity.LeaveStatus;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.sse.Event;
+import io.micronaut.scheduling.annotation.Scheduled;
+import jakarta.inject.Singleton;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+// Fans committed leave status changes out to the open /api/leaves/events streams, so dashboards
+// receive deltas instead of re-fetching their lists. Admins see every change, employees only their
+// own. Publishing never blocks the caller: each subscriber has its own bounded buffer, and one that
+// falls buffer-size events behind is disconnected rather than slowing the others down or holding
+// memory. Its client reconnects and re-reads its list, as it would have without the stream.
+// A stream lives no longer than the access token it was opened with: it ends at the token's expiry,
+// and TokenRevocationService closes it as soon as the token is revoked or its user signed out.
+@Singleton
+public class LeaveEventBus {
+    
+    static final String LEAVE_EVENT = "leave";
+    static final String HEARTBEAT_EVENT = "heartbeat";
+    
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final AtomicLong sequence = new AtomicLong();
+    private final int bufferSize;
+    private final int maxSubscribers;
+    
+    private final LongAdder published = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder overflowed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder revoked = new LongAdder();
+    
+    public LeaveEventBus(@Value("${leaveflow.events.buffer-size:256}") int bufferSize,
+                         @Value("${leaveflow.events.max-subscribers:5000}") int maxSubscribers) {
+        this.bufferSize = Math.max(1, bufferSize);
+        this.maxSubscribers = Math.max(1, maxSubscribers);
+    }
+    
+    // The caller's stream of "leave" events, plus the shared "heartbeat" events. Throws
+    // RejectedExecutionException when max-subscribers streams are already open. The stream is counted
+    // and receives events from the moment it is subscribed until it ends, so a response that is never
+    // subscribed (the client left first) holds no slot; one that loses the race for the last slot
+    // between this check and its subscription fails with the same exception.
+    public Publisher<Event<?>> subscribe(TokenClaims claims, boolean admin) {
+        if (subscriberCount.get() >= maxSubscribers) {
+            rejected.increment();
+            throw new RejectedExecutionException("Too many event subscribers");
+        }
+        return Flux.defer(() -> {
+            if (subscriberCount.incrementAndGet() > maxSubscribers) {
+                subscriberCount.decrementAndGet();
+                rejected.increment();
+                return Flux.error(new RejectedExecutionException("Too many event subscribers"));
+            }
+            Subscriber subscriber = new Subscriber(claims, admin,
+                    Sinks.many().unicast().onBackpressureBuffer(new ArrayBlockingQueue<>(bufferSize)));
+            subscribers.add(subscriber);
+            Flux<Event<?>> events = subscriber.sink.asFlux();
+            if (claims.expiresAt() != null) {
+                Duration remaining = Duration.between(Instant.now(), claims.expiresAt());
+                events = events.take(remaining.isNegative() ? Duration.ZERO : remaining);
+            }
+            return events.doFinally(signal -> unsubscribe(subscriber));
+        });
+    }
+    
+    // Called once the change has been committed
+    public void publish(Leave leave, @Nullable LeaveStatus oldStatus) {
+        published.increment();
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        Event<LeaveEvent> event = Event.of(new LeaveEvent(LeaveSummary.from(leave), oldStatus))
+                .name(LEAVE_EVENT)
+                .id(Long.toString(sequence.incrementAndGet()));
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.admin || subscriber.claims.userId().equals(leave.getUserId())) {
+                deliver(subscriber, event);
+            }
+        }
+    }
+    
+    // One event for all subscribers. A write to a closed connection fails and ends its stream, so idle
+    // streams are cleaned up within one interval; it also keeps proxies from timing them out.
+    @Scheduled(fixedDelay = "${leaveflow.events.heartbeat:30s}")
+    void heartbeat() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        Event<String> event = Event.of("").name(HEARTBEAT_EVENT);
+        for (Subscriber subscriber : subscribers) {
+            deliver(subscriber, event);
+        }
+    }
+    
+    // Ends the streams opened with the token, after a logout
+    public void disconnectToken(long tokenId) {
+        disconnect(claims -> claims.tokenId() == tokenId);
+    }
+    
+    // Ends the user's streams opened with tokens issued at or before issuedUpTo, the same whole-second
+    // rule as TokenRevocationList's watermarks
+    public void disconnectIssuedUpTo(long userId, Instant issuedUpTo) {
+        long second = issuedUpTo.getEpochSecond();
+        disconnect(claims -> claims.userId() == userId
+                && (claims.issuedAt() == null || claims.issuedAt().getEpochSecond() <= second));
+    }
+    
+    private void disconnect(Predicate<TokenClaims> revokedToken) {
+        for (Subscriber subscriber : subscribers) {
+            if (revokedToken.test(subscriber.claims) && subscribers.remove(subscriber)) {
+                revoked.increment();
+                subscriber.emit(Sinks.Many::tryEmitComplete);
+            }
+        }
+    }
+    
+    private void deliver(Subscriber subscriber, Event<?> event) {
+        Sinks.EmitResult result = subscriber.emit(sink -> sink.tryEmitNext(event));
+        if (result.isSuccess()) {
+            if (event.getData() instanceof LeaveEvent) {
+                delivered.increment();
+            }
+        } else if (result == Sinks.EmitResult.FAIL_OVERFLOW && subscribers.remove(subscriber)) {
+            overflowed.increment();
+            subscriber.emit(Sinks.Many::tryEmitComplete);
+        }
+    }
+    
+    private void unsubscribe(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+        subscriberCount.decrementAndGet();
+    }
+    
+    public LeaveEventStats getStats() {
+        return new LeaveEventStats(
+                subscriberCount.get(),
+                maxSubscribers,
+                published.sum(),
+                delivered.sum(),
+                overflowed.sum(),
+                rejected.sum(),
+                revoked.sum());
+    }
+    
+    private record Subscriber(TokenClaims claims, boolean admin, Sinks.Many<Event<?>> sink) {
+        
+        // Publishers on other threads only ever hold the sink for one offer, so spinning is brief
+        Sinks.EmitResult emit(Function<Sinks.Many<Event<?>>, Sinks.EmitResult> emission) {
+            Sinks.EmitResult result;
+            while ((result = emission.apply(sink)) == Sinks.EmitResult.FAIL_NON_SERIALIZED) {
+                Thread.onSpinWait();
+            }
+            return result;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.leaveflow.service;
+
+import io.micronaut.serde.annotation.Serdeable;
+
+@Serdeable
+public record LeaveEventStats(
+        int subscribers,
+        int maxSubscribers,
+        long published,
+        long delivered,
+        long overflowed,
+        long rejected,
+        long revoked) {
+}
\ No newline at end of file
@@ -0,0 +1,463 @@
+package com.leaveflow.service;
+
+import com.leaveflow.dto.ApproveLeaveRequest;
+import com.leaveflow.dto.BulkDecisionItem;
+import com.leaveflow.dto.BulkDecisionResponse;
+import com.leaveflow.dto.BulkDecisionResult;
+import com.leaveflow.dto.CreateLeaveRequest;
+import com.leaveflow.dto.HistoryEntry;
+import com.leaveflow.dto.LeaveCursor;
+import com.leaveflow.dto.LeavePage;
+import com.leaveflow.dto.LeaveSummary;
+import com.leaveflow.entity.History;
+import com.leaveflow.entity.HistoryAction;
+import com.leaveflow.entity.Leave;
+import com.leaveflow.entity.LeaveStatus;
+import com.leaveflow.entity.LeaveType;
+import com.leaveflow.repository.HistoryReadRepository;
+import com.leaveflow.repository.LeaveReadRepository;
+import com.leaveflow.repository.LeaveRepository;
+
+import io.micronaut.context.annotation.Value;
+import io.micronaut.data.model.Pageable;
+import io.micronaut.scheduling.TaskExecutors;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+@Singleton
+public class LeaveService {
+    
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1000;
+    private static final int EXPORT_BATCH_SIZE = 500;
+    private static final int DEFAULT_HISTORY_LIMIT = 50;
+    private static final int MAX_HISTORY_LIMIT = 500;
+    
+    private final LeaveRepository leaveRepository;
+    private final LeaveReadRepository leaveReadRepository;
+    private final HistoryReadRepository historyReadRepository;
+    private final HistoryArchive historyArchive;
+    private final WriteScheduler writeScheduler;
+    private final HistoryWriter historyWriter;
+    private final LeaveStatsService leaveStatsService;
+    private final LeaveEventBus leaveEventBus;
+    private final ResponseCache responseCache;
+    private final LeaveCalendar leaveCalendar;
+    private final UserService userService;
+    private final LeaveBalanceService leaveBalanceService;
+    private final Scheduler blockingScheduler;
+    private final int coverageWarningThreshold;
+    private final int bulkChunkSize;
+    
+    public LeaveService(LeaveRepository leaveRepository, LeaveReadRepository leaveReadRepository,
+                        HistoryReadRepository historyReadRepository, HistoryArchive historyArchive,
+                        WriteScheduler writeScheduler, HistoryWriter historyWriter,
+                        LeaveStatsService leaveStatsService, LeaveEventBus leaveEventBus, ResponseCache responseCache,
+                        LeaveCalendar leaveCalendar,
+                        UserService userService, LeaveBalanceService leaveBalanceService,
+                        @Named(TaskExecutors.BLOCKING) ExecutorService blockingExecutor,
+                        @Value("${leaveflow.calendar.coverage-warning-threshold:3}") int coverageWarningThreshold,
+                        @Value("${leaveflow.bulk-decision.chunk-size:100}") int bulkChunkSize) {
+        this.leaveRepository = leaveRepository;
+        this.leaveReadRepository = leaveReadRepository;
+        this.historyReadRepository = historyReadRepository;
+        this.historyArchive = historyArchive;
+        this.writeScheduler = writeScheduler;
+        this.historyWriter = historyWriter;
+        this.leaveStatsService = leaveStatsService;
+        this.leaveEventBus = leaveEventBus;
+        this.responseCache = responseCache;
+        this.leaveCalendar = leaveCalendar;
+        this.userService = userService;
+        this.leaveBalanceService = leaveBalanceService;
+        this.blockingScheduler = Schedulers.fromExecutorService(blockingExecutor);
+        this.coverageWarningThreshold = coverageWarningThreshold;
+        this.bulkChunkSize = Math.max(1, bulkChunkSize);
+    }
+    
+    public Optional<Leave> findById(Long id) {
+        return leaveReadRepository.findById(id);
+    }
+    
+    public LeavePage findAll(String cursor, Integer limit) {
+        return page((after, pageable) -> leaveReadRepository.findPageBefore(after.createdAt(), after.id(), pageable),
+                cursor, limit);
+    }
+    
+    public LeavePage findByUserId(Long userId, String cursor, Integer limit) {
+        return page((after, pageable) -> leaveReadRepository.findPageByUserIdBefore(userId, after.createdAt(), after.id(), pageable),
+                cursor, limit);
+    }
+    
+    public LeavePage findByStatus(LeaveStatus status, String cursor, Integer limit) {
+        return page((after, pageable) -> leaveReadRepository.findPageByStatusBefore(status, after.createdAt(), after.id(), pageable),
+                cursor, limit);
+    }
+    
+    // Newest first. Archived years are read only when the leave is older than the hot partition.
+    public List<HistoryEntry> findHistory(Leave leave) {
+        LocalDateTime hotFrom = historyArchive.hotFrom();
+        List<HistoryEntry> entries = historyReadRepository
+                .findByLeaveIdAndTimestampGreaterThanEqualsOrderByTimestampDesc(leave.getId(), hotFrom);
+        if (leave.getCreatedAt() == null || !leave.getCreatedAt().isBefore(hotFrom)) {
+            return entries;
+        }
+        List<HistoryEntry> all = new ArrayList<>(entries);
+        all.addAll(historyArchive.findByLeaveId(leave.getId(), leave.getCreatedAt().getYear()));
+        return all;
+    }
+    
+    // A user's latest history rows, newest first, continuing into the archive when the hot partition has too few
+    public List<HistoryEntry> findUserHistory(Long userId, Integer requestedLimit) {
+        int limit = requestedLimit == null ? DEFAULT_HISTORY_LIMIT : Math.max(1, Math.min(requestedLimit, MAX_HISTORY_LIMIT));
+        List<HistoryEntry> entries = historyReadRepository.findByUserIdAndTimestampGreaterThanEqualsOrderByTimestampDesc(
+                userId, historyArchive.hotFrom(), Pageable.from(0, limit));
+        if (entries.size() == limit) {
+            return entries;
+        }
+        List<HistoryEntry> all = new ArrayList<>(entries);
+        all.addAll(historyArchive.findByUserId(userId, limit - entries.size()));
+        return all;
+    }
+    
+    // Walks the whole table (optionally one status) page by page as subscribers request more,
+    // so only one batch of entities is ever held in memory regardless of table size
+    public Publisher<LeaveSummary> export(LeaveStatus status) {
+        PageQuery query = status == null
+                ? (after, pageable) -> leaveReadRepository.findPageBefore(after.createdAt(), after.id(), pageable)
+                : (after, pageable) -> leaveReadRepository.findPageByStatusBefore(status, after.createdAt(), after.id(), pageable);
+        Pageable batch = Pageable.from(0, EXPORT_BATCH_SIZE);
+        
+        return Flux.<List<LeaveSummary>, Optional<LeaveCursor>>generate(() -> Optional.of(LeaveCursor.START), (after, sink) -> {
+                    if (after.isEmpty()) {
+                        sink.complete();
+                        return after;
+                    }
+                    List<LeaveSummary> rows = query.fetch(after.get(), batch);
+                    if (rows.isEmpty()) {
+                        sink.complete();
+                        return Optional.empty();
+                    }
+                    sink.next(rows);
+                    return rows.size() < EXPORT_BATCH_SIZE
+                            ? Optional.empty()
+                            : Optional.of(LeaveCursor.after(rows.get(rows.size() - 1)));
+                })
+                .concatMapIterable(rows -> rows, 1)
+                .subscribeOn(blockingScheduler);
+    }
+    
+    private LeavePage page(PageQuery query, String cursor, Integer limit) {
+        int size = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        // One extra row tells us whether another page exists without a COUNT query
+        List<LeaveSummary> rows = query.fetch(LeaveCursor.decode(cursor), Pageable.from(0, size + 1));
+        boolean hasMore = rows.size() > size;
+        if (hasMore) {
+            rows = rows.subList(0, size);
+        }
+        String nextCursor = hasMore ? LeaveCursor.after(rows.get(rows.size() - 1)).encode() : null;
+        return new LeavePage(rows, nextCursor);
+    }
+    
+    @FunctionalInterface
+    private interface PageQuery {
+        List<LeaveSummary> fetch(LeaveCursor after, Pageable pageable);
+    }
+    
+    // The duration debited on approval is computed here from the dates; a duration sent by the client is
+    // only accepted when it agrees with them
+    public Leave apply(Long userId, CreateLeaveRequest request) {
+        LeaveType leaveType = LeaveType.parse(request.getLeaveType());
+        if (request.getEndDate().isBefore(request.getStartDate())) {
+            throw new IllegalArgumentException("End date must not be before start date");
+        }
+        int duration = workingDays(request.getStartDate(), request.getEndDate());
+        if (duration == 0) {
+            throw new IllegalArgumentException("The requested dates contain no working days");
+        }
+        if (request.getDuration() != null && request.getDuration() != duration) {
+            throw new IllegalArgumentException("Duration " + request.getDuration() + " does not match the "
+                    + duration + " working day(s) between the dates");
+        }
+        
+        Leave leave = writeScheduler.execute(() -> {
+            // Checked on the writer thread, where the calendar already holds every committed leave
+            Optional<Long> overlapping = leaveCalendar.findOverlap(userId, request.getStartDate(), request.getEndDate());
+            if (overlapping.isPresent()) {
+                throw new IllegalStateException("Overlaps existing leave " + overlapping.get());
+            }
+            if (leaveBalanceService.isTracked(leaveType)
+                    && leaveBalanceService.getRemaining(userId, leaveType) < duration) {
+                throw new IllegalStateException("Insufficient " + leaveType.name().toLowerCase() + " leave balance");
+            }
+            Leave saved = leaveRepository.save(new Leave(userId, leaveType, request.getStartDate(), request.getEndDate(),
+                    duration, request.getReason()));
+            leaveCalendar.recordStatusChange(saved, null);
+            return saved;
+        });
+        
+        leaveStatsService.recordStatusChange(leave, null);
+        leaveEventBus.publish(leave, null);
+        historyWriter.record(new History(userId, leave.getId(), HistoryAction.APPLIED,
+                "Applied for " + leave.getDuration() + " day(s) of " + leaveType.name().toLowerCase() + " leave",
+                userId, null, leave.getStatus()));
+        return leave;
+    }
+    
+    // Set when the leave falls on a day on which at least the configured number of other employees
+    // are already on approved leave
+    public Optional<String> coverageWarning(Leave leave) {
+        if (coverageWarningThreshold <= 0) {
+            return Optional.empty();
+        }
+        return leaveCalendar.busiestDay(leave.getStartDate(), leave.getEndDate(), leave.getUserId())
+                .filter(coverage -> coverage.usersOut() >= coverageWarningThreshold)
+                .map(coverage -> coverage.usersOut() + " other employee(s) already on leave on " + coverage.day());
+    }
+    
+    // Monday to Friday days from start to end inclusive, as the leave request form counts them
+    static int workingDays(LocalDate start, LocalDate end) {
+        long days = ChronoUnit.DAYS.between(start, end) + 1;
+        long count = days / 7 * 5;
+        DayOfWeek day = start.getDayOfWeek();
+        for (long i = 0; i < days % 7; i++) {
+            if (day != DayOfWeek.SATURDAY && day != DayOfWeek.SUNDAY) {
+                count++;
+            }
+            day = day.plus(1);
+        }
+        return Math.toIntExact(count);
+    }
+    
+    public List<Long> usersOutOn(LocalDate day) {
+        return leaveCalendar.usersOutOn(day);
+    }
+    
+    // Approves or rejects a pending leave. Approval debits the balance ledger first, so a leave
+    // is never marked APPROVED without the days having been taken.
+    public Optional<Leave> decide(Long leaveId, Long adminId, ApproveLeaveRequest request) {
+        LeaveStatus decision = parseDecision(request.getStatus());
+        
+        Optional<Change> change = writeScheduler.execute(() -> {
+            Optional<Leave> leaveOpt = leaveRepository.findById(leaveId);
+            if (leaveOpt.isEmpty()) {
+                return Optional.<Change>empty();
+            }
+            
+            Leave leave = leaveOpt.get();
+            LeaveStatus oldStatus = leave.getStatus();
+            if (oldStatus != LeaveStatus.PENDING) {
+                throw new IllegalStateException("Only pending leaves can be " + decision.name().toLowerCase());
+            }
+            
+            // The debit reaches the in-memory balance only if this unit commits
+            if (decision == LeaveStatus.APPROVED && leaveBalanceService.isTracked(leave.getLeaveType())) {
+                userService.updateLeaveBalance(leave.getUserId(), leave.getId(), leave.getLeaveType(), leave.getDuration());
+            }
+            
+            leave.setStatus(decision);
+            leave.setApprovedBy(adminId);
+            leave.setApprovedAt(LocalDateTime.now());
+            leave.setComments(request.getComments());
+            leave = leaveRepository.update(leave);
+            leaveCalendar.recordStatusChange(leave, oldStatus);
+            return Optional.of(new Change(leave, oldStatus));
+        });
+        
+        change.ifPresent(c -> leaveStatsService.recordStatusChange(c.leave(), c.oldStatus()));
+        change.ifPresent(c -> leaveEventBus.publish(c.leave(), c.oldStatus()));
+        change.ifPresent(c -> responseCache.invalidate(ResponseCache.leaveKey(leaveId)));
+        change.ifPresent(c -> recordDecision(c, adminId));
+        return change.map(Change::leave);
+    }
+    
+    // Applies many approve/reject decisions in chunks of one write transaction each: a chunk's leaves
+    // are loaded in one query, its approvals debited as one balance batch and its updates flushed
+    // together. Items that cannot be applied are reported in their result without failing the chunk;
+    // a chunk that fails as a whole is rolled back and all its items reported as FAILED.
+    public BulkDecisionResponse decideAll(Long adminId, List<BulkDecisionItem> items) {
+        BulkDecisionResult[] results = new BulkDecisionResult[items.size()];
+        LeaveStatus[] decisions = new LeaveStatus[items.size()];
+        Set<Long> seen = new HashSet<>();
+        List<Integer> valid = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            BulkDecisionItem item = items.get(i);
+            try {
+                decisions[i] = parseDecision(item.getStatus());
+            } catch (IllegalArgumentException e) {
+                results[i] = new BulkDecisionResult(item.getLeaveId(), "INVALID", e.getMessage());
+                continue;
+            }
+            if (!seen.add(item.getLeaveId())) {
+                results[i] = new BulkDecisionResult(item.getLeaveId(), "INVALID", "Duplicate leave id");
+            } else {
+                valid.add(i);
+            }
+        }
+        
+        for (int from = 0; from < valid.size(); from += bulkChunkSize) {
+            List<Integer> chunk = valid.subList(from, Math.min(valid.size(), from + bulkChunkSize));
+            List<Change> changes;
+            try {
+                changes = writeScheduler.execute(() -> decideChunk(adminId, items, decisions, chunk, results));
+            } catch (RuntimeException e) {
+                String message = e instanceof RejectedExecutionException ? "Write queue is full" : e.getMessage();
+                for (int i : chunk) {
+                    results[i] = new BulkDecisionResult(items.get(i).getLeaveId(), "FAILED", message);
+                }
+                continue;
+            }
+            for (Change change : changes) {
+                leaveStatsService.recordStatusChange(change.leave(), change.oldStatus());
+                leaveEventBus.publish(change.leave(), change.oldStatus());
+                responseCache.invalidate(ResponseCache.leaveKey(change.leave().getId()));
+                recordDecision(change, adminId);
+            }
+        }
+        
+        int approved = 0;
+        int rejected = 0;
+        for (BulkDecisionResult result : results) {
+            if ("APPROVED".equals(result.outcome())) {
+                approved++;
+            } else if ("REJECTED".equals(result.outcome())) {
+                rejected++;
+            }
+        }
+        return new BulkDecisionResponse(approved, rejected, results.length - approved - rejected, Arrays.asList(results));
+    }
+    
+    // Runs inside one write unit; fills in the result of every item of the chunk
+    private List<Change> decideChunk(Long adminId, List<BulkDecisionItem> items, LeaveStatus[] decisions,
+                                     List<Integer> chunk, BulkDecisionResult[] results) {
+        List<Long> ids = chunk.stream().map(i -> items.get(i).getLeaveId()).toList();
+        Map<Long, Leave> leaves = new HashMap<>();
+        for (Leave leave : leaveRepository.findByIdIn(ids)) {
+            leaves.put(leave.getId(), leave);
+        }
+        
+        List<LeaveBalanceService.Debit> debits = new ArrayList<>();
+        for (int i : chunk) {
+            BulkDecisionItem item = items.get(i);
+            Leave leave = leaves.get(item.getLeaveId());
+            if (leave == null) {
+                results[i] = new BulkDecisionResult(item.getLeaveId(), "NOT_FOUND", "Leave not found");
+            } else if (leave.getStatus() != LeaveStatus.PENDING) {
+                results[i] = new BulkDecisionResult(item.getLeaveId(), "INVALID", "Only pending leaves can be decided");
+            } else if (decisions[i] == LeaveStatus.APPROVED && leaveBalanceService.isTracked(leave.getLeaveType())) {
+                debits.add(new LeaveBalanceService.Debit(leave.getUserId(), leave.getLeaveType(), leave.getId(), leave.getDuration()));
+            }
+        }
+        Set<Long> refused = debits.isEmpty() ? Set.of() : userService.debitLeaveBalances(debits);
+        
+        LocalDateTime now = LocalDateTime.now();
+        List<Leave> decided = new ArrayList<>();
+        List<Change> changes = new ArrayList<>();
+        for (int i : chunk) {
+            if (results[i] != null) {
+                continue;
+            }
+            BulkDecisionItem item = items.get(i);
+            Leave leave = leaves.get(item.getLeaveId());
+            if (refused.contains(leave.getId())) {
+                results[i] = new BulkDecisionResult(leave.getId(), "INSUFFICIENT_BALANCE",
+                        "Insufficient " + leave.getLeaveType().name().toLowerCase() + " leave balance");
+                continue;
+            }
+            LeaveStatus decision = decisions[i];
+            LeaveStatus oldStatus = leave.getStatus();
+            leave.setStatus(decision);
+            leave.setApprovedBy(adminId);
+            leave.setApprovedAt(now);
+            leave.setComments(item.getComments());
+            decided.add(leave);
+            changes.add(new Change(leave, oldStatus));
+            results[i] = new BulkDecisionResult(leave.getId(), decision.name(), null);
+        }
+        // One flush; with hibernate.jdbc.batch_size the UPDATEs go out as JDBC batches
+        leaveRepository.updateAll(decided);
+        for (Change change : changes) {
+            leaveCalendar.recordStatusChange(change.leave(), change.oldStatus());
+        }
+        return changes;
+    }
+    
+    private void recordDecision(Change change, Long adminId) {
+        Leave leave = change.leave();
+        LeaveStatus decision = leave.getStatus();
+        historyWriter.record(new History(leave.getUserId(), leave.getId(), HistoryAction.of(decision),
+                "Leave " + decision.name().toLowerCase() + (leave.getComments() != null ? ": " + leave.getComments() : ""),
+                adminId, change.oldStatus(), decision));
+    }
+    
+    private static LeaveStatus parseDecision(String status) {
+        LeaveStatus decision;
+        try {
+            decision = LeaveStatus.parse(status);
+        } catch (IllegalArgumentException e) {
+            decision = null;
+        }
+        if (decision == null || !decision.isDecision()) {
+            throw new IllegalArgumentException("Status must be APPROVED or REJECTED");
+        }
+        return decision;
+    }
+    
+    // Cancels a pending or approved leave; approved days go back to the balance
+    public Optional<Leave> cancel(Long leaveId, Long actorId, boolean admin) {
+        Optional<Change> change = writeScheduler.execute(() -> {
+            Optional<Leave> leaveOpt = leaveRepository.findById(leaveId);
+            if (leaveOpt.isEmpty()) {
+                return Optional.<Change>empty();
+            }
+            
+            Leave leave = leaveOpt.get();
+            if (!admin && !leave.getUserId().equals(actorId)) {
+                throw new SecurityException("Not allowed to cancel this leave");
+            }
+            LeaveStatus oldStatus = leave.getStatus();
+            if (!oldStatus.isActive()) {
+                throw new IllegalStateException("Only pending or approved leaves can be cancelled");
+            }
+            
+            leave.setStatus(LeaveStatus.CANCELLED);
+            leave = leaveRepository.update(leave);
+            leaveCalendar.recordStatusChange(leave, oldStatus);
+            if (oldStatus == LeaveStatus.APPROVED && leaveBalanceService.isTracked(leave.getLeaveType())) {
+                userService.updateLeaveBalance(leave.getUserId(), leave.getId(), leave.getLeaveType(), -leave.getDuration());
+            }
+            return Optional.of(new Change(leave, oldStatus));
+        });
+        
+        change.ifPresent(c -> leaveStatsService.recordStatusChange(c.leave(), c.oldStatus()));
+        change.ifPresent(c -> leaveEventBus.publish(c.leave(), c.oldStatus()));
+        change.ifPresent(c -> responseCache.invalidate(ResponseCache.leaveKey(leaveId)));
+        change.ifPresent(c -> historyWriter.record(new History(c.leave().getUserId(), leaveId, HistoryAction.CANCELLED,
+                "Leave cancelled", actorId, c.oldStatus(), LeaveStatus.CANCELLED)));
+        return change.map(Change::leave);
+    }
+    
+    // A committed status change; the History row, stats counters, pushed event and cached-response
+    // invalidation follow only after the write has gone through
+    private record Change(Leave leave, LeaveStatus oldStatus) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,233 @@
+package com.leaveflow.service;
+
+import com.leaveflow.dto.LeaveStatsResponse;
+import com.leaveflow.entity.Leave;
+import com.leaveflow.entity.LeaveStatus;
+import com.leaveflow.entity.LeaveType;
+import io.micronaut.context.event.ApplicationEventListener;
+import io.micronaut.context.event.StartupEvent;
+import io.micronaut.data.connection.jdbc.advice.DelegatingDataSource;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Materialized leave counters for the admin dashboard, one cell per (status, type, start month)
+// for each user and for everyone. Rebuilt from the leaves table in parallel id ranges at startup,
+// then moved incrementally by LeaveService on every status change, so /api/admin/stats never
+// queries the database. Also counts status transitions since startup, which the rebuild does not touch.
+@Singleton
+public class LeaveStatsService implements ApplicationEventListener<StartupEvent> {
+    
+    private static final Logger LOG = LoggerFactory.getLogger(LeaveStatsService.class);
+    
+    private static final LeaveStatus[] STATUSES = LeaveStatus.values();
+    
+    private final DataSource dataSource;
+    private final Map<Cell, Counter> global = new ConcurrentHashMap<>();
+    private final Map<Long, Map<Cell, Counter>> byUser = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+    private volatile Snapshot snapshot = new Snapshot(-1, null);
+    // [from status ordinal, or the last slot for a new leave][to status ordinal]
+    private final LongAdder[][] transitions = new LongAdder[STATUSES.length + 1][STATUSES.length];
+    
+    public LeaveStatsService(@Named("read") DataSource dataSource) {
+        this.dataSource = DelegatingDataSource.unwrapDataSource(dataSource);
+        for (LongAdder[] row : transitions) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] = new LongAdder();
+            }
+        }
+    }
+    
+    @Override
+    public void onApplicationEvent(StartupEvent event) {
+        rebuild();
+    }
+    
+    // oldStatus is null for a newly applied leave
+    public void recordStatusChange(Leave leave, LeaveStatus oldStatus) {
+        YearMonth month = YearMonth.from(leave.getStartDate());
+        long days = leave.getDuration() != null ? leave.getDuration() : 0;
+        if (oldStatus != null) {
+            add(leave.getUserId(), new Cell(oldStatus, leave.getLeaveType(), month), -1, -days);
+        }
+        add(leave.getUserId(), new Cell(leave.getStatus(), leave.getLeaveType(), month), 1, days);
+        version.incrementAndGet();
+        transitions[oldStatus != null ? oldStatus.ordinal() : STATUSES.length][leave.getStatus().ordinal()].increment();
+    }
+    
+    // Status changes since startup; from is null for newly applied leaves
+    public long getTransitionCount(LeaveStatus from, LeaveStatus to) {
+        return transitions[from != null ? from.ordinal() : STATUSES.length][to.ordinal()].sum();
+    }
+    
+    // Non-zero transition counts keyed "FROM->TO", with NEW for newly applied leaves
+    public Map<String, Long> getTransitionCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        for (int from = 0; from <= STATUSES.length; from++) {
+            for (LeaveStatus to : STATUSES) {
+                long count = transitions[from][to.ordinal()].sum();
+                if (count > 0) {
+                    counts.put((from < STATUSES.length ? STATUSES[from].name() : "NEW") + "->" + to.name(), count);
+                }
+            }
+        }
+        return counts;
+    }
+    
+    // Overall stats are served from a snapshot rebuilt only after a change
+    public LeaveStatsResponse getStats() {
+        long current = version.get();
+        Snapshot cached = snapshot;
+        if (cached.version == current) {
+            return cached.stats;
+        }
+        LeaveStatsResponse stats = summarize(global);
+        snapshot = new Snapshot(current, stats);
+        return stats;
+    }
+    
+    public LeaveStatsResponse getStats(Long userId) {
+        return summarize(byUser.getOrDefault(userId, Map.of()));
+    }
+    
+    public void rebuild() {
+        long start = System.nanoTime();
+        long[] range = idRange();
+        int partitions = Math.max(1, Runtime.getRuntime().availableProcessors());
+        long span = Math.max(1, (range[1] - range[0] + partitions) / partitions);
+        
+        ExecutorService pool = Executors.newFixedThreadPool(partitions, runnable -> {
+            Thread thread = new Thread(runnable, "leave-stats-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<Map<Long, Map<Cell, long[]>>>> parts = new ArrayList<>();
+            for (long from = range[0]; from <= range[1]; from += span) {
+                long lo = from;
+                long hi = Math.min(range[1], from + span - 1);
+                parts.add(pool.submit(() -> scan(lo, hi)));
+            }
+            
+            global.clear();
+            byUser.clear();
+            long rows = 0;
+            for (Future<Map<Long, Map<Cell, long[]>>> part : parts) {
+                for (Map.Entry<Long, Map<Cell, long[]>> user : part.get().entrySet()) {
+                    for (Map.Entry<Cell, long[]> cell : user.getValue().entrySet()) {
+                        add(user.getKey(), cell.getKey(), cell.getValue()[0], cell.getValue()[1]);
+                        rows += cell.getValue()[0];
+                    }
+                }
+            }
+            version.incrementAndGet();
+            LOG.info("Leave stats rebuilt from {} leaves in {} partition(s) in {} ms", rows, parts.size(),
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to rebuild leave stats", e);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+    
+    private long[] idRange() {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COALESCE(MIN(id), 1), COALESCE(MAX(id), 0) FROM leaves")) {
+            rs.next();
+            return new long[] {rs.getLong(1), rs.getLong(2)};
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to read leave id range", e);
+        }
+    }
+    
+    // Tallies one id range on its own read connection
+    private Map<Long, Map<Cell, long[]>> scan(long fromId, long toId) throws SQLException {
+        Map<Long, Map<Cell, long[]>> tally = new HashMap<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT user_id, status, leave_type, start_date, duration FROM leaves WHERE id BETWEEN ? AND ?")) {
+            statement.setLong(1, fromId);
+            statement.setLong(2, toId);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    LocalDate startDate = rs.getDate(4).toLocalDate();
+                    Cell cell = new Cell(LeaveStatus.fromCode(rs.getInt(2)), LeaveType.fromCode(rs.getInt(3)),
+                            YearMonth.from(startDate));
+                    long[] counts = tally.computeIfAbsent(rs.getLong(1), id -> new HashMap<>())
+                            .computeIfAbsent(cell, c -> new long[2]);
+                    counts[0]++;
+                    counts[1] += rs.getInt(5);
+                }
+            }
+        }
+        return tally;
+    }
+    
+    private void add(Long userId, Cell cell, long leaves, long days) {
+        global.computeIfAbsent(cell, c -> new Counter()).add(leaves, days);
+        byUser.computeIfAbsent(userId, id -> new ConcurrentHashMap<>())
+                .computeIfAbsent(cell, c -> new Counter()).add(leaves, days);
+    }
+    
+    private static LeaveStatsResponse summarize(Map<Cell, Counter> cells) {
+        long totalLeaves = 0;
+        long totalDays = 0;
+        Map<String, Long> byStatus = new TreeMap<>();
+        Map<String, Long> byType = new TreeMap<>();
+        Map<String, Map<String, Long>> byMonth = new TreeMap<>();
+        Map<String, Map<String, Long>> byStatusAndType = new TreeMap<>();
+        for (Map.Entry<Cell, Counter> entry : cells.entrySet()) {
+            Cell cell = entry.getKey();
+            long leaves = entry.getValue().leaves.sum();
+            if (leaves == 0) {
+                continue;
+            }
+            totalLeaves += leaves;
+            totalDays += entry.getValue().days.sum();
+            String status = cell.status.name();
+            String leaveType = cell.leaveType.name();
+            byStatus.merge(status, leaves, Long::sum);
+            byType.merge(leaveType, leaves, Long::sum);
+            byMonth.computeIfAbsent(cell.month.toString(), m -> new TreeMap<>()).merge(status, leaves, Long::sum);
+            byStatusAndType.computeIfAbsent(status, s -> new TreeMap<>()).merge(leaveType, leaves, Long::sum);
+        }
+        return new LeaveStatsResponse(totalLeaves, totalDays, byStatus, byType, byMonth, byStatusAndType);
+    }
+    
+    private record Cell(LeaveStatus status, LeaveType leaveType, YearMonth month) {}
+    
+    private static final class Counter {
+        final LongAdder leaves = new LongAdder();
+        final LongAdder days = new LongAdder();
+        
+        void add(long leaveCount, long dayCount) {
+            leaves.add(leaveCount);
+            days.add(dayCount);
+        }
+    }
+    
+    private record Snapshot(long version, LeaveStatsResponse stats) {}
+}
\ No newline at end of file
@@ -0,0 +1,180 @@
+package com.leaveflow.service;
+
+import com.leaveflow.entity.LeaveStatus;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micronaut.configuration.metrics.annotation.RequiresMetrics;
+import io.micronaut.context.BeanProvider;
+import jakarta.inject.Singleton;
+
+import java.util.function.ToDoubleFunction;
+
+// Publishes the counters the services already keep for /api/admin/metrics as Micrometer meters, so
+// they reach /prometheus without a second set of counters on the hot path. Every meter reads its
+// value at scrape time. Only created while micronaut.metrics.enabled is true. The services are resolved
+// lazily: the registry is built while the datasources are, and the services depend on the datasources.
+@Singleton
+@RequiresMetrics
+public class LeaveflowMeterBinder implements MeterBinder {
+    
+    private final BeanProvider<UserService> userService;
+    private final BeanProvider<JwtService> jwtService;
+    private final BeanProvider<LoginRateLimiter> loginRateLimiter;
+    private final BeanProvider<TokenRevocationList> tokenRevocationList;
+    private final BeanProvider<RefreshTokenService> refreshTokenService;
+    private final BeanProvider<LeaveStatsService> leaveStatsService;
+    private final BeanProvider<LeaveEventBus> leaveEventBus;
+    private final BeanProvider<PasswordHashingEngine> passwordHashingEngine;
+    private final BeanProvider<WriteScheduler> writeScheduler;
+    private final BeanProvider<HistoryWriter> historyWriter;
+    private final BeanProvider<UserCache> userCache;
+    private final BeanProvider<ResponseCache> responseCache;
+    private final BeanProvider<ConcurrencyLimiter> concurrencyLimiter;
+    private final BeanProvider<HistoryArchive> historyArchive;
+    
+    public LeaveflowMeterBinder(BeanProvider<UserService> userService, BeanProvider<JwtService> jwtService,
+                                BeanProvider<LoginRateLimiter> loginRateLimiter,
+                                BeanProvider<TokenRevocationList> tokenRevocationList,
+                                BeanProvider<RefreshTokenService> refreshTokenService,
+                                BeanProvider<LeaveStatsService> leaveStatsService,
+                                BeanProvider<LeaveEventBus> leaveEventBus,
+                                BeanProvider<PasswordHashingEngine> passwordHashingEngine,
+                                BeanProvider<WriteScheduler> writeScheduler, BeanProvider<HistoryWriter> historyWriter,
+                                BeanProvider<UserCache> userCache, BeanProvider<ResponseCache> responseCache,
+                                BeanProvider<ConcurrencyLimiter> concurrencyLimiter,
+                                BeanProvider<HistoryArchive> historyArchive) {
+        this.userService = userService;
+        this.jwtService = jwtService;
+        this.loginRateLimiter = loginRateLimiter;
+        this.tokenRevocationList = tokenRevocationList;
+        this.refreshTokenService = refreshTokenService;
+        this.leaveStatsService = leaveStatsService;
+        this.leaveEventBus = leaveEventBus;
+        this.passwordHashingEngine = passwordHashingEngine;
+        this.writeScheduler = writeScheduler;
+        this.historyWriter = historyWriter;
+        this.userCache = userCache;
+        this.responseCache = responseCache;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.historyArchive = historyArchive;
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        counter(registry, "leaveflow.auth.logins", userService, s -> s.getAuthStats().succeeded(), "result", "success");
+        counter(registry, "leaveflow.auth.logins", userService, s -> s.getAuthStats().failed(), "result", "failure");
+        gauge(registry, "leaveflow.auth.lookup.mean.millis", userService, s -> s.getAuthStats().meanLookupMillis());
+        gauge(registry, "leaveflow.auth.verify.mean.millis", userService, s -> s.getAuthStats().meanVerifyMillis());
+        
+        counter(registry, "leaveflow.jwt.issued", jwtService, s -> s.getStats().issued());
+        counter(registry, "leaveflow.jwt.verifications", jwtService, s -> s.getStats().cacheHits(), "result", "cache_hit");
+        counter(registry, "leaveflow.jwt.verifications", jwtService, s -> s.getStats().parsed(), "result", "parsed");
+        counter(registry, "leaveflow.jwt.verifications", jwtService, s -> s.getStats().rejected(), "result", "rejected");
+        gauge(registry, "leaveflow.jwt.cache.size", jwtService, s -> s.getStats().cachedTokens());
+        gauge(registry, "leaveflow.jwt.revoked.tokens", tokenRevocationList, s -> s.getStats().revokedTokens());
+        gauge(registry, "leaveflow.jwt.revoked.watermarks", tokenRevocationList, s -> s.getStats().userWatermarks());
+        counter(registry, "leaveflow.jwt.revocation.rejections", tokenRevocationList, s -> s.getStats().rejectedById(),
+                "reason", "token");
+        counter(registry, "leaveflow.jwt.revocation.rejections", tokenRevocationList,
+                s -> s.getStats().rejectedByWatermark(), "reason", "watermark");
+        counter(registry, "leaveflow.jwt.revocation.false.positives", tokenRevocationList,
+                s -> s.getStats().falsePositives());
+        counter(registry, "leaveflow.jwt.refresh", refreshTokenService, s -> s.getStats().issued(), "result", "issued");
+        counter(registry, "leaveflow.jwt.refresh", refreshTokenService, s -> s.getStats().rotated(), "result", "rotated");
+        counter(registry, "leaveflow.jwt.refresh", refreshTokenService, s -> s.getStats().rejected(),
+                "result", "rejected");
+        counter(registry, "leaveflow.jwt.refresh", refreshTokenService, s -> s.getStats().reuseDetected(),
+                "result", "reused");
+        
+        counter(registry, "leaveflow.ratelimit.requests", loginRateLimiter, s -> s.getStats().addressAdmitted(),
+                "key", "address", "result", "admitted");
+        counter(registry, "leaveflow.ratelimit.requests", loginRateLimiter, s -> s.getStats().addressLimited(),
+                "key", "address", "result", "limited");
+        counter(registry, "leaveflow.ratelimit.requests", loginRateLimiter, s -> s.getStats().emailAdmitted(),
+                "key", "email", "result", "admitted");
+        counter(registry, "leaveflow.ratelimit.requests", loginRateLimiter, s -> s.getStats().emailLimited(),
+                "key", "email", "result", "limited");
+        
+        for (LeaveStatus to : LeaveStatus.values()) {
+            transition(registry, null, to);
+            for (LeaveStatus from : LeaveStatus.values()) {
+                if (from != to) {
+                    transition(registry, from, to);
+                }
+            }
+        }
+        
+        gauge(registry, "leaveflow.events.subscribers", leaveEventBus, s -> s.getStats().subscribers());
+        counter(registry, "leaveflow.events.published", leaveEventBus, s -> s.getStats().published());
+        counter(registry, "leaveflow.events.delivered", leaveEventBus, s -> s.getStats().delivered());
+        counter(registry, "leaveflow.events.overflowed", leaveEventBus, s -> s.getStats().overflowed());
+        counter(registry, "leaveflow.events.rejected", leaveEventBus, s -> s.getStats().rejected());
+        counter(registry, "leaveflow.events.revoked", leaveEventBus, s -> s.getStats().revoked());
+        
+        gauge(registry, "leaveflow.password.queue.depth", passwordHashingEngine, s -> s.getStats().queueDepth());
+        gauge(registry, "leaveflow.password.active", passwordHashingEngine, s -> s.getStats().activeCount());
+        counter(registry, "leaveflow.password.hashes", passwordHashingEngine, s -> s.getStats().completed());
+        counter(registry, "leaveflow.password.rejected", passwordHashingEngine, s -> s.getStats().rejected());
+        counter(registry, "leaveflow.password.upgraded", passwordHashingEngine, s -> s.getStats().upgraded());
+        gauge(registry, "leaveflow.password.hash.mean.millis", passwordHashingEngine, s -> s.getStats().meanHashMillis());
+        gauge(registry, "leaveflow.password.wait.mean.millis", passwordHashingEngine,
+                s -> s.getStats().meanQueueWaitMillis());
+        
+        gauge(registry, "leaveflow.write.queue.depth", writeScheduler, s -> s.getStats().queueDepth());
+        counter(registry, "leaveflow.write.tasks", writeScheduler, s -> s.getStats().completed(), "result", "completed");
+        counter(registry, "leaveflow.write.tasks", writeScheduler, s -> s.getStats().failed(), "result", "failed");
+        counter(registry, "leaveflow.write.tasks", writeScheduler, s -> s.getStats().rejected(), "result", "rejected");
+        gauge(registry, "leaveflow.write.wait.mean.millis", writeScheduler, s -> s.getStats().meanQueueWaitMillis());
+        gauge(registry, "leaveflow.write.run.mean.millis", writeScheduler, s -> s.getStats().meanRunMillis());
+        
+        gauge(registry, "leaveflow.history.writer.queue.depth", historyWriter, s -> s.getStats().queueDepth());
+        counter(registry, "leaveflow.history.writer.rows", historyWriter, s -> s.getStats().written(), "result", "written");
+        counter(registry, "leaveflow.history.writer.rows", historyWriter, s -> s.getStats().failed(), "result", "failed");
+        counter(registry, "leaveflow.history.writer.flushes", historyWriter, s -> s.getStats().flushes());
+        
+        gauge(registry, "leaveflow.user.cache.size", userCache, s -> s.getStats().size());
+        counter(registry, "leaveflow.user.cache.lookups", userCache, s -> s.getStats().hits(), "result", "hit");
+        counter(registry, "leaveflow.user.cache.lookups", userCache, s -> s.getStats().misses(), "result", "miss");
+        counter(registry, "leaveflow.user.cache.evictions", userCache, s -> s.getStats().evictions());
+        
+        gauge(registry, "leaveflow.response.cache.size", responseCache, s -> s.getStats().size());
+        counter(registry, "leaveflow.response.cache.lookups", responseCache, s -> s.getStats().hits(), "result", "hit");
+        counter(registry, "leaveflow.response.cache.lookups", responseCache, s -> s.getStats().misses(), "result", "miss");
+        counter(registry, "leaveflow.response.cache.not.modified", responseCache, s -> s.getStats().notModified());
+        counter(registry, "leaveflow.response.cache.evictions", responseCache, s -> s.getStats().evictions());
+        
+        gauge(registry, "leaveflow.concurrency.in.flight", concurrencyLimiter, s -> s.getStats().inFlight());
+        gauge(registry, "leaveflow.concurrency.queue.depth", concurrencyLimiter, s -> s.getStats().queueDepth());
+        counter(registry, "leaveflow.concurrency.requests", concurrencyLimiter, s -> s.getStats().admitted(),
+                "result", "admitted");
+        counter(registry, "leaveflow.concurrency.requests", concurrencyLimiter, s -> s.getStats().queued(),
+                "result", "queued");
+        counter(registry, "leaveflow.concurrency.requests", concurrencyLimiter, s -> s.getStats().rejected(),
+                "result", "rejected");
+        
+        gauge(registry, "leaveflow.history.archive.years", historyArchive, s -> s.getStats().archivedYears());
+        gauge(registry, "leaveflow.history.archive.rows", historyArchive, s -> s.getStats().archivedRows());
+    }
+    
+    // Registered up front for every pair, so rates exist from the first scrape; NEW marks a newly applied leave
+    private void transition(MeterRegistry registry, LeaveStatus from, LeaveStatus to) {
+        FunctionCounter.builder("leaveflow.leave.transitions", leaveStatsService,
+                        s -> s.get().getTransitionCount(from, to))
+                .description("Leave status changes since startup")
+                .tag("from", from != null ? from.name() : "NEW")
+                .tag("to", to.name())
+                .register(registry);
+    }
+    
+    private static <T> void counter(MeterRegistry registry, String name, BeanProvider<T> source,
+                                    ToDoubleFunction<T> value, String... tags) {
+        FunctionCounter.builder(name, source, s -> value.applyAsDouble(s.get())).tags(tags).register(registry);
+    }
+    
+    private static <T> void gauge(MeterRegistry registry, String name, BeanProvider<T> source,
+                                  ToDoubleFunction<T> value) {
+        Gauge.builder(name, source, s -> value.applyAsDouble(s.get())).register(registry);
+    }
+}
\ No newline at end of file
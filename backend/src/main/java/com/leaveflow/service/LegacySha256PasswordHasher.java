@@ -0,0 +1,123 @@
+package com.leaveflow.service;
+
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+// Unsalted hex SHA-256, as stored by earlier releases. Only used to verify existing
+// hashes so they can be re-hashed with the current scheme on the next successful login.
+// Earlier releases hashed String.getBytes(), i.e. the platform default charset of the JVM that stored the
+// hash: UTF-8 on Linux, but the ANSI code page (windows-1252 and others) on Windows JDKs before 18. Since
+// JDK 18 the default is always UTF-8, and the old default survives as the native.encoding property, so a
+// password is tried in UTF-8 first and then in those charsets, plus any listed in
+// leaveflow.password.legacy-charsets (for hashes written on another machine). A hash stored under any other
+// charset cannot be verified; that user has to reset their password. The extra digests are cheap next
+// to the PBKDF2 hash the password is upgraded to.
+class LegacySha256PasswordHasher implements PasswordHasher {
+    
+    private static final int HEX_LENGTH = 64;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    
+    private final List<Charset> charsets;
+    
+    // UTF-8, then the platform charsets, then the configured ones (comma-separated charset names)
+    LegacySha256PasswordHasher(String configuredCharsets) {
+        this(withConfigured(platformCharsets(), configuredCharsets));
+    }
+    
+    // UTF-8 first, then the given charsets
+    LegacySha256PasswordHasher(List<Charset> fallbacks) {
+        Set<Charset> ordered = new LinkedHashSet<>();
+        ordered.add(StandardCharsets.UTF_8);
+        ordered.addAll(fallbacks);
+        this.charsets = List.copyOf(ordered);
+    }
+    
+    @Override
+    public String hash(String rawPassword) {
+        return hash(rawPassword, StandardCharsets.UTF_8);
+    }
+    
+    private static String hash(String rawPassword, Charset charset) {
+        byte[] digest = digest(rawPassword, charset);
+        char[] out = new char[HEX_LENGTH];
+        for (int i = 0; i < digest.length; i++) {
+            out[i * 2] = HEX[(digest[i] >> 4) & 0xf];
+            out[i * 2 + 1] = HEX[digest[i] & 0xf];
+        }
+        return new String(out);
+    }
+    
+    @Override
+    public boolean matches(String rawPassword, String encodedPassword) {
+        if (!supports(encodedPassword)) {
+            return false;
+        }
+        byte[] stored = encodedPassword.getBytes(StandardCharsets.US_ASCII);
+        for (Charset charset : charsets) {
+            if (MessageDigest.isEqual(hash(rawPassword, charset).getBytes(StandardCharsets.US_ASCII), stored)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    @Override
+    public boolean supports(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() != HEX_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < HEX_LENGTH; i++) {
+            char c = encodedPassword.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    @Override
+    public boolean needsRehash(String encodedPassword) {
+        return true;
+    }
+    
+    private static byte[] digest(String rawPassword, Charset charset) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(rawPassword.getBytes(charset));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Error hashing password", e);
+        }
+    }
+    
+    private static List<Charset> withConfigured(List<Charset> charsets, String configured) {
+        List<Charset> all = new ArrayList<>(charsets);
+        for (String name : configured.split(",")) {
+            if (!name.isBlank()) {
+                // Unknown names fail startup rather than silently locking those users out
+                all.add(Charset.forName(name.strip()));
+            }
+        }
+        return all;
+    }
+    
+    private static List<Charset> platformCharsets() {
+        Set<Charset> charsets = new LinkedHashSet<>();
+        charsets.add(Charset.defaultCharset());
+        String nativeEncoding = System.getProperty("native.encoding");
+        if (nativeEncoding != null) {
+            try {
+                charsets.add(Charset.forName(nativeEncoding));
+            } catch (IllegalCharsetNameException | UnsupportedCharsetException e) {
+                // Nothing to fall back to
+            }
+        }
+        return List.copyOf(charsets);
+    }
+}
\ No newline at end of file
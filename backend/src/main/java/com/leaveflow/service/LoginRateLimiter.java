@@ -0,0 +1,52 @@
+package com.leaveflow.service;
+
+import io.micronaut.context.annotation.Value;
+import jakarta.inject.Singleton;
+
+import java.util.Locale;
+
+// Per-client-address and per-email token buckets for the anonymous auth endpoints, checked before any
+// hashing or database work. The address limit bounds what one client can spend on login and register;
+// the email limit bounds guessing against one account from many addresses.
+@Singleton
+public class LoginRateLimiter {
+    
+    private final boolean enabled;
+    private final TokenBucketLimiter byAddress;
+    private final TokenBucketLimiter byEmail;
+    
+    public LoginRateLimiter(@Value("${leaveflow.rate-limit.enabled:true}") boolean enabled,
+                            @Value("${leaveflow.rate-limit.max-keys:100000}") int maxKeys,
+                            @Value("${leaveflow.rate-limit.address.burst:20}") int addressBurst,
+                            @Value("${leaveflow.rate-limit.address.per-minute:30}") int addressPerMinute,
+                            @Value("${leaveflow.rate-limit.email.burst:5}") int emailBurst,
+                            @Value("${leaveflow.rate-limit.email.per-minute:5}") int emailPerMinute) {
+        this.enabled = enabled;
+        this.byAddress = new TokenBucketLimiter(addressBurst, addressPerMinute, maxKeys);
+        this.byEmail = new TokenBucketLimiter(emailBurst, emailPerMinute, maxKeys);
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    // 0 when the request may proceed, otherwise the nanoseconds to wait before retrying
+    public long checkAddress(String address) {
+        return enabled && address != null ? byAddress.tryAcquire(address) : 0;
+    }
+    
+    public long checkEmail(String email) {
+        return enabled && email != null ? byEmail.tryAcquire(email.trim().toLowerCase(Locale.ROOT)) : 0;
+    }
+    
+    public RateLimitStats getStats() {
+        return new RateLimitStats(
+                enabled,
+                byAddress.size(),
+                byAddress.admitted(),
+                byAddress.limited(),
+                byEmail.size(),
+                byEmail.admitted(),
+                byEmail.limited());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,64 @@
+package com.leaveflow.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Bloom filter over long keys. The bits live in an AtomicLongArray, so adds and lookups from any number
+// of threads need no lock. Sized for an expected number of keys at a target false-positive rate, which
+// climbs once more keys than that have been added.
+final class LongBloomFilter {
+    
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+    private final int capacity;
+    
+    LongBloomFilter(int expectedKeys, double falsePositiveRate) {
+        capacity = Math.max(1, expectedKeys);
+        double ln2 = Math.log(2);
+        long bits = Math.max(64, (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (ln2 * ln2)));
+        words = new AtomicLongArray(Math.toIntExact((bits + 63) >>> 6));
+        bitCount = words.length() * 64L;
+        hashCount = Math.max(1, (int) Math.round((double) bitCount / capacity * ln2));
+    }
+    
+    void add(long key) {
+        long h1 = mix(key);
+        long h2 = mix(h1) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            long mask = 1L << bit;
+            int word = (int) (bit >>> 6);
+            if ((words.get(word) & mask) == 0) {
+                words.getAndAccumulate(word, mask, (current, set) -> current | set);
+            }
+        }
+    }
+    
+    boolean mightContain(long key) {
+        long h1 = mix(key);
+        long h2 = mix(h1) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    // Keys this filter was sized for
+    int capacity() {
+        return capacity;
+    }
+    
+    long bitCount() {
+        return bitCount;
+    }
+    
+    // SplitMix64 finalizer; the two hashes of the double-hashing scheme are successive mixes
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+}
\ No newline at end of file
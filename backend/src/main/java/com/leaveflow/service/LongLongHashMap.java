@@ -0,0 +1,163 @@
+package com.leaveflow.service;
+
+// Open-addressing map from long to long with linear probing: two flat arrays, no boxing and no entry
+// objects, so an entry costs 16 bytes of table at up to half occupancy. Key 0 marks an empty slot and
+// cannot be stored. Not thread-safe; callers guard it or publish copies.
+final class LongLongHashMap {
+    
+    private static final int MIN_CAPACITY = 16;
+    
+    private long[] keys;
+    private long[] values;
+    private int mask;
+    private int size;
+    
+    LongLongHashMap(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+    
+    private LongLongHashMap(LongLongHashMap source) {
+        keys = source.keys.clone();
+        values = source.values.clone();
+        mask = source.mask;
+        size = source.size;
+    }
+    
+    long get(long key, long missing) {
+        if (key == 0) {
+            return missing;
+        }
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            long current = keys[slot];
+            if (current == key) {
+                return values[slot];
+            }
+            if (current == 0) {
+                return missing;
+            }
+        }
+    }
+    
+    boolean containsKey(long key) {
+        if (key == 0) {
+            return false;
+        }
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            long current = keys[slot];
+            if (current == key) {
+                return true;
+            }
+            if (current == 0) {
+                return false;
+            }
+        }
+    }
+    
+    void put(long key, long value) {
+        if (key == 0) {
+            throw new IllegalArgumentException("Key 0 is reserved");
+        }
+        if ((size + 1) * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+        insert(key, value);
+    }
+    
+    // Removes every entry the test accepts and shrinks the table to fit the rest; returns how many were removed
+    int removeIf(EntryPredicate test) {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        int kept = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0 && !test.test(oldKeys[i], oldValues[i])) {
+                kept++;
+            }
+        }
+        int removed = size - kept;
+        if (removed == 0) {
+            return 0;
+        }
+        allocate(capacityFor(kept));
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0 && !test.test(oldKeys[i], oldValues[i])) {
+                insert(oldKeys[i], oldValues[i]);
+            }
+        }
+        return removed;
+    }
+    
+    void forEach(EntryConsumer action) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                action.accept(keys[i], values[i]);
+            }
+        }
+    }
+    
+    LongLongHashMap copy() {
+        return new LongLongHashMap(this);
+    }
+    
+    int size() {
+        return size;
+    }
+    
+    private void insert(long key, long value) {
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            long current = keys[slot];
+            if (current == key) {
+                values[slot] = value;
+                return;
+            }
+            if (current == 0) {
+                keys[slot] = key;
+                values[slot] = value;
+                size++;
+                return;
+            }
+        }
+    }
+    
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(capacity);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                insert(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+    
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        mask = capacity - 1;
+    }
+    
+    // Fibonacci hashing spreads sequential ids (user ids) as well as random ones (token ids)
+    private int slot(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+    
+    private static int capacityFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < (long) expectedSize * 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+    
+    @FunctionalInterface
+    interface EntryPredicate {
+        boolean test(long key, long value);
+    }
+    
+    @FunctionalInterface
+    interface EntryConsumer {
+        void accept(long key, long value);
+    }
+}
\ No newline at end of file
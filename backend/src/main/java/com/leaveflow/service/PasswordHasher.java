@@ -0,0 +1,14 @@
+package com.leaveflow.service;
+
+// A password hashing scheme. Encoded hashes are self-describing so a hasher can tell
+// whether it produced a given value and whether that value was made with outdated parameters.
+public interface PasswordHasher {
+    
+    String hash(String rawPassword);
+    
+    boolean matches(String rawPassword, String encodedPassword);
+    
+    boolean supports(String encodedPassword);
+    
+    boolean needsRehash(String encodedPassword);
+}
\ No newline at end of file
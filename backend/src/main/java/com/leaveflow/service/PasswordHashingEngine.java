@@ -0,0 +1,127 @@
+package com.leaveflow.service;
+
+import io.micronaut.context.annotation.Value;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Runs password hashing on its own bounded pool so a burst of logins queues here (or is rejected)
+// instead of tying up the Netty event loop or the shared IO executor.
+@Singleton
+public class PasswordHashingEngine {
+    
+    private final PasswordHasher hasher;
+    private final PasswordHasher legacyHasher;
+    private final ThreadPoolExecutor executor;
+    private final int queueCapacity;
+    
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder upgraded = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final AtomicLong maxHashNanos = new AtomicLong();
+    
+    public PasswordHashingEngine(PasswordHasher hasher,
+                                 @Value("${leaveflow.password.executor.threads:0}") int threads,
+                                 @Value("${leaveflow.password.executor.queue-capacity:256}") int queueCapacity,
+                                 @Value("${leaveflow.password.legacy-charsets:}") String legacyCharsets) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.hasher = hasher;
+        this.legacyHasher = new LegacySha256PasswordHasher(legacyCharsets);
+        this.queueCapacity = queueCapacity;
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new HasherThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+    
+    public CompletableFuture<String> hash(String rawPassword) {
+        return submit(() -> hasher.hash(rawPassword));
+    }
+    
+    // Resolves to false for unknown or malformed hashes; a null hash still costs one hash so
+    // unknown emails are not distinguishable by response time.
+    public CompletableFuture<Boolean> verify(String rawPassword, String encodedPassword) {
+        return submit(() -> {
+            if (encodedPassword == null) {
+                hasher.hash(rawPassword);
+                return false;
+            }
+            if (hasher.supports(encodedPassword)) {
+                return hasher.matches(rawPassword, encodedPassword);
+            }
+            return legacyHasher.matches(rawPassword, encodedPassword);
+        });
+    }
+    
+    public boolean needsUpgrade(String encodedPassword) {
+        return !hasher.supports(encodedPassword) || hasher.needsRehash(encodedPassword);
+    }
+    
+    public void recordUpgrade() {
+        upgraded.increment();
+    }
+    
+    public PasswordHashingStats getStats() {
+        long count = completed.sum();
+        return new PasswordHashingStats(
+                executor.getPoolSize(),
+                executor.getActiveCount(),
+                executor.getQueue().size(),
+                queueCapacity,
+                count,
+                rejected.sum(),
+                upgraded.sum(),
+                count > 0 ? hashNanos.sum() / 1e6 / count : 0.0,
+                maxHashNanos.get() / 1e6,
+                count > 0 ? waitNanos.sum() / 1e6 / count : 0.0);
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+    
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        long enqueuedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                long startedAt = System.nanoTime();
+                try {
+                    return task.get();
+                } finally {
+                    long elapsed = System.nanoTime() - startedAt;
+                    waitNanos.add(startedAt - enqueuedAt);
+                    hashNanos.add(elapsed);
+                    maxHashNanos.accumulateAndGet(elapsed, Math::max);
+                    completed.increment();
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+    
+    private static final class HasherThreadFactory implements ThreadFactory {
+        
+        private final AtomicInteger counter = new AtomicInteger();
+        
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hasher-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.leaveflow.service;
+
+import io.micronaut.serde.annotation.Serdeable;
+
+@Serdeable
+public record PasswordHashingStats(
+        int poolSize,
+        int activeCount,
+        int queueDepth,
+        int queueCapacity,
+        long completed,
+        long rejected,
+        long upgraded,
+        double meanHashMillis,
+        double maxHashMillis,
+        double meanQueueWaitMillis) {
+}
\ No newline at end of file
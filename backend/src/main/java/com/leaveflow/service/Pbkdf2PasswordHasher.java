@@ -0,0 +1,92 @@
+package com.leaveflow.service;
+
+import io.micronaut.context.annotation.Value;
+import jakarta.inject.Singleton;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+// Salted PBKDF2-HMAC-SHA256. Encoded as "pbkdf2-sha256$<iterations>$<salt>$<hash>" (Base64, no padding),
+// so the work factor can be raised later and older hashes are upgraded on the next login.
+@Singleton
+public class Pbkdf2PasswordHasher implements PasswordHasher {
+    
+    private static final String PREFIX = "pbkdf2-sha256";
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+    
+    private static final Base64.Encoder ENCODER = Base64.getEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getDecoder();
+    
+    private final SecureRandom random = new SecureRandom();
+    private final int iterations;
+    
+    public Pbkdf2PasswordHasher(@Value("${leaveflow.password.pbkdf2.iterations:210000}") int iterations) {
+        if (iterations < 1) {
+            throw new IllegalArgumentException("PBKDF2 iterations must be positive");
+        }
+        this.iterations = iterations;
+    }
+    
+    @Override
+    public String hash(String rawPassword) {
+        byte[] salt = new byte[SALT_BYTES];
+        random.nextBytes(salt);
+        byte[] hash = derive(rawPassword, salt, iterations);
+        return PREFIX + "$" + iterations + "$" + ENCODER.encodeToString(salt) + "$" + ENCODER.encodeToString(hash);
+    }
+    
+    @Override
+    public boolean matches(String rawPassword, String encodedPassword) {
+        String[] parts = split(encodedPassword);
+        if (parts == null) {
+            return false;
+        }
+        byte[] expected = DECODER.decode(parts[3]);
+        byte[] actual = derive(rawPassword, DECODER.decode(parts[2]), Integer.parseInt(parts[1]));
+        return MessageDigest.isEqual(expected, actual);
+    }
+    
+    @Override
+    public boolean supports(String encodedPassword) {
+        return split(encodedPassword) != null;
+    }
+    
+    @Override
+    public boolean needsRehash(String encodedPassword) {
+        String[] parts = split(encodedPassword);
+        return parts == null || Integer.parseInt(parts[1]) < iterations;
+    }
+    
+    public int getIterations() {
+        return iterations;
+    }
+    
+    private static String[] split(String encodedPassword) {
+        if (encodedPassword == null || !encodedPassword.startsWith(PREFIX + "$")) {
+            return null;
+        }
+        String[] parts = encodedPassword.split("\\$");
+        if (parts.length != 4 || parts[1].isEmpty() || parts[1].length() > 9
+                || !parts[1].chars().allMatch(Character::isDigit)) {
+            return null;
+        }
+        return parts;
+    }
+    
+    private static byte[] derive(String rawPassword, byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(rawPassword.toCharArray(), salt, iterations, HASH_BITS);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Error hashing password", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.leaveflow.service;
+
+import io.micronaut.serde.annotation.Serdeable;
+
+@Serdeable
+public record RateLimitStats(
+        boolean enabled,
+        int trackedAddresses,
+        long addressAdmitted,
+        long addressLimited,
+        int trackedEmails,
+        long emailAdmitted,
+        long emailLimited) {
+}
\ No newline at end of file
@@ -0,0 +1,261 @@
+package com.leaveflow.service;
+
+import com.leaveflow.entity.Role;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.data.connection.jdbc.advice.DelegatingDataSource;
+import io.micronaut.scheduling.TaskExecutors;
+import io.micronaut.scheduling.annotation.Scheduled;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.LongAdder;
+
+// Opaque refresh tokens that renew the short-lived access tokens. The client holds 256 random bits;
+// refresh_token stores only their SHA-256, so the table yields no usable token. Every refresh rotates:
+// the presented token is marked used and the next token of the same family (one per login) is issued.
+// A used token presented again has been copied, so the whole family is deleted and its holder has to
+// log in again - unless it comes within reuse-grace of the rotation, which is two tabs of one browser
+// refreshing at once; that request is refused and the family kept. Used rows are kept until they expire
+// for that check, then purged. /api/auth/refresh is anonymous, so tokens are looked up on the read pool
+// first and only a request naming a live row takes a turn on the writer thread.
+@Singleton
+public class RefreshTokenService {
+    
+    private static final Logger LOG = LoggerFactory.getLogger(RefreshTokenService.class);
+    private static final int TOKEN_BYTES = 32;
+    
+    private final DataSource dataSource;
+    private final WriteScheduler writeScheduler;
+    private final JwtService jwtService;
+    private final ExecutorService blockingExecutor;
+    private final Duration lifetime;
+    private final Duration reuseGrace;
+    private final SecureRandom random = new SecureRandom();
+    
+    private final LongAdder issued = new LongAdder();
+    private final LongAdder rotated = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder reused = new LongAdder();
+    private final LongAdder purged = new LongAdder();
+    
+    public RefreshTokenService(@Named("read") DataSource dataSource, WriteScheduler writeScheduler,
+                               JwtService jwtService,
+                               @Named(TaskExecutors.BLOCKING) ExecutorService blockingExecutor,
+                               @Value("${leaveflow.jwt.refresh-token-lifetime:14d}") Duration lifetime,
+                               @Value("${leaveflow.jwt.refresh-reuse-grace:30s}") Duration reuseGrace) {
+        this.dataSource = DelegatingDataSource.unwrapDataSource(dataSource);
+        this.writeScheduler = writeScheduler;
+        this.jwtService = jwtService;
+        this.blockingExecutor = blockingExecutor;
+        this.lifetime = lifetime;
+        this.reuseGrace = reuseGrace;
+    }
+    
+    // The first refresh token of a new family, for a login or registration
+    public CompletableFuture<String> issue(Long userId) {
+        String token = newToken();
+        long family = random.nextLong();
+        Instant now = Instant.now();
+        return writeScheduler.submitJdbc(connection -> {
+            insert(connection, token, userId, family, now);
+            issued.increment();
+            return token;
+        });
+    }
+    
+    // Exchanges a refresh token for a new access token and the next refresh token. Empty when the token is
+    // unknown, expired or already used, or its user has been deactivated.
+    public CompletableFuture<Optional<TokenPair>> rotate(String refreshToken) {
+        String hash = hash(refreshToken);
+        String next = newToken();
+        Instant now = Instant.now();
+        return CompletableFuture.supplyAsync(() -> read(hash), blockingExecutor)
+                .thenCompose(row -> {
+                    if (row.isEmpty() || decide(row.get(), now) == Decision.REJECT) {
+                        rejected.increment();
+                        return CompletableFuture.completedFuture(Optional.<Session>empty());
+                    }
+                    // The row may have changed since the read; decide again inside the transaction
+                    return writeScheduler.submitJdbc(connection -> WriteScheduler.inTransaction(connection,
+                            transaction -> rotate(transaction, hash, next, now)));
+                })
+                .thenApply(session -> session.map(s -> new TokenPair(jwtService.generateToken(s.userId, s.role), next)));
+    }
+    
+    // Logout: deletes the family of the token, so neither it nor any token rotated from the same login
+    // can be used again. Unknown tokens are ignored without a write.
+    public void revoke(String refreshToken) {
+        String hash = hash(refreshToken);
+        Optional<Row> row = read(hash);
+        if (row.isEmpty()) {
+            return;
+        }
+        try {
+            writeScheduler.executeJdbc(connection -> deleteFamily(connection, row.get().family));
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to revoke refresh token", e);
+        }
+    }
+    
+    @Scheduled(fixedDelay = "${leaveflow.token-revocation.purge-interval:1h}",
+               initialDelay = "${leaveflow.token-revocation.purge-interval:1h}")
+    void purge() {
+        try {
+            int deleted = writeScheduler.executeJdbc(connection -> {
+                try (PreparedStatement delete = connection.prepareStatement(
+                        "DELETE FROM refresh_token WHERE expires_at <= ?")) {
+                    delete.setTimestamp(1, Timestamp.from(Instant.now()));
+                    return delete.executeUpdate();
+                }
+            });
+            purged.add(deleted);
+        } catch (SQLException | RuntimeException e) {
+            LOG.warn("Failed to purge refresh tokens: {}", e.getMessage());
+        }
+    }
+    
+    public RefreshTokenStats getStats() {
+        return new RefreshTokenStats(
+                issued.sum(),
+                rotated.sum(),
+                rejected.sum(),
+                reused.sum(),
+                purged.sum());
+    }
+    
+    private void insert(Connection connection, String token, Long userId, long family, Instant now)
+            throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO refresh_token (token_hash, user_id, family_id, expires_at, created_at) "
+                        + "VALUES (?, ?, ?, ?, ?)")) {
+            insert.setString(1, hash(token));
+            insert.setLong(2, userId);
+            insert.setLong(3, family);
+            insert.setTimestamp(4, Timestamp.from(now.plus(lifetime)));
+            insert.setTimestamp(5, Timestamp.from(now));
+            insert.executeUpdate();
+        }
+    }
+    
+    private Optional<Session> rotate(Connection transaction, String hash, String next, Instant now)
+            throws SQLException {
+        Optional<Row> found = select(transaction, hash);
+        if (found.isEmpty()) {
+            rejected.increment();
+            return Optional.empty();
+        }
+        Row row = found.get();
+        switch (decide(row, now)) {
+            case REVOKE_FAMILY -> {
+                deleteFamily(transaction, row.family);
+                reused.increment();
+                LOG.warn("Refresh token of user {} was presented twice; its login has been revoked", row.userId);
+                return Optional.empty();
+            }
+            case REJECT -> {
+                rejected.increment();
+                return Optional.empty();
+            }
+            default -> {
+                try (PreparedStatement update = transaction.prepareStatement(
+                        "UPDATE refresh_token SET used_at = ? WHERE token_hash = ?")) {
+                    update.setTimestamp(1, Timestamp.from(now));
+                    update.setString(2, hash);
+                    update.executeUpdate();
+                }
+                insert(transaction, next, row.userId, row.family, now);
+                rotated.increment();
+                return Optional.of(new Session(row.userId, row.role));
+            }
+        }
+    }
+    
+    private Decision decide(Row row, Instant now) {
+        if (row.usedAt != null) {
+            return now.isBefore(row.usedAt.plus(reuseGrace)) ? Decision.REJECT : Decision.REVOKE_FAMILY;
+        }
+        if (!now.isBefore(row.expiresAt) || !row.active) {
+            return Decision.REJECT;
+        }
+        return Decision.ROTATE;
+    }
+    
+    private Optional<Row> read(String hash) {
+        try (Connection connection = dataSource.getConnection()) {
+            return select(connection, hash);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to look up refresh token", e);
+        }
+    }
+    
+    private static Optional<Row> select(Connection connection, String hash) throws SQLException {
+        try (PreparedStatement select = connection.prepareStatement(
+                "SELECT r.user_id, r.family_id, r.expires_at, r.used_at, u.role, u.active "
+                        + "FROM refresh_token r JOIN users u ON u.id = r.user_id WHERE r.token_hash = ?")) {
+            select.setString(1, hash);
+            try (ResultSet rs = select.executeQuery()) {
+                if (!rs.next()) {
+                    return Optional.empty();
+                }
+                Timestamp usedAt = rs.getTimestamp(4);
+                return Optional.of(new Row(
+                        rs.getLong(1),
+                        rs.getLong(2),
+                        rs.getTimestamp(3).toInstant(),
+                        usedAt != null ? usedAt.toInstant() : null,
+                        Role.fromCode(rs.getInt(5)),
+                        rs.getBoolean(6)));
+            }
+        }
+    }
+    
+    private static int deleteFamily(Connection connection, long family) throws SQLException {
+        try (PreparedStatement delete = connection.prepareStatement(
+                "DELETE FROM refresh_token WHERE family_id = ?")) {
+            delete.setLong(1, family);
+            return delete.executeUpdate();
+        }
+    }
+    
+    private String newToken() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+    
+    private static String hash(String token) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(md.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+    
+    public record TokenPair(String accessToken, String refreshToken) {}
+    
+    private record Session(Long userId, Role role) {}
+    
+    private record Row(Long userId, long family, Instant expiresAt, Instant usedAt, Role role, boolean active) {}
+    
+    private enum Decision { ROTATE, REJECT, REVOKE_FAMILY }
+}
\ No newline at end of file
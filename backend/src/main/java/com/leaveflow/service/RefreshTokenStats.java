@@ -0,0 +1,12 @@
+package com.leaveflow.service;
+
+import io.micronaut.serde.annotation.Serdeable;
+
+@Serdeable
+public record RefreshTokenStats(
+        long issued,
+        long rotated,
+        long rejected,
+        long reuseDetected,
+        long purged) {
+}
\ No newline at end of file
@@ -0,0 +1,221 @@
+package com.leaveflow.service;
+
+import io.micronaut.context.annotation.Value;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.json.JsonMapper;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+// Serialized JSON bodies of read-mostly GETs, keyed by resource, each with an ETag computed from the
+// version of the data it was built from (updatedAt for users and leaves). A hit costs neither a query
+// nor a serialization pass, and a client whose If-None-Match still matches gets a 304 without a body.
+// Entries loaded from the database are dropped once a write to their rows has committed (LeaveService
+// for leaves, UserCacheInvalidator for users); bodies of in-memory values are checked against the
+// current value's version on every call instead.
+@Singleton
+public class ResponseCache {
+    
+    public static final String USERS_KEY = "users";
+    
+    private final JsonMapper jsonMapper;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    // Bumped on every invalidation; a load that overlaps one is returned but not cached
+    private final AtomicLong generation = new AtomicLong();
+    private final int maxSize;
+    private final Duration ttl;
+    private final Clock clock;
+    
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder notModified = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    
+    @Inject
+    public ResponseCache(JsonMapper jsonMapper,
+                         @Value("${leaveflow.response-cache.max-size:10000}") int maxSize,
+                         @Value("${leaveflow.response-cache.ttl:10m}") Duration ttl) {
+        this(jsonMapper, maxSize, ttl, Clock.systemUTC());
+    }
+    
+    ResponseCache(JsonMapper jsonMapper, int maxSize, Duration ttl, Clock clock) {
+        this.jsonMapper = jsonMapper;
+        this.maxSize = maxSize;
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+    
+    // The cached body for key, or the loaded value serialized and cached; empty when the loader finds nothing.
+    // Only for keys whose writes call invalidate.
+    public <T> Optional<Cached<T>> load(String key, Supplier<Optional<T>> loader, ToLongFunction<T> version) {
+        Cached<T> cached = live(key);
+        if (cached != null) {
+            hits.increment();
+            return Optional.of(cached);
+        }
+        misses.increment();
+        long seen = generation.get();
+        return loader.get().map(value -> put(key, value, version.applyAsLong(value), seen));
+    }
+    
+    // For a value already in memory: reuses the cached body while it was built from the same version
+    public <T> Cached<T> of(String key, T value, long version) {
+        String etag = etag(version);
+        Cached<T> cached = live(key);
+        if (cached != null && cached.etag.equals(etag)) {
+            hits.increment();
+            return new Cached<>(value, etag, cached.body);
+        }
+        misses.increment();
+        return put(key, value, version, generation.get());
+    }
+    
+    // True when an If-None-Match header names the cached body's ETag (or is "*")
+    public boolean isNotModified(@Nullable String ifNoneMatch, Cached<?> cached) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            // Weak comparison, as If-None-Match requires
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(cached.etag)) {
+                notModified.increment();
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    public void invalidate(String key) {
+        generation.incrementAndGet();
+        entries.remove(key);
+        invalidations.increment();
+    }
+    
+    public void clear() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+    
+    public ResponseCacheStats getStats() {
+        long hitCount = hits.sum();
+        long lookups = hitCount + misses.sum();
+        return new ResponseCacheStats(
+                entries.size(),
+                maxSize,
+                hitCount,
+                misses.sum(),
+                notModified.sum(),
+                evictions.sum(),
+                invalidations.sum(),
+                lookups > 0 ? (double) hitCount / lookups : 0.0);
+    }
+    
+    public static String leaveKey(Long leaveId) {
+        return "leave:" + leaveId;
+    }
+    
+    public static String balanceKey(Long userId) {
+        return "balance:" + userId;
+    }
+    
+    // Folds the fields a body depends on into one version number
+    public static long version(long... parts) {
+        long version = 17;
+        for (long part : parts) {
+            version = version * 31 + part;
+        }
+        return version;
+    }
+    
+    public static long stamp(@Nullable LocalDateTime time) {
+        if (time == null) {
+            return 0;
+        }
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + time.getNano();
+    }
+    
+    @SuppressWarnings("unchecked")
+    private <T> Cached<T> live(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (!clock.instant().isBefore(entry.evictAt)) {
+            remove(key, entry);
+            return null;
+        }
+        return (Cached<T>) entry.cached;
+    }
+    
+    private <T> Cached<T> put(String key, T value, long version, long seen) {
+        Cached<T> cached;
+        try {
+            cached = new Cached<>(value, etag(version), jsonMapper.writeValueAsBytes(value));
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not serialize " + key, e);
+        }
+        if (maxSize <= 0) {
+            return cached;
+        }
+        Instant now = clock.instant();
+        if (entries.size() >= maxSize) {
+            evict(now);
+        }
+        Entry entry = new Entry(cached, now.plus(ttl));
+        entries.put(key, entry);
+        // An invalidation during the load may mean the row we read is already stale
+        if (generation.get() != seen) {
+            entries.remove(key, entry);
+        }
+        return cached;
+    }
+    
+    // Drop expired entries first; if the cache is still full, shed arbitrary entries down to 3/4 capacity
+    private void evict(Instant now) {
+        entries.forEach((key, entry) -> {
+            if (!now.isBefore(entry.evictAt)) {
+                remove(key, entry);
+            }
+        });
+        int target = maxSize - Math.max(1, maxSize / 4);
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (entries.size() > target && it.hasNext()) {
+            Map.Entry<String, Entry> next = it.next();
+            remove(next.getKey(), next.getValue());
+        }
+    }
+    
+    private void remove(String key, Entry entry) {
+        if (entries.remove(key, entry)) {
+            evictions.increment();
+        }
+    }
+    
+    private static String etag(long version) {
+        return "\"" + Long.toHexString(version) + "\"";
+    }
+    
+    // The value is kept for checks that need it (such as who owns a leave); the body is sent as is
+    public record Cached<T>(T value, String etag, byte[] body) {}
+    
+    private record Entry(Cached<?> cached, Instant evictAt) {}
+}
\ No newline at end of file
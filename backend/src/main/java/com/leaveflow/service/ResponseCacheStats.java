@@ -0,0 +1,15 @@
+package com.leaveflow.service;
+
+import io.micronaut.serde.annotation.Serdeable;
+
+@Serdeable
+public record ResponseCacheStats(
+        int size,
+        int maxSize,
+        long hits,
+        long misses,
+        long notModified,
+        long evictions,
+        long invalidations,
+        double hitRate) {
+}
\ No newline at end of file
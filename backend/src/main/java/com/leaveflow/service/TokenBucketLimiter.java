@@ -0,0 +1,129 @@
+package com.leaveflow.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+// Token buckets keyed by string, kept in their GCRA form: each key holds one "theoretical arrival time"
+// that every admitted request pushes one refill interval further, updated with a CAS so checks never
+// lock. A request is admitted while that time is less than a full burst ahead of now.
+// When the map reaches maxKeys it is swept: keys whose time has fallen behind now hold a full bucket and
+// carry no state, so they go first; then, down to 3/4 of maxKeys, the buckets closest to full (earliest
+// time). A bucket that is currently refusing requests is never dropped, since that would hand its key a
+// fresh burst. A flood of one-off keys therefore evicts its own nearly full buckets, and a newcomer still
+// gets a bucket of its own. Only if every bucket is refusing requests do new keys fall back to a small
+// set of shared buckets, picked by key hash so one drained stripe does not refuse every newcomer.
+public class TokenBucketLimiter {
+    
+    static final int OVERFLOW_STRIPES = 64;
+    
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final int maxKeys;
+    private final int sweepTarget;
+    private final LongSupplier nanoClock;
+    private final AtomicLong[] overflow = new AtomicLong[OVERFLOW_STRIPES];
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+    // After a sweep that could not make room, the next one waits a refill interval for buckets to recover
+    private volatile long nextSweep;
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder limited = new LongAdder();
+    
+    public TokenBucketLimiter(int burst, int perMinute, int maxKeys) {
+        this(burst, perMinute, maxKeys, System::nanoTime);
+    }
+    
+    TokenBucketLimiter(int burst, int perMinute, int maxKeys, LongSupplier nanoClock) {
+        this.intervalNanos = TimeUnit.MINUTES.toNanos(1) / Math.max(1, perMinute);
+        this.burstNanos = intervalNanos * Math.max(1, burst);
+        this.maxKeys = Math.max(1, maxKeys);
+        this.sweepTarget = this.maxKeys - Math.max(1, this.maxKeys / 4);
+        this.nanoClock = nanoClock;
+        long now = nanoClock.getAsLong();
+        for (int i = 0; i < OVERFLOW_STRIPES; i++) {
+            overflow[i] = new AtomicLong(now);
+        }
+        this.nextSweep = now;
+    }
+    
+    // Takes one token: 0 when admitted, otherwise the nanoseconds until the next token is available
+    public long tryAcquire(String key) {
+        long now = nanoClock.getAsLong();
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxKeys) {
+                sweep(now);
+            }
+            bucket = buckets.size() < maxKeys
+                    ? buckets.computeIfAbsent(key, k -> new AtomicLong(now))
+                    : overflow[stripe(key)];
+        }
+        return take(bucket, now);
+    }
+    
+    public int size() {
+        return buckets.size();
+    }
+    
+    public long admitted() {
+        return admitted.sum();
+    }
+    
+    public long limited() {
+        return limited.sum();
+    }
+    
+    // Times are compared as offsets from now here and in sweep, since nanoTime values may wrap
+    private long take(AtomicLong bucket, long now) {
+        while (true) {
+            long arrival = bucket.get();
+            long next = (arrival - now > 0 ? arrival : now) + intervalNanos;
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                limited.increment();
+                return wait;
+            }
+            if (bucket.compareAndSet(arrival, next)) {
+                admitted.increment();
+                return 0;
+            }
+        }
+    }
+    
+    // One thread sweeps at a time; the others go ahead and let the map overshoot briefly
+    private void sweep(long now) {
+        if (now - nextSweep < 0 || !sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+            int excess = buckets.size() - sweepTarget;
+            if (excess > 0) {
+                // Buckets past this offset would refuse their next request
+                long refusing = burstNanos - intervalNanos;
+                long[] evictable = buckets.values().stream()
+                        .mapToLong(bucket -> bucket.get() - now)
+                        .filter(offset -> offset <= refusing)
+                        .sorted()
+                        .toArray();
+                if (evictable.length > 0) {
+                    long cutoff = evictable[Math.min(excess, evictable.length) - 1];
+                    buckets.values().removeIf(bucket -> bucket.get() - now <= cutoff);
+                }
+            }
+            nextSweep = buckets.size() < maxKeys ? now : now + intervalNanos;
+        } finally {
+            sweeping.set(false);
+        }
+    }
+    
+    private static int stripe(String key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (OVERFLOW_STRIPES - 1);
+    }
+}
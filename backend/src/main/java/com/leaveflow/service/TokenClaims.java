@@ -0,0 +1,31 @@
+package com.leaveflow.service;
+
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+
+// The claims of an access token. tokenId is the jti claim, a random 64-bit id that JwtService writes in hex.
+// Tokens without one, or without a numeric subject, predate access tokens and are rejected.
+public record TokenClaims(
+        long tokenId,
+        Long userId,
+        String role,
+        Instant issuedAt,
+        Instant expiresAt) {
+    
+    static TokenClaims from(Claims claims) {
+        if (claims.getId() == null || claims.getSubject() == null) {
+            throw new IllegalArgumentException("Not an access token");
+        }
+        return new TokenClaims(
+                Long.parseUnsignedLong(claims.getId(), 16),
+                Long.valueOf(claims.getSubject()),
+                claims.get("role", String.class),
+                claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null);
+    }
+    
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !now.isBefore(expiresAt);
+    }
+}
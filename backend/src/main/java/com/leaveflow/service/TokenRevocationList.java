@@ -0,0 +1,136 @@
+package com.leaveflow.service;
+
+import io.micronaut.context.annotation.Value;
+import jakarta.inject.Singleton;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.LongAdder;
+
+// The denylist JwtService consults on every verification, so a logout or deactivation takes effect
+// before the token expires without a query per request. It holds revoked token ids (jti) with their
+// expiry, and per-user watermarks that reject every token of the user issued at or before them.
+// Almost no token is revoked, so a Bloom filter answers for those without a lock; only a filter hit
+// looks in the exact map, under the lock that guards revocations. Watermarks are few and rarely set,
+// so each change publishes a new copy of their map and reads take no lock at all. Tokens carry
+// whole-second issue times, so a watermark also rejects tokens issued later within its second.
+// TokenRevocationService persists both and drops entries no unexpired token can match.
+@Singleton
+public class TokenRevocationList {
+    
+    private final int expectedTokens;
+    private final double falsePositiveRate;
+    
+    private final Object lock = new Object();
+    // Token id -> expiry in epoch seconds; guarded by lock
+    private final LongLongHashMap revoked;
+    // Holds every key of revoked; replaced, never cleared, so readers always see a complete filter
+    private volatile LongBloomFilter filter;
+    // User id -> epoch second of the watermark; copy-on-write under lock
+    private volatile LongLongHashMap watermarks = new LongLongHashMap(0);
+    
+    private final LongAdder filterHits = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+    private final LongAdder rejectedById = new LongAdder();
+    private final LongAdder rejectedByWatermark = new LongAdder();
+    private final LongAdder purged = new LongAdder();
+    
+    public TokenRevocationList(@Value("${leaveflow.token-revocation.expected-tokens:100000}") int expectedTokens,
+                               @Value("${leaveflow.token-revocation.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.expectedTokens = Math.max(1, expectedTokens);
+        this.falsePositiveRate = falsePositiveRate;
+        this.revoked = new LongLongHashMap(this.expectedTokens);
+        this.filter = new LongBloomFilter(this.expectedTokens, falsePositiveRate);
+    }
+    
+    public boolean isRevoked(TokenClaims claims) {
+        if (claims.userId() != null && claims.issuedAt() != null) {
+            long watermark = watermarks.get(claims.userId(), Long.MIN_VALUE);
+            if (claims.issuedAt().getEpochSecond() <= watermark) {
+                rejectedByWatermark.increment();
+                return true;
+            }
+        }
+        long tokenId = claims.tokenId();
+        if (!filter.mightContain(tokenId)) {
+            return false;
+        }
+        filterHits.increment();
+        boolean found;
+        synchronized (lock) {
+            found = revoked.containsKey(tokenId);
+        }
+        (found ? rejectedById : falsePositives).increment();
+        return found;
+    }
+    
+    public void revoke(long tokenId, Instant expiresAt) {
+        synchronized (lock) {
+            revoked.put(tokenId, expiresAt.getEpochSecond());
+            if (revoked.size() > filter.capacity()) {
+                // Past its capacity the filter's false-positive rate climbs; start over at twice the size
+                rebuildFilter(revoked.size() * 2);
+            } else {
+                filter.add(tokenId);
+            }
+        }
+    }
+    
+    // Rejects every token of the user issued at or before issuedUpTo; an earlier watermark never replaces a later one
+    public void revokeIssuedUpTo(long userId, Instant issuedUpTo) {
+        long second = issuedUpTo.getEpochSecond();
+        synchronized (lock) {
+            if (watermarks.get(userId, Long.MIN_VALUE) >= second) {
+                return;
+            }
+            LongLongHashMap copy = watermarks.copy();
+            copy.put(userId, second);
+            watermarks = copy;
+        }
+    }
+    
+    // Drops revoked ids that have expired, and watermarks older than any token still valid at now.
+    // Returns how many entries were dropped.
+    public int purge(Instant now, long tokenLifetimeSeconds) {
+        long nowSecond = now.getEpochSecond();
+        int removed;
+        synchronized (lock) {
+            removed = revoked.removeIf((tokenId, expiresAt) -> expiresAt <= nowSecond);
+            if (removed > 0) {
+                rebuildFilter(Math.max(expectedTokens, revoked.size() * 2));
+            }
+            LongLongHashMap copy = watermarks.copy();
+            int removedWatermarks = copy.removeIf((userId, second) -> second + tokenLifetimeSeconds < nowSecond);
+            if (removedWatermarks > 0) {
+                watermarks = copy;
+            }
+            removed += removedWatermarks;
+        }
+        purged.add(removed);
+        return removed;
+    }
+    
+    public TokenRevocationStats getStats() {
+        int revokedCount;
+        long bits;
+        synchronized (lock) {
+            revokedCount = revoked.size();
+            bits = filter.bitCount();
+        }
+        return new TokenRevocationStats(
+                revokedCount,
+                watermarks.size(),
+                bits / 8,
+                filterHits.sum(),
+                falsePositives.sum(),
+                rejectedById.sum(),
+                rejectedByWatermark.sum(),
+                purged.sum());
+    }
+    
+    // Caller holds lock. The old filter stays published until the new one holds every key.
+    private void rebuildFilter(int capacity) {
+        LongBloomFilter rebuilt = new LongBloomFilter(Math.max(expectedTokens, capacity), falsePositiveRate);
+        revoked.forEach((tokenId, expiresAt) -> rebuilt.add(tokenId));
+        filter = rebuilt;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,157 @@
+package com.leaveflow.service;
+
+import io.micronaut.context.event.ApplicationEventListener;
+import io.micronaut.context.event.StartupEvent;
+import io.micronaut.data.connection.jdbc.advice.DelegatingDataSource;
+import io.micronaut.scheduling.annotation.Scheduled;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+
+// Makes revocations durable. Each revoked token id and user watermark is written to SQLite (revoked_token,
+// token_watermark) before it is added to the in-memory TokenRevocationList, the list is reloaded from the
+// tables on startup, and a scheduled purge deletes rows that no unexpired token can match any more.
+// Event streams opened with a revoked token are closed along with it.
+@Singleton
+public class TokenRevocationService implements ApplicationEventListener<StartupEvent> {
+    
+    private static final Logger LOG = LoggerFactory.getLogger(TokenRevocationService.class);
+    
+    private final DataSource dataSource;
+    private final WriteScheduler writeScheduler;
+    private final TokenRevocationList revocationList;
+    private final JwtService jwtService;
+    private final LeaveEventBus leaveEventBus;
+    
+    public TokenRevocationService(@Named("read") DataSource dataSource, WriteScheduler writeScheduler,
+                                  TokenRevocationList revocationList, JwtService jwtService,
+                                  LeaveEventBus leaveEventBus) {
+        this.dataSource = DelegatingDataSource.unwrapDataSource(dataSource);
+        this.writeScheduler = writeScheduler;
+        this.revocationList = revocationList;
+        this.jwtService = jwtService;
+        this.leaveEventBus = leaveEventBus;
+    }
+    
+    @Override
+    public void onApplicationEvent(StartupEvent event) {
+        Instant now = Instant.now();
+        int tokens = 0;
+        int watermarks = 0;
+        try (Connection connection = dataSource.getConnection()) {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "SELECT jti, expires_at FROM revoked_token WHERE expires_at > ?")) {
+                statement.setTimestamp(1, Timestamp.from(now));
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        revocationList.revoke(rs.getLong(1), rs.getTimestamp(2).toInstant());
+                        tokens++;
+                    }
+                }
+            }
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery("SELECT user_id, issued_up_to FROM token_watermark")) {
+                while (rs.next()) {
+                    revocationList.revokeIssuedUpTo(rs.getLong(1), rs.getTimestamp(2).toInstant());
+                    watermarks++;
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to load token revocations", e);
+        }
+        LOG.info("Token revocations loaded: {} revoked token(s), {} user watermark(s)", tokens, watermarks);
+    }
+    
+    // Revokes one access token until it expires
+    public void revoke(TokenClaims claims) {
+        Instant expiresAt = claims.expiresAt() != null
+                ? claims.expiresAt()
+                : Instant.now().plus(jwtService.getAccessTokenLifetime());
+        execute(connection -> {
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT OR REPLACE INTO revoked_token (jti, expires_at) VALUES (?, ?)")) {
+                insert.setLong(1, claims.tokenId());
+                insert.setTimestamp(2, Timestamp.from(expiresAt));
+                insert.executeUpdate();
+            }
+        });
+        revocationList.revoke(claims.tokenId(), expiresAt);
+        leaveEventBus.disconnectToken(claims.tokenId());
+    }
+    
+    // Revokes every access token the user holds now and deletes their refresh tokens, for deactivation or
+    // signing out everywhere
+    public void revokeAll(Long userId) {
+        Instant now = Instant.now();
+        execute(connection -> {
+            try (PreparedStatement refreshTokens = connection.prepareStatement(
+                    "DELETE FROM refresh_token WHERE user_id = ?");
+                 // Keeps the later watermark when one is already recorded
+                 PreparedStatement watermark = connection.prepareStatement(
+                         "INSERT INTO token_watermark (user_id, issued_up_to) VALUES (?, ?) "
+                                 + "ON CONFLICT (user_id) DO UPDATE SET issued_up_to = MAX(issued_up_to, excluded.issued_up_to)")) {
+                refreshTokens.setLong(1, userId);
+                refreshTokens.executeUpdate();
+                watermark.setLong(1, userId);
+                watermark.setTimestamp(2, Timestamp.from(now));
+                watermark.executeUpdate();
+            }
+        });
+        revocationList.revokeIssuedUpTo(userId, now);
+        leaveEventBus.disconnectIssuedUpTo(userId, now);
+    }
+    
+    @Scheduled(fixedDelay = "${leaveflow.token-revocation.purge-interval:1h}",
+               initialDelay = "${leaveflow.token-revocation.purge-interval:1h}")
+    void purge() {
+        Instant now = Instant.now();
+        long lifetime = jwtService.getAccessTokenLifetime().toSeconds();
+        int removed = revocationList.purge(now, lifetime);
+        try {
+            execute(connection -> {
+                try (PreparedStatement tokens = connection.prepareStatement(
+                        "DELETE FROM revoked_token WHERE expires_at <= ?");
+                     PreparedStatement watermarks = connection.prepareStatement(
+                             "DELETE FROM token_watermark WHERE issued_up_to < ?")) {
+                    tokens.setTimestamp(1, Timestamp.from(now));
+                    tokens.executeUpdate();
+                    watermarks.setTimestamp(1, Timestamp.from(now.minusSeconds(lifetime)));
+                    watermarks.executeUpdate();
+                }
+            });
+        } catch (RuntimeException e) {
+            // The rows are skipped on the next load anyway, or purged on the next run
+            LOG.warn("Failed to purge token revocations: {}", e.getMessage());
+            return;
+        }
+        if (removed > 0) {
+            LOG.info("Purged {} expired token revocation(s)", removed);
+        }
+    }
+    
+    private void execute(Statements statements) {
+        try {
+            writeScheduler.executeJdbc(connection -> WriteScheduler.inTransaction(connection, transaction -> {
+                statements.run(transaction);
+                return null;
+            }));
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to record token revocation", e);
+        }
+    }
+    
+    @FunctionalInterface
+    private interface Statements {
+        void run(Connection connection) throws SQLException;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.leaveflow.service;
+
+import io.micronaut.serde.annotation.Serdeable;
+
+@Serdeable
+public record TokenRevocationStats(
+        int revokedTokens,
+        int userWatermarks,
+        long filterBytes,
+        long filterHits,
+        long falsePositives,
+        long rejectedById,
+        long rejectedByWatermark,
+        long purged) {
+}
\ No newline at end of file
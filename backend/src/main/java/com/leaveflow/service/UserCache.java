@@ -0,0 +1,193 @@
+package com.leaveflow.service;
+
+import com.leaveflow.dto.UserResponse;
+import com.leaveflow.entity.User;
+import com.leaveflow.repository.UserReadRepository;
+import io.micronaut.context.annotation.Value;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Read-through cache of users by id and by email in front of UserReadRepository. Each entry keeps a
+// private copy of the entity plus a pre-built UserResponse. Entries are dropped by UserCacheInvalidator
+// when a user is written, and otherwise live until the TTL elapses or the size bound sheds them.
+@Singleton
+public class UserCache {
+    
+    private final UserReadRepository userReadRepository;
+    private final Map<Long, Entry> byId = new ConcurrentHashMap<>();
+    private final Map<String, Long> idByEmail = new ConcurrentHashMap<>();
+    // Bumped on every invalidation; a load that overlaps one is returned but not cached
+    private final AtomicLong generation = new AtomicLong();
+    private final int maxSize;
+    private final Duration ttl;
+    private final Clock clock;
+    
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    
+    @Inject
+    public UserCache(UserReadRepository userReadRepository,
+                     @Value("${leaveflow.user-cache.max-size:10000}") int maxSize,
+                     @Value("${leaveflow.user-cache.ttl:10m}") Duration ttl) {
+        this(userReadRepository, maxSize, ttl, Clock.systemUTC());
+    }
+    
+    UserCache(UserReadRepository userReadRepository, int maxSize, Duration ttl, Clock clock) {
+        this.userReadRepository = userReadRepository;
+        this.maxSize = maxSize;
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+    
+    // Returns a copy the caller may modify without affecting the cache
+    public Optional<User> findById(Long id) {
+        return entry(id).map(entry -> copyOf(entry.user));
+    }
+    
+    public Optional<User> findByEmail(String email) {
+        Long id = idByEmail.get(email);
+        if (id != null) {
+            Entry entry = live(id, clock.instant());
+            if (entry != null && entry.user.getEmail().equals(email)) {
+                hits.increment();
+                return Optional.of(copyOf(entry.user));
+            }
+        }
+        misses.increment();
+        long seen = generation.get();
+        Optional<User> loaded = userReadRepository.findByEmail(email);
+        loaded.ifPresent(user -> put(user, seen));
+        return loaded;
+    }
+    
+    public Optional<UserResponse> findResponseById(Long id) {
+        return entry(id).map(entry -> entry.response);
+    }
+    
+    public Optional<UserResponse> cachedResponse(User user) {
+        Entry entry = live(user.getId(), clock.instant());
+        if (entry == null || !Objects.equals(entry.user.getUpdatedAt(), user.getUpdatedAt())) {
+            return Optional.empty();
+        }
+        return Optional.of(entry.response);
+    }
+    
+    public void invalidate(Long userId) {
+        generation.incrementAndGet();
+        Entry entry = byId.remove(userId);
+        if (entry != null) {
+            idByEmail.remove(entry.user.getEmail(), userId);
+        }
+        invalidations.increment();
+    }
+    
+    public void clear() {
+        generation.incrementAndGet();
+        byId.clear();
+        idByEmail.clear();
+    }
+    
+    public UserCacheStats getStats() {
+        long hitCount = hits.sum();
+        long lookups = hitCount + misses.sum();
+        return new UserCacheStats(
+                byId.size(),
+                maxSize,
+                hitCount,
+                misses.sum(),
+                evictions.sum(),
+                invalidations.sum(),
+                lookups > 0 ? (double) hitCount / lookups : 0.0);
+    }
+    
+    private Optional<Entry> entry(Long id) {
+        Entry entry = live(id, clock.instant());
+        if (entry != null) {
+            hits.increment();
+            return Optional.of(entry);
+        }
+        misses.increment();
+        long seen = generation.get();
+        return userReadRepository.findById(id).map(user -> put(user, seen));
+    }
+    
+    private Entry live(Long id, Instant now) {
+        Entry entry = byId.get(id);
+        if (entry == null) {
+            return null;
+        }
+        if (!now.isBefore(entry.evictAt)) {
+            remove(id, entry);
+            return null;
+        }
+        return entry;
+    }
+    
+    private Entry put(User user, long seen) {
+        Instant now = clock.instant();
+        Entry entry = new Entry(copyOf(user), UserResponse.from(user), now.plus(ttl));
+        if (maxSize <= 0) {
+            return entry;
+        }
+        if (byId.size() >= maxSize) {
+            evict(now);
+        }
+        byId.put(user.getId(), entry);
+        idByEmail.put(user.getEmail(), user.getId());
+        // An invalidation during the load may mean the row we read is already stale
+        if (generation.get() != seen) {
+            byId.remove(user.getId(), entry);
+            idByEmail.remove(user.getEmail(), user.getId());
+        }
+        return entry;
+    }
+    
+    // Drop expired entries first; if the cache is still full, shed arbitrary entries down to 3/4 capacity
+    private void evict(Instant now) {
+        byId.forEach((id, entry) -> {
+            if (!now.isBefore(entry.evictAt)) {
+                remove(id, entry);
+            }
+        });
+        int target = maxSize - Math.max(1, maxSize / 4);
+        Iterator<Map.Entry<Long, Entry>> it = byId.entrySet().iterator();
+        while (byId.size() > target && it.hasNext()) {
+            Map.Entry<Long, Entry> next = it.next();
+            remove(next.getKey(), next.getValue());
+        }
+    }
+    
+    private void remove(Long id, Entry entry) {
+        if (byId.remove(id, entry)) {
+            idByEmail.remove(entry.user.getEmail(), id);
+            evictions.increment();
+        }
+    }
+    
+    private static User copyOf(User user) {
+        User copy = new User(user.getFirstName(), user.getLastName(), user.getEmail(), user.getPassword(), user.getRole());
+        copy.setId(user.getId());
+        copy.setActive(user.isActive());
+        copy.setAnnualLeaveBalance(user.getAnnualLeaveBalance());
+        copy.setSickLeaveBalance(user.getSickLeaveBalance());
+        copy.setCasualLeaveBalance(user.getCasualLeaveBalance());
+        copy.setCreatedAt(user.getCreatedAt());
+        copy.setUpdatedAt(user.getUpdatedAt());
+        return copy;
+    }
+    
+    private record Entry(User user, UserResponse response, Instant evictAt) {}
+}
\ No newline at end of file
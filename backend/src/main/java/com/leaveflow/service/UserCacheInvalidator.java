@@ -0,0 +1,61 @@
+package com.leaveflow.service;
+
+import com.leaveflow.entity.User;
+import io.micronaut.context.BeanProvider;
+import io.micronaut.data.event.EntityEventContext;
+import io.micronaut.data.event.EntityEventListener;
+import io.micronaut.transaction.TransactionOperations;
+import io.micronaut.transaction.support.TransactionSynchronization;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+
+// Drops cached users, and the cached user-list response, when they are written. Fires on entity lifecycle
+// events for repository saves/updates, and is called directly for bulk UPDATE queries, which raise no
+// entity events.
+// The entry is dropped immediately and again when the transaction completes, so a reader that
+// loaded the pre-commit row in between cannot leave it cached.
+@Singleton
+public class UserCacheInvalidator implements EntityEventListener<User> {
+    
+    // Providers, because entity listeners are resolved while the session factory is being built
+    private final BeanProvider<UserCache> userCache;
+    private final BeanProvider<ResponseCache> responseCache;
+    private final BeanProvider<TransactionOperations<?>> transactionOperations;
+    
+    public UserCacheInvalidator(BeanProvider<UserCache> userCache, BeanProvider<ResponseCache> responseCache,
+                                @Named("default") BeanProvider<TransactionOperations<?>> transactionOperations) {
+        this.userCache = userCache;
+        this.responseCache = responseCache;
+        this.transactionOperations = transactionOperations;
+    }
+    
+    @Override
+    public void postPersist(EntityEventContext<User> context) {
+        invalidate(context.getEntity().getId());
+    }
+    
+    @Override
+    public void postUpdate(EntityEventContext<User> context) {
+        invalidate(context.getEntity().getId());
+    }
+    
+    @Override
+    public void postRemove(EntityEventContext<User> context) {
+        invalidate(context.getEntity().getId());
+    }
+    
+    public void invalidate(Long userId) {
+        UserCache cache = userCache.get();
+        ResponseCache responses = responseCache.get();
+        cache.invalidate(userId);
+        responses.invalidate(ResponseCache.USERS_KEY);
+        transactionOperations.get().findTransactionStatus().ifPresent(status ->
+                status.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(Status completion) {
+                        cache.invalidate(userId);
+                        responses.invalidate(ResponseCache.USERS_KEY);
+                    }
+                }));
+    }
+}
\ No newline at end of file
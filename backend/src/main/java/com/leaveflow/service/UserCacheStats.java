@@ -0,0 +1,14 @@
+package com.leaveflow.service;
+
+import io.micronaut.serde.annotation.Serdeable;
+
+@Serdeable
+public record UserCacheStats(
+        int size,
+        int maxSize,
+        long hits,
+        long misses,
+        long evictions,
+        long invalidations,
+        double hitRate) {
+}
\ No newline at end of file
@@ -1,103 +1,197 @@
 package com.leaveflow.service;
 
+import com.leaveflow.entity.LeaveType;
+import com.leaveflow.entity.Role;
 import com.leaveflow.entity.User;
+import com.leaveflow.repository.UserReadRepository;
 import com.leaveflow.repository.UserRepository;
 import com.leaveflow.dto.RegisterRequest;
 import com.leaveflow.dto.UserResponse;
+import com.leaveflow.dto.UserSummary;
 
+import io.micronaut.scheduling.TaskExecutors;
 import jakarta.inject.Singleton;
-import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.LongAdder;
 
 @Singleton
 public class UserService {
     
-    @Inject
-    private UserRepository userRepository;
+    private static final Logger LOG = LoggerFactory.getLogger(UserService.class);
+    
+    private final UserRepository userRepository;
+    private final UserReadRepository userReadRepository;
+    private final UserCache userCache;
+    private final UserCacheInvalidator userCacheInvalidator;
+    private final WriteScheduler writeScheduler;
+    private final PasswordHashingEngine passwordHashingEngine;
+    private final LeaveBalanceService leaveBalanceService;
+    private final TokenRevocationService tokenRevocationService;
+    private final ExecutorService blockingExecutor;
+    
+    private final LongAdder loginsSucceeded = new LongAdder();
+    private final LongAdder loginsFailed = new LongAdder();
+    private final LongAdder lookupNanos = new LongAdder();
+    private final LongAdder verifyNanos = new LongAdder();
+    
+    public UserService(UserRepository userRepository, UserReadRepository userReadRepository, UserCache userCache,
+                       UserCacheInvalidator userCacheInvalidator, WriteScheduler writeScheduler, PasswordHashingEngine passwordHashingEngine,
+                       LeaveBalanceService leaveBalanceService, TokenRevocationService tokenRevocationService,
+                       @Named(TaskExecutors.BLOCKING) ExecutorService blockingExecutor) {
+        this.userRepository = userRepository;
+        this.userReadRepository = userReadRepository;
+        this.userCache = userCache;
+        this.userCacheInvalidator = userCacheInvalidator;
+        this.writeScheduler = writeScheduler;
+        this.passwordHashingEngine = passwordHashingEngine;
+        this.leaveBalanceService = leaveBalanceService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.blockingExecutor = blockingExecutor;
+    }
     
     public Optional<User> findByEmail(String email) {
-        return userRepository.findByEmail(email);
+        return userCache.findByEmail(email);
     }
     
-    public Optional<User> authenticate(String email, String password) {
-        String hashedPassword = hashPassword(password);
-        return userRepository.findByEmailAndPassword(email, hashedPassword);
+    // Looks the user up by email on the blocking executor, then compares the hash in memory on the hashing pool.
+    // Hashes from older schemes are re-hashed and saved after a successful match. The time spent in each
+    // phase is recorded, so getAuthStats() shows whether logins wait on the lookup or on hashing.
+    public CompletableFuture<Optional<User>> authenticate(String email, String password) {
+        return CompletableFuture.supplyAsync(() -> {
+                    long start = System.nanoTime();
+                    Optional<User> userOpt = userCache.findByEmail(email);
+                    lookupNanos.add(System.nanoTime() - start);
+                    return userOpt;
+                }, blockingExecutor)
+                .thenCompose(userOpt -> {
+                    long start = System.nanoTime();
+                    return passwordHashingEngine
+                            .verify(password, userOpt.map(User::getPassword).orElse(null))
+                            .thenApply(matches -> {
+                                verifyNanos.add(System.nanoTime() - start);
+                                // A deactivated user cannot log in, even with the right password
+                                boolean accepted = matches && userOpt.map(User::isActive).orElse(false);
+                                (accepted ? loginsSucceeded : loginsFailed).increment();
+                                return accepted ? userOpt : Optional.<User>empty();
+                            });
+                })
+                .thenCompose(userOpt -> {
+                    if (userOpt.isPresent() && passwordHashingEngine.needsUpgrade(userOpt.get().getPassword())) {
+                        return upgradePassword(userOpt.get(), password).thenApply(Optional::of);
+                    }
+                    return CompletableFuture.completedFuture(userOpt);
+                });
     }
     
-    public User register(RegisterRequest request) {
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw new RuntimeException("Email already exists");
+    // The user came from the cache, so only the hash is written, and only if nobody changed it meanwhile;
+    // writing the whole entity back could undo a deactivation or balance change made since it was cached
+    private CompletableFuture<User> upgradePassword(User user, String password) {
+        String previous = user.getPassword();
+        return passwordHashingEngine.hash(password)
+                .thenCompose(encoded -> writeScheduler.submit(() -> {
+                    if (userRepository.replacePassword(user.getId(), previous, encoded, LocalDateTime.now()) > 0) {
+                        userCacheInvalidator.invalidate(user.getId());
+                        passwordHashingEngine.recordUpgrade();
+                    }
+                    return user;
+                }))
+                .exceptionally(e -> {
+                    // The login itself succeeded; try again next time
+                    LOG.warn("Failed to upgrade password hash for user {}: {}", user.getId(), e.getMessage());
+                    return user;
+                });
+    }
+    
+    public CompletableFuture<User> register(RegisterRequest request) {
+        return passwordHashingEngine.hash(request.getPassword())
+                .thenCompose(encoded -> writeScheduler.submit(() -> {
+                    if (userRepository.existsByEmail(request.getEmail())) {
+                        throw new RuntimeException("Email already exists");
+                    }
+                    
+                    User user = new User();
+                    user.setFirstName(request.getFirstName());
+                    user.setLastName(request.getLastName());
+                    user.setEmail(request.getEmail());
+                    user.setPassword(encoded);
+                    user.setRole(Role.parse(request.getRole()));
+                    
+                    User saved = userRepository.save(user);
+                    leaveBalanceService.openAccount(saved);
+                    return saved;
+                }));
+    }
+    
+    // Deactivating also revokes every token the user holds, so their open sessions end at once.
+    // Empty when there is no such user.
+    public Optional<User> setActive(Long userId, boolean active) {
+        Optional<User> updated = writeScheduler.execute(() -> userRepository.findById(userId).map(user -> {
+            if (user.isActive() == active) {
+                return user;
+            }
+            user.setActive(active);
+            return userRepository.update(user);
+        }));
+        if (updated.isPresent() && !active) {
+            tokenRevocationService.revokeAll(userId);
         }
-        
-        User user = new User();
-        user.setFirstName(request.getFirstName());
-        user.setLastName(request.getLastName());
-        user.setEmail(request.getEmail());
-        user.setPassword(hashPassword(request.getPassword()));
-        user.setRole(request.getRole());
-        
-        return userRepository.save(user);
+        return updated;
     }
     
-    public List<UserResponse> getAllEmployees() {
-        return userRepository.findByRole("EMPLOYEE")
-                .stream()
-                .map(UserResponse::new)
-                .collect(Collectors.toList());
+    public List<UserSummary> getAllEmployees() {
+        return userReadRepository.listByRoleOrderById(Role.EMPLOYEE);
     }
     
-    public List<UserResponse> getAllUsers() {
-        return userRepository.findAll()
-                .stream()
-                .map(UserResponse::new)
-                .collect(Collectors.toList());
+    public List<UserSummary> getAllUsers() {
+        return userReadRepository.listOrderById();
     }
     
     public Optional<UserResponse> getUserById(Long id) {
-        return userRepository.findById(id)
-                .map(UserResponse::new);
+        return userCache.findResponseById(id);
     }
     
-    public User updateLeaveBalance(Long userId, String leaveType, int days) {
-        Optional<User> userOpt = userRepository.findById(userId);
-        if (userOpt.isEmpty()) {
-            throw new RuntimeException("User not found");
-        }
-        
-        User user = userOpt.get();
-        switch (leaveType.toUpperCase()) {
-            case "ANNUAL":
-                user.setAnnualLeaveBalance(user.getAnnualLeaveBalance() - days);
-                break;
-            case "SICK":
-                user.setSickLeaveBalance(user.getSickLeaveBalance() - days);
-                break;
-            case "CASUAL":
-                user.setCasualLeaveBalance(user.getCasualLeaveBalance() - days);
-                break;
-            default:
-                throw new RuntimeException("Invalid leave type");
+    // Reuses the cached response when it was built from this version of the user; never hits the database
+    public UserResponse toResponse(User user) {
+        return userCache.cachedResponse(user).orElseGet(() -> UserResponse.from(user));
+    }
+    
+    // Positive days consume balance (approval), negative days return it (cancellation).
+    // Goes through the balance ledger instead of read-modify-write on the User row.
+    public void updateLeaveBalance(Long userId, Long leaveId, LeaveType leaveType, int days) {
+        if (days >= 0) {
+            leaveBalanceService.debit(userId, leaveType, leaveId, days);
+        } else {
+            leaveBalanceService.credit(userId, leaveType, leaveId, -days);
         }
-        
-        return userRepository.update(user);
     }
     
+    // Batch form of updateLeaveBalance for approvals; returns the ids of leaves refused for lack of balance
+    public Set<Long> debitLeaveBalances(List<LeaveBalanceService.Debit> debits) {
+        return leaveBalanceService.debitAll(debits);
+    }
+    
+    public AuthStats getAuthStats() {
+        long succeeded = loginsSucceeded.sum();
+        long failed = loginsFailed.sum();
+        long attempts = succeeded + failed;
+        return new AuthStats(
+                succeeded,
+                failed,
+                attempts > 0 ? lookupNanos.sum() / 1e6 / attempts : 0.0,
+                attempts > 0 ? verifyNanos.sum() / 1e6 / attempts : 0.0);
+    }
+    
+    // Blocking variant for startup seeding; request paths use the async methods above
     public String hashPassword(String password) {
-        try {
-            MessageDigest md = MessageDigest.getInstance("SHA-256");
-            byte[] hashedBytes = md.digest(password.getBytes());
-            StringBuilder sb = new StringBuilder();
-            for (byte b : hashedBytes) {
-                sb.append(String.format("%02x", b));
-            }
-            return sb.toString();
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("Error hashing password", e);
-        }
+        return passwordHashingEngine.hash(password).join();
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
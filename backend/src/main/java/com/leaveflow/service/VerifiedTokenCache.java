@@ -0,0 +1,92 @@
+package com.leaveflow.service;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Tokens whose signature has already been checked, keyed by SHA-256 so raw tokens are never retained.
+// An entry lives until the token expires or the cache TTL elapses, whichever comes first.
+public class VerifiedTokenCache {
+    
+    private final Map<ByteBuffer, Entry> entries = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final Duration ttl;
+    private final Clock clock;
+    
+    public VerifiedTokenCache(int maxSize, Duration ttl, Clock clock) {
+        this.maxSize = maxSize;
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+    
+    public TokenClaims get(String token) {
+        if (maxSize <= 0) {
+            return null;
+        }
+        ByteBuffer key = keyOf(token);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (!clock.instant().isBefore(entry.evictAt)) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.claims;
+    }
+    
+    public void put(String token, TokenClaims claims) {
+        if (maxSize <= 0) {
+            return;
+        }
+        Instant now = clock.instant();
+        Instant evictAt = now.plus(ttl);
+        if (claims.expiresAt() != null && claims.expiresAt().isBefore(evictAt)) {
+            evictAt = claims.expiresAt();
+        }
+        if (!now.isBefore(evictAt)) {
+            return;
+        }
+        if (entries.size() >= maxSize) {
+            evict(now);
+        }
+        entries.put(keyOf(token), new Entry(claims, evictAt));
+    }
+    
+    public int size() {
+        return entries.size();
+    }
+    
+    public void clear() {
+        entries.clear();
+    }
+    
+    // Drop expired entries first; if the cache is still full, shed arbitrary entries down to 3/4 capacity
+    private void evict(Instant now) {
+        entries.values().removeIf(entry -> !now.isBefore(entry.evictAt));
+        int target = maxSize - Math.max(1, maxSize / 4);
+        Iterator<ByteBuffer> it = entries.keySet().iterator();
+        while (entries.size() > target && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+    
+    private static ByteBuffer keyOf(String token) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            return ByteBuffer.wrap(md.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+    
+    private record Entry(TokenClaims claims, Instant evictAt) {}
+}
\ No newline at end of file
@@ -0,0 +1,213 @@
+package com.leaveflow.service;
+
+import io.micronaut.context.annotation.Value;
+import io.micronaut.data.connection.jdbc.advice.DelegatingDataSource;
+import io.micronaut.transaction.TransactionOperations;
+import io.micronaut.transaction.support.TransactionSynchronization;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// SQLite allows one writer at a time. Every mutating unit of work runs here, in order, on one
+// thread that owns the single write connection, so writers queue in memory instead of spinning
+// on SQLITE_BUSY. Reads do not come through here; they use the read-only "read" pool.
+@Singleton
+public class WriteScheduler {
+    
+    private final TransactionOperations<?> transactionOperations;
+    private final DataSource dataSource;
+    private final ThreadPoolExecutor executor;
+    private final int queueCapacity;
+    private final Duration drainTimeout;
+    private volatile Thread writerThread;
+    
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAdder runNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong maxRunNanos = new AtomicLong();
+    
+    public WriteScheduler(@Named("default") TransactionOperations<?> transactionOperations,
+                          @Named("default") DataSource dataSource,
+                          @Value("${leaveflow.sqlite.write-scheduler.queue-capacity:1024}") int queueCapacity,
+                          @Value("${leaveflow.sqlite.write-scheduler.drain-timeout:10s}") Duration drainTimeout) {
+        this.transactionOperations = transactionOperations;
+        this.dataSource = DelegatingDataSource.unwrapDataSource(dataSource);
+        this.queueCapacity = queueCapacity;
+        this.drainTimeout = drainTimeout;
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "sqlite-writer");
+                    thread.setDaemon(true);
+                    writerThread = thread;
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+    
+    // Runs work in a write transaction on the writer thread and waits for the result. Calls made
+    // from inside a scheduled unit run inline and join its transaction.
+    public <T> T execute(Supplier<T> work) {
+        if (isWriterThread()) {
+            return transactionOperations.executeWrite(status -> work.get());
+        }
+        return join(submit(work));
+    }
+    
+    public void execute(Runnable work) {
+        execute(() -> {
+            work.run();
+            return null;
+        });
+    }
+    
+    public <T> CompletableFuture<T> submit(Supplier<T> work) {
+        return schedule(() -> transactionOperations.executeWrite(status -> work.get()));
+    }
+    
+    // Hands the write connection to plain JDBC work, outside any JPA transaction; the callback
+    // owns commit and rollback. Must not be called from inside a scheduled unit.
+    public <T> T executeJdbc(JdbcWork<T> work) throws SQLException {
+        if (isWriterThread()) {
+            throw new IllegalStateException("JDBC work cannot be nested inside a scheduled write");
+        }
+        try {
+            return join(submitJdbc(work));
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            throw e;
+        }
+    }
+    
+    // Asynchronous executeJdbc. May be called from anywhere, the writer thread included: the work is
+    // queued behind the current unit, never nested in it. Fails with the SQLException as the cause.
+    public <T> CompletableFuture<T> submitJdbc(JdbcWork<T> work) {
+        return schedule(() -> {
+            try (Connection connection = dataSource.getConnection()) {
+                return work.run(connection);
+            } catch (SQLException e) {
+                throw new CompletionException(e);
+            }
+        });
+    }
+    
+    // Runs work as one transaction on a connection handed out by executeJdbc or submitJdbc
+    public static <T> T inTransaction(Connection connection, JdbcWork<T> work) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            T result = work.run(connection);
+            connection.commit();
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+    
+    // Runs the action once the current write unit commits, still on the writer thread and before the
+    // next unit starts, so state it updates is current for every later write. Dropped if the unit rolls
+    // back; runs immediately when called outside a transaction.
+    public void afterCommit(Runnable action) {
+        transactionOperations.findTransactionStatus().ifPresentOrElse(
+                status -> status.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(Status completion) {
+                        if (completion == Status.COMMITTED) {
+                            action.run();
+                        }
+                    }
+                }),
+                action);
+    }
+    
+    public boolean isWriterThread() {
+        return Thread.currentThread() == writerThread;
+    }
+    
+    public WriteSchedulerStats getStats() {
+        long count = completed.sum() + failed.sum();
+        return new WriteSchedulerStats(
+                executor.getQueue().size(),
+                queueCapacity,
+                completed.sum(),
+                failed.sum(),
+                rejected.sum(),
+                count > 0 ? waitNanos.sum() / 1e6 / count : 0.0,
+                maxWaitNanos.get() / 1e6,
+                count > 0 ? runNanos.sum() / 1e6 / count : 0.0,
+                maxRunNanos.get() / 1e6);
+    }
+    
+    // Lets queued writes finish before the connection pool closes
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(drainTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+    
+    private <T> CompletableFuture<T> schedule(Supplier<T> task) {
+        long enqueuedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                long startedAt = System.nanoTime();
+                boolean ok = false;
+                try {
+                    T result = task.get();
+                    ok = true;
+                    return result;
+                } finally {
+                    long waited = startedAt - enqueuedAt;
+                    long ran = System.nanoTime() - startedAt;
+                    waitNanos.add(waited);
+                    runNanos.add(ran);
+                    maxWaitNanos.accumulateAndGet(waited, Math::max);
+                    maxRunNanos.accumulateAndGet(ran, Math::max);
+                    (ok ? completed : failed).increment();
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw e;
+        }
+    }
+    
+    // Surfaces the original exception so callers see the same errors as an inline call
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+    
+    @FunctionalInterface
+    public interface JdbcWork<T> {
+        T run(Connection connection) throws SQLException;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.leaveflow.service;
+
+import io.micronaut.serde.annotation.Serdeable;
+
+@Serdeable
+public record WriteSchedulerStats(
+        int queueDepth,
+        int queueCapacity,
+        long completed,
+        long failed,
+        long rejected,
+        double meanQueueWaitMillis,
+        double maxQueueWaitMillis,
+        double meanRunMillis,
+        double maxRunMillis) {
+}
\ No newline at end of file
@@ -0,0 +1,56 @@
+-- Baseline schema, matching the JPA entities. IF NOT EXISTS lets databases that were
+-- created by hbm2ddl be adopted without losing data.
+
+CREATE TABLE IF NOT EXISTS users (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    first_name VARCHAR(50) NOT NULL,
+    last_name VARCHAR(50) NOT NULL,
+    email VARCHAR(255) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    role VARCHAR(255) NOT NULL,
+    active BOOLEAN NOT NULL,
+    annual_leave_balance INTEGER,
+    sick_leave_balance INTEGER,
+    casual_leave_balance INTEGER,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS leaves (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    user_id BIGINT NOT NULL,
+    leave_type VARCHAR(255) NOT NULL,
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    duration INTEGER NOT NULL,
+    reason VARCHAR(255),
+    status VARCHAR(255) NOT NULL,
+    approved_by BIGINT,
+    approved_at TIMESTAMP,
+    comments VARCHAR(255),
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS history (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    user_id BIGINT NOT NULL,
+    leave_id BIGINT NOT NULL,
+    action VARCHAR(255) NOT NULL,
+    description VARCHAR(255) NOT NULL,
+    performed_by BIGINT,
+    old_status VARCHAR(255),
+    new_status VARCHAR(255),
+    additional_data VARCHAR(255),
+    timestamp TIMESTAMP NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS leave_ledger (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    user_id BIGINT NOT NULL,
+    leave_type VARCHAR(255) NOT NULL,
+    entry_type VARCHAR(255) NOT NULL,
+    days INTEGER NOT NULL,
+    leave_id BIGINT,
+    created_at TIMESTAMP NOT NULL
+);
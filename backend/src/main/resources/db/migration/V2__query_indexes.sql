@@ -0,0 +1,27 @@
+-- One index per repository access path. Column order follows the query: equality
+-- columns first, then the range or ORDER BY columns, so SQLite can seek and avoid a sort.
+
+-- LeaveRepository
+CREATE INDEX IF NOT EXISTS idx_leaves_user_status ON leaves (user_id, status);                        -- findByUserIdAndStatus
+CREATE INDEX IF NOT EXISTS idx_leaves_user_type_status ON leaves (user_id, leave_type, status);       -- findByUserIdAndLeaveType, count/sumApproved...
+CREATE INDEX IF NOT EXISTS idx_leaves_status_start ON leaves (status, start_date);                    -- findByStatus
+CREATE INDEX IF NOT EXISTS idx_leaves_type ON leaves (leave_type);                                   -- findByLeaveType
+CREATE INDEX IF NOT EXISTS idx_leaves_start_end ON leaves (start_date, end_date);                    -- findByDateRange
+CREATE INDEX IF NOT EXISTS idx_leaves_user_start_end ON leaves (user_id, start_date, end_date);       -- findByUserIdAndDateRange
+CREATE INDEX IF NOT EXISTS idx_leaves_created ON leaves (created_at, id);                            -- findPageBefore
+CREATE INDEX IF NOT EXISTS idx_leaves_user_created ON leaves (user_id, created_at, id);              -- findByUserId, findPageByUserIdBefore
+CREATE INDEX IF NOT EXISTS idx_leaves_status_created ON leaves (status, created_at, id);             -- findPageByStatusBefore
+
+-- HistoryRepository
+CREATE INDEX IF NOT EXISTS idx_history_leave_timestamp ON history (leave_id, timestamp);             -- findByLeaveId[OrderByTimestampDesc]
+CREATE INDEX IF NOT EXISTS idx_history_user_timestamp ON history (user_id, timestamp);               -- findByUserId[OrderByTimestampDesc], findByUserIdAndDateRange
+CREATE INDEX IF NOT EXISTS idx_history_timestamp ON history (timestamp);                             -- findByDateRange
+CREATE INDEX IF NOT EXISTS idx_history_performed_by ON history (performed_by);                       -- findByPerformedBy
+CREATE INDEX IF NOT EXISTS idx_history_action ON history (action);                                   -- findByAction
+
+-- UserRepository (email already has a unique index)
+CREATE INDEX IF NOT EXISTS idx_users_role ON users (role);                                           -- findByRole
+CREATE INDEX IF NOT EXISTS idx_users_active ON users (active);                                       -- findByActive
+
+-- LeaveLedgerRepository
+CREATE INDEX IF NOT EXISTS idx_leave_ledger_user_type ON leave_ledger (user_id, leave_type);         -- findByUserId
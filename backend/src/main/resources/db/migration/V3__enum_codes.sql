@@ -0,0 +1,113 @@
+-- Status, type, role and action columns hold the small integer codes of the enums in
+-- com.leaveflow.entity instead of their names. SQLite cannot change a column's type, so each
+-- table is rebuilt, its rows copied across with the names mapped to codes, and its V2 indexes
+-- recreated, keeping the AUTOINCREMENT high-water mark so ids of deleted rows are not handed
+-- out again. A value outside the enums maps to NULL, fails the NOT NULL check and rolls the
+-- whole migration back.
+
+-- leaves: leave_type (ANNUAL 0, SICK 1, CASUAL 2, EMERGENCY 3), status (PENDING 0, APPROVED 1, REJECTED 2, CANCELLED 3)
+CREATE TABLE leaves_v3 (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    user_id BIGINT NOT NULL,
+    leave_type INTEGER NOT NULL,
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    duration INTEGER NOT NULL,
+    reason VARCHAR(255),
+    status INTEGER NOT NULL,
+    approved_by BIGINT,
+    approved_at TIMESTAMP,
+    comments VARCHAR(255),
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP
+);
+
+INSERT INTO leaves_v3 (id, user_id, leave_type, start_date, end_date, duration, reason, status,
+                       approved_by, approved_at, comments, created_at, updated_at)
+SELECT id, user_id,
+       CASE UPPER(leave_type) WHEN 'ANNUAL' THEN 0 WHEN 'SICK' THEN 1 WHEN 'CASUAL' THEN 2 WHEN 'EMERGENCY' THEN 3 END,
+       start_date, end_date, duration, reason,
+       CASE UPPER(status) WHEN 'PENDING' THEN 0 WHEN 'APPROVED' THEN 1 WHEN 'REJECTED' THEN 2 WHEN 'CANCELLED' THEN 3 END,
+       approved_by, approved_at, comments, created_at, updated_at
+FROM leaves;
+
+DELETE FROM sqlite_sequence WHERE name = 'leaves_v3';
+UPDATE sqlite_sequence SET name = 'leaves_v3' WHERE name = 'leaves';
+DROP TABLE leaves;
+ALTER TABLE leaves_v3 RENAME TO leaves;
+
+CREATE INDEX idx_leaves_user_status ON leaves (user_id, status);
+CREATE INDEX idx_leaves_user_type_status ON leaves (user_id, leave_type, status);
+CREATE INDEX idx_leaves_status_start ON leaves (status, start_date);
+CREATE INDEX idx_leaves_type ON leaves (leave_type);
+CREATE INDEX idx_leaves_start_end ON leaves (start_date, end_date);
+CREATE INDEX idx_leaves_user_start_end ON leaves (user_id, start_date, end_date);
+CREATE INDEX idx_leaves_created ON leaves (created_at, id);
+CREATE INDEX idx_leaves_user_created ON leaves (user_id, created_at, id);
+CREATE INDEX idx_leaves_status_created ON leaves (status, created_at, id);
+
+-- history: action (APPLIED 0, APPROVED 1, REJECTED 2, MODIFIED 3, CANCELLED 4), old_status and new_status as leaves.status
+CREATE TABLE history_v3 (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    user_id BIGINT NOT NULL,
+    leave_id BIGINT NOT NULL,
+    action INTEGER NOT NULL,
+    description VARCHAR(255) NOT NULL,
+    performed_by BIGINT,
+    old_status INTEGER,
+    new_status INTEGER,
+    additional_data VARCHAR(255),
+    timestamp TIMESTAMP NOT NULL
+);
+
+INSERT INTO history_v3 (id, user_id, leave_id, action, description, performed_by, old_status, new_status,
+                        additional_data, timestamp)
+SELECT id, user_id, leave_id,
+       CASE UPPER(action) WHEN 'APPLIED' THEN 0 WHEN 'APPROVED' THEN 1 WHEN 'REJECTED' THEN 2 WHEN 'MODIFIED' THEN 3 WHEN 'CANCELLED' THEN 4 END,
+       description, performed_by,
+       CASE UPPER(old_status) WHEN 'PENDING' THEN 0 WHEN 'APPROVED' THEN 1 WHEN 'REJECTED' THEN 2 WHEN 'CANCELLED' THEN 3 END,
+       CASE UPPER(new_status) WHEN 'PENDING' THEN 0 WHEN 'APPROVED' THEN 1 WHEN 'REJECTED' THEN 2 WHEN 'CANCELLED' THEN 3 END,
+       additional_data, timestamp
+FROM history;
+
+DELETE FROM sqlite_sequence WHERE name = 'history_v3';
+UPDATE sqlite_sequence SET name = 'history_v3' WHERE name = 'history';
+DROP TABLE history;
+ALTER TABLE history_v3 RENAME TO history;
+
+CREATE INDEX idx_history_leave_timestamp ON history (leave_id, timestamp);
+CREATE INDEX idx_history_user_timestamp ON history (user_id, timestamp);
+CREATE INDEX idx_history_timestamp ON history (timestamp);
+CREATE INDEX idx_history_performed_by ON history (performed_by);
+CREATE INDEX idx_history_action ON history (action);
+
+-- users: role (EMPLOYEE 0, ADMIN 1)
+CREATE TABLE users_v3 (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    first_name VARCHAR(50) NOT NULL,
+    last_name VARCHAR(50) NOT NULL,
+    email VARCHAR(255) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    role INTEGER NOT NULL,
+    active BOOLEAN NOT NULL,
+    annual_leave_balance INTEGER,
+    sick_leave_balance INTEGER,
+    casual_leave_balance INTEGER,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP
+);
+
+INSERT INTO users_v3 (id, first_name, last_name, email, password, role, active, annual_leave_balance,
+                      sick_leave_balance, casual_leave_balance, created_at, updated_at)
+SELECT id, first_name, last_name, email, password,
+       CASE UPPER(role) WHEN 'EMPLOYEE' THEN 0 WHEN 'ADMIN' THEN 1 END,
+       active, annual_leave_balance, sick_leave_balance, casual_leave_balance, created_at, updated_at
+FROM users;
+
+DELETE FROM sqlite_sequence WHERE name = 'users_v3';
+UPDATE sqlite_sequence SET name = 'users_v3' WHERE name = 'users';
+DROP TABLE users;
+ALTER TABLE users_v3 RENAME TO users;
+
+CREATE INDEX idx_users_role ON users (role);
+CREATE INDEX idx_users_active ON users (active);
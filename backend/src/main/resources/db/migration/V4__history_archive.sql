@@ -0,0 +1,9 @@
+-- One row per year of history moved out of the history table into an archive file. The history
+-- table holds only rows from the year after the latest archived one; HistoryArchive routes older
+-- reads to the files. file is NULL once the retention policy has dropped that year's archive.
+CREATE TABLE history_archive (
+    year INTEGER PRIMARY KEY,
+    file VARCHAR(255),
+    row_count BIGINT NOT NULL,
+    archived_at TIMESTAMP NOT NULL
+);
@@ -0,0 +1,14 @@
+-- Revoked tokens and per-user watermarks, loaded into TokenRevocationList on startup. Rows are
+-- deleted once no unexpired token can match them.
+CREATE TABLE revoked_token (
+    jti BIGINT PRIMARY KEY,
+    expires_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_revoked_token_expires_at ON revoked_token (expires_at);
+
+-- Every token of user_id issued at or before issued_up_to is rejected
+CREATE TABLE token_watermark (
+    user_id BIGINT PRIMARY KEY,
+    issued_up_to TIMESTAMP NOT NULL
+);
@@ -0,0 +1,165 @@
+package com.leaveflow.repository;
+
+import io.micronaut.data.annotation.Query;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Pins the keyset queries of LeaveReadRepository to an index seek on the migrated schema, and checks
+// that walking the cursor visits every row once in (created_at, id) DESC order
+class LeaveReadRepositoryPlanTest {
+
+    private static final Pattern PARAMETER = Pattern.compile(":(\\w+)");
+    private static final int ROWS = 2000;
+
+    @TempDir
+    Path directory;
+
+    private Connection connection;
+
+    @BeforeEach
+    void migrate() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:sqlite:" + directory.resolve("leaveflow.db"));
+        new SchemaMigrator().migrate(connection);
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO leaves (id, user_id, leave_type, "
+                + "start_date, end_date, duration, status, created_at) VALUES (?, ?, 0, 0, 0, 1, ?, ?)")) {
+            for (int id = 1; id <= ROWS; id++) {
+                insert.setInt(1, id);
+                insert.setInt(2, id % 7);
+                insert.setInt(3, id % 4);
+                // Ten rows per timestamp, so the id tie-break is exercised on every page
+                insert.setLong(4, 1_700_000_000_000L + id / 10);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+    }
+
+    @AfterEach
+    void close() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    void findPageBeforeSeeksTheCreatedIndex() throws Exception {
+        assertSeeks("findPageBefore", "idx_leaves_created", Map.of());
+    }
+
+    @Test
+    void findPageByUserIdBeforeSeeksTheUserCreatedIndex() throws Exception {
+        assertSeeks("findPageByUserIdBefore", "idx_leaves_user_created", Map.of("userId", 3L));
+    }
+
+    @Test
+    void findPageByStatusBeforeSeeksTheStatusCreatedIndex() throws Exception {
+        assertSeeks("findPageByStatusBefore", "idx_leaves_status_created", Map.of("status", 1L));
+    }
+
+    @Test
+    void walkingTheCursorVisitsEveryRowOnceNewestFirst() throws Exception {
+        assertWalk("findPageBefore", Map.of(), row -> true);
+        assertWalk("findPageByUserIdBefore", Map.of("userId", 3L), row -> row[1] == 3);
+        assertWalk("findPageByStatusBefore", Map.of("status", 1L), row -> row[2] == 1);
+    }
+
+    private void assertSeeks(String method, String index, Map<String, Long> filter) throws Exception {
+        List<String> plan = new ArrayList<>();
+        try (PreparedStatement statement = prepare("EXPLAIN QUERY PLAN " + sql(method) + " LIMIT 50", method,
+                filter, 1_700_000_000_100L, 1005L);
+             ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                plan.add(rs.getString("detail"));
+            }
+        }
+        assertEquals(1, plan.size(), () -> method + ": " + plan);
+        String detail = plan.get(0);
+        assertTrue(detail.startsWith("SEARCH leaves USING INDEX " + index + " ("), () -> method + ": " + detail);
+        assertTrue(detail.contains("created_at<?"), () -> method + ": " + detail);
+        assertFalse(plan.stream().anyMatch(step -> step.contains("TEMP B-TREE")), () -> method + ": " + plan);
+    }
+
+    private void assertWalk(String method, Map<String, Long> filter, java.util.function.Predicate<long[]> matches)
+            throws Exception {
+        List<long[]> expected = new ArrayList<>();
+        try (PreparedStatement all = connection.prepareStatement("SELECT id, user_id, status, created_at FROM leaves");
+             ResultSet rs = all.executeQuery()) {
+            while (rs.next()) {
+                long[] row = {rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getLong(4)};
+                if (matches.test(row)) {
+                    expected.add(row);
+                }
+            }
+        }
+        expected.sort(Comparator.<long[]>comparingLong(row -> row[3]).thenComparingLong(row -> row[0]).reversed());
+
+        List<Long> visited = new ArrayList<>();
+        long createdAt = Long.MAX_VALUE;
+        long id = Long.MAX_VALUE;
+        while (true) {
+            int before = visited.size();
+            try (PreparedStatement page = prepare(sql(method) + " LIMIT 64", method, filter, createdAt, id);
+                 ResultSet rs = page.executeQuery()) {
+                while (rs.next()) {
+                    id = rs.getLong("id");
+                    createdAt = rs.getLong("created_at");
+                    visited.add(id);
+                }
+            }
+            if (visited.size() == before) {
+                break;
+            }
+        }
+        assertEquals(expected.stream().map(row -> row[0]).toList(), visited, method);
+    }
+
+    private PreparedStatement prepare(String sql, String method, Map<String, Long> filter, long createdAt, long id)
+            throws SQLException {
+        List<String> names = new ArrayList<>();
+        Matcher matcher = PARAMETER.matcher(sql);
+        while (matcher.find()) {
+            names.add(matcher.group(1));
+        }
+        PreparedStatement statement = connection.prepareStatement(PARAMETER.matcher(sql).replaceAll("?"));
+        for (int i = 0; i < names.size(); i++) {
+            String name = names.get(i);
+            long value = switch (name) {
+                case "createdAt" -> createdAt;
+                case "id" -> id;
+                default -> filter.get(name);
+            };
+            statement.setLong(i + 1, value);
+        }
+        return statement;
+    }
+
+    private static String sql(String method) {
+        for (Method candidate : LeaveReadRepository.class.getMethods()) {
+            if (candidate.getName().equals(method)) {
+                return candidate.getAnnotation(Query.class).value();
+            }
+        }
+        throw new IllegalArgumentException(method);
+    }
+}
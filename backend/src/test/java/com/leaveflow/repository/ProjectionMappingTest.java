@@ -0,0 +1,89 @@
+package com.leaveflow.repository;
+
+import com.leaveflow.dto.HistoryEntry;
+import com.leaveflow.dto.LeaveSummary;
+import com.leaveflow.dto.UserSummary;
+import com.leaveflow.entity.HistoryAction;
+import com.leaveflow.entity.LeaveStatus;
+import com.leaveflow.entity.LeaveType;
+import com.leaveflow.entity.Role;
+import io.micronaut.context.ApplicationContext;
+import io.micronaut.data.model.Pageable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+// The read repositories map INTEGER enum codes into the projection records, and bind enum
+// parameters as codes; run through Micronaut Data JDBC against a migrated database
+class ProjectionMappingTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(1900, 1, 1, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(9999, 1, 1, 0, 0);
+
+    @TempDir
+    Path directory;
+
+    private ApplicationContext context;
+
+    @BeforeEach
+    void start() throws SQLException {
+        String url = "jdbc:sqlite:" + directory.resolve("leaveflow.db");
+        try (Connection connection = DriverManager.getConnection(url); Statement statement = connection.createStatement()) {
+            new SchemaMigrator().migrate(connection);
+            statement.executeUpdate("INSERT INTO users (id, active, created_at, email, first_name, last_name, password, role) "
+                    + "VALUES (1, 1, 0, 'admin@example.com', 'Ad', 'Min', 'x', 1), "
+                    + "(2, 1, 0, 'jane@example.com', 'Jane', 'Doe', 'x', 0)");
+            statement.executeUpdate("INSERT INTO leaves (id, user_id, leave_type, start_date, end_date, duration, status, created_at) "
+                    + "VALUES (1, 2, 1, 0, 0, 1, 1, 1), (2, 2, 3, 0, 0, 1, 0, 2)");
+            statement.executeUpdate("INSERT INTO history (id, leave_id, user_id, action, description, old_status, new_status, timestamp) "
+                    + "VALUES (1, 1, 2, 0, 'applied', NULL, 0, 1), (2, 1, 2, 1, 'approved', 0, 1, 2)");
+        }
+        context = ApplicationContext.run(Map.of("datasources.default.url", url, "datasources.read.url", url));
+    }
+
+    @AfterEach
+    void stop() {
+        context.close();
+    }
+
+    @Test
+    void mapsLeaveSummariesAndFiltersByStatusCode() {
+        LeaveReadRepository leaves = context.getBean(LeaveReadRepository.class);
+        List<LeaveSummary> all = leaves.findPageBefore(END, Long.MAX_VALUE, Pageable.from(0, 10));
+        assertEquals(List.of(LeaveType.EMERGENCY, LeaveType.SICK), all.stream().map(LeaveSummary::leaveType).toList());
+        assertEquals(List.of(LeaveStatus.PENDING, LeaveStatus.APPROVED), all.stream().map(LeaveSummary::status).toList());
+
+        List<LeaveSummary> approved = leaves.findPageByStatusBefore(LeaveStatus.APPROVED, END, Long.MAX_VALUE, Pageable.from(0, 10));
+        assertEquals(List.of(1L), approved.stream().map(LeaveSummary::id).toList());
+    }
+
+    @Test
+    void mapsUserSummariesAndFiltersByRoleCode() {
+        UserReadRepository users = context.getBean(UserReadRepository.class);
+        assertEquals(List.of(Role.ADMIN, Role.EMPLOYEE), users.listOrderById().stream().map(UserSummary::role).toList());
+        assertEquals(List.of(2L), users.listByRoleOrderById(Role.EMPLOYEE).stream().map(UserSummary::id).toList());
+    }
+
+    @Test
+    void mapsHistoryEntriesIncludingNullStatuses() {
+        List<HistoryEntry> entries = context.getBean(HistoryReadRepository.class)
+                .findByLeaveIdAndTimestampGreaterThanEqualsOrderByTimestampDesc(1L, START);
+        assertEquals(List.of(HistoryAction.APPROVED, HistoryAction.APPLIED), entries.stream().map(HistoryEntry::action).toList());
+        assertEquals(LeaveStatus.PENDING, entries.get(0).oldStatus());
+        assertEquals(LeaveStatus.APPROVED, entries.get(0).newStatus());
+        assertNull(entries.get(1).oldStatus());
+    }
+}
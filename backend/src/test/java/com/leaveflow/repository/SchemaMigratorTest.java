@@ -0,0 +1,183 @@
+package com.leaveflow.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Runs the real migrations against an empty database and against one in the baseline schema that
+// hbm2ddl created before migrations existed, and checks both end up with the same tables and indexes
+class SchemaMigratorTest {
+
+    // The baseline tables as hbm2ddl left them: no AUTOINCREMENT, enum names with check constraints
+    private static final String[] BASELINE = {
+        "CREATE TABLE users (id integer, active boolean not null, annual_leave_balance integer, "
+                + "casual_leave_balance integer, created_at timestamp not null, email varchar(255) not null unique, "
+                + "first_name varchar(50) not null, last_name varchar(50) not null, password varchar(255) not null, "
+                + "role varchar(255) not null check (role in ('EMPLOYEE','ADMIN')), sick_leave_balance integer, "
+                + "updated_at timestamp, primary key (id))",
+        "CREATE TABLE leaves (id integer, approved_at timestamp, approved_by bigint, comments varchar(255), "
+                + "created_at timestamp not null, duration integer not null, end_date date not null, "
+                + "leave_type varchar(255) not null, reason varchar(255), start_date date not null, "
+                + "status varchar(255) not null, updated_at timestamp, user_id bigint not null, primary key (id))",
+        "CREATE TABLE history (id integer, action varchar(255) not null, additional_data varchar(255), "
+                + "description varchar(255) not null, leave_id bigint not null, new_status varchar(255), "
+                + "old_status varchar(255), performed_by bigint, timestamp timestamp not null, "
+                + "user_id bigint not null, primary key (id))",
+        "CREATE TABLE leave_ledger (id integer, created_at timestamp not null, days integer not null, "
+                + "entry_type varchar(255) not null, leave_id bigint, leave_type varchar(255) not null, "
+                + "user_id bigint not null, primary key (id))",
+        "INSERT INTO users VALUES (1, 1, 20, 5, 0, 'admin@leaveflow.com', 'Ad', 'Min', 'x', 'ADMIN', 10, NULL)",
+        "INSERT INTO users VALUES (7, 1, 20, 5, 0, 'jane@leaveflow.com', 'Jane', 'Doe', 'x', 'EMPLOYEE', 10, NULL)",
+        "INSERT INTO leaves VALUES (3, NULL, NULL, NULL, 0, 2, 0, 'SICK', NULL, 0, 'APPROVED', NULL, 7)",
+        "INSERT INTO leaves VALUES (9, NULL, NULL, NULL, 0, 1, 0, 'ANNUAL', NULL, 0, 'PENDING', NULL, 7)",
+        "INSERT INTO history VALUES (4, 'APPROVED', NULL, 'ok', 3, 'APPROVED', 'PENDING', 1, 0, 7)",
+    };
+
+    @TempDir
+    Path directory;
+
+    private Connection connection;
+
+    @BeforeEach
+    void open() throws SQLException {
+        connection = connect("leaveflow.db");
+    }
+
+    @AfterEach
+    void close() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    void migratesAnEmptyDatabaseOnceInVersionOrder() throws SQLException {
+        assertEquals(6, new SchemaMigrator().migrate(connection));
+        assertEquals(List.of("1", "2", "3", "4", "5", "6"), column("SELECT version FROM schema_version ORDER BY version"));
+        assertEquals(0, new SchemaMigrator().migrate(connection));
+
+        List<String> indexes = column("SELECT name FROM sqlite_master WHERE type = 'index' AND name LIKE 'idx_%'");
+        assertEquals(21, indexes.size(), indexes::toString);
+        assertEquals(List.of("status", "created_at", "id"), column("SELECT name FROM pragma_index_info('idx_leaves_status_created')"));
+        assertEquals(List.of("user_id", "created_at", "id"), column("SELECT name FROM pragma_index_info('idx_leaves_user_created')"));
+        assertEquals(List.of("leave_id", "timestamp"), column("SELECT name FROM pragma_index_info('idx_history_leave_timestamp')"));
+    }
+
+    @Test
+    void adoptsTheBaselineSchemaAndEndsUpWithTheSameIndexesAsAnEmptyDatabase() throws SQLException {
+        execute(connection, BASELINE);
+        assertEquals(6, new SchemaMigrator().migrate(connection));
+
+        try (Connection fresh = connect("fresh.db")) {
+            new SchemaMigrator().migrate(fresh);
+            assertEquals(schema(fresh), schema(connection));
+        }
+        assertEquals(List.of("1:1", "7:0"), column("SELECT id || ':' || role FROM users ORDER BY id"));
+        assertEquals(List.of("3:1:1", "9:0:0"), column("SELECT id || ':' || leave_type || ':' || status FROM leaves ORDER BY id"));
+        assertEquals(List.of("4:1:0:1"), column("SELECT id || ':' || action || ':' || old_status || ':' || new_status FROM history"));
+        // Ids keep increasing past the rows copied across
+        execute(connection, "INSERT INTO leaves (user_id, leave_type, start_date, end_date, duration, status, created_at) "
+                + "VALUES (7, 0, 0, 0, 1, 0, 0)");
+        assertEquals(List.of("10"), column("SELECT max(id) FROM leaves"));
+    }
+
+    @Test
+    void rollsBackTheEnumConversionWhenAValueIsUnknown() throws SQLException {
+        execute(connection, BASELINE);
+        execute(connection, "UPDATE leaves SET status = 'ARCHIVED' WHERE id = 9");
+        assertThrows(SQLException.class, () -> new SchemaMigrator().migrate(connection));
+
+        assertEquals(List.of("1", "2"), column("SELECT version FROM schema_version ORDER BY version"));
+        assertEquals(List.of("APPROVED", "ARCHIVED"), column("SELECT status FROM leaves ORDER BY id"));
+        assertEquals(List.of(), column("SELECT name FROM sqlite_master WHERE name LIKE '%_v3'"));
+    }
+
+    @Test
+    void stopsAtTheTargetVersionAndResumesLater() throws SQLException {
+        assertEquals(2, new SchemaMigrator().migrate(connection, 2));
+        assertEquals(List.of("VARCHAR(255)"), column("SELECT type FROM pragma_table_info('leaves') WHERE name = 'status'"));
+        assertEquals(4, new SchemaMigrator().migrate(connection));
+        assertEquals(List.of("INTEGER"), column("SELECT type FROM pragma_table_info('leaves') WHERE name = 'status'"));
+    }
+
+    @Test
+    void refusesToRunWhenAnAppliedScriptHasChanged() throws SQLException {
+        new SchemaMigrator().migrate(connection);
+        execute(connection, "UPDATE schema_version SET checksum = checksum + 1 WHERE version = 2");
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> new SchemaMigrator().migrate(connection));
+        assertTrue(e.getMessage().startsWith("Migration V2 (query indexes) has changed"), e.getMessage());
+    }
+
+    @Test
+    void appliesScriptsByVersionWhateverTheirOrderInTheIndex() throws SQLException {
+        SchemaMigrator migrator = new SchemaMigrator("db/unordered", getClass().getClassLoader());
+        assertEquals(2, migrator.migrate(connection));
+        // V2 indexes the table V1 creates, so it could not have succeeded first
+        assertEquals(List.of("1:create table", "2:add index"),
+                column("SELECT version || ':' || description FROM schema_version ORDER BY version"));
+        assertEquals(List.of("idx_item_name"), column("SELECT name FROM sqlite_master WHERE type = 'index' AND tbl_name = 'item'"));
+    }
+
+    private Connection connect(String file) throws SQLException {
+        return DriverManager.getConnection("jdbc:sqlite:" + directory.resolve(file));
+    }
+
+    private List<String> column(String sql) throws SQLException {
+        List<String> values = new ArrayList<>();
+        try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery(sql)) {
+            while (rs.next()) {
+                values.add(rs.getString(1));
+            }
+        }
+        return values;
+    }
+
+    // Every table's columns and every index's definition, by name
+    private static Map<String, String> schema(Connection connection) throws SQLException {
+        Map<String, String> schema = new TreeMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT type, name, tbl_name, sql FROM sqlite_master "
+                     + "WHERE name NOT LIKE 'sqlite_%' AND name <> 'schema_version'")) {
+            while (rs.next()) {
+                schema.put(rs.getString("name"), rs.getString("type").equals("index")
+                        ? rs.getString("sql")
+                        : columns(connection, rs.getString("tbl_name")));
+            }
+        }
+        return schema;
+    }
+
+    private static String columns(Connection connection, String table) throws SQLException {
+        StringBuilder columns = new StringBuilder();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT name, type, \"notnull\" FROM pragma_table_info('" + table + "') ORDER BY name")) {
+            while (rs.next()) {
+                columns.append(rs.getString(1)).append(' ').append(rs.getString(2).toUpperCase())
+                        .append(rs.getBoolean(3) ? " NOT NULL" : "").append(", ");
+            }
+        }
+        return columns.toString();
+    }
+
+    private static void execute(Connection connection, String... sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String each : sql) {
+                statement.executeUpdate(each);
+            }
+        }
+    }
+}
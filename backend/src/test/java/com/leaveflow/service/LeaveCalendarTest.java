@@ -0,0 +1,144 @@
+package com.leaveflow.service;
+
+import com.leaveflow.entity.Leave;
+import com.leaveflow.entity.LeaveStatus;
+import io.micronaut.transaction.TransactionOperations;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Apply-time overlap checks and the "who is out" bitmaps of LeaveCalendar, driven through
+// recordStatusChange outside a transaction so each change is applied at once
+class LeaveCalendarTest {
+
+    // A Monday; days are given as offsets from it
+    private static final LocalDate BASE = LocalDate.of(2026, 11, 2);
+
+    private LeaveCalendar calendar;
+
+    @BeforeEach
+    void create() {
+        TransactionOperations<?> noTransaction = (TransactionOperations<?>) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[]{TransactionOperations.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("findTransactionStatus")) {
+                        return Optional.empty();
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        calendar = new LeaveCalendar(null, new WriteScheduler(noTransaction, null, 1, Duration.ZERO));
+    }
+
+    @Test
+    void overlapIncludesBothBoundaryDays() {
+        add(1, 1, 10, 14, LeaveStatus.PENDING);
+        assertEquals(Optional.of(1L), overlap(1, 14, 20));
+        assertEquals(Optional.of(1L), overlap(1, 5, 10));
+        assertEquals(Optional.of(1L), overlap(1, 12, 12));
+        assertEquals(Optional.of(1L), overlap(1, 0, 30));
+        assertEquals(Optional.empty(), overlap(1, 15, 20));
+        assertEquals(Optional.empty(), overlap(1, 5, 9));
+        assertEquals(Optional.empty(), overlap(2, 10, 14));
+    }
+
+    @Test
+    void overlapFindsALongLeaveBehindANestedShortOne() {
+        add(1, 1, 1, 30, LeaveStatus.APPROVED);
+        add(2, 1, 10, 12, LeaveStatus.PENDING);
+        // The nested leave starts last before day 25 but ends earlier; the outer one still covers it
+        assertEquals(Optional.of(1L), overlap(1, 25, 26));
+        assertEquals(Optional.of(1L), overlap(1, 11, 11));
+        assertEquals(Optional.empty(), overlap(1, 31, 40));
+
+        update(1, 1, 1, 30, LeaveStatus.APPROVED, LeaveStatus.CANCELLED);
+        assertEquals(Optional.empty(), overlap(1, 25, 26));
+        assertEquals(Optional.of(2L), overlap(1, 11, 11));
+        assertEquals(Optional.of(2L), overlap(1, 12, 20));
+    }
+
+    @Test
+    void overlapConsidersEveryLeaveWithTheSameStart() {
+        add(1, 1, 10, 11, LeaveStatus.APPROVED);
+        add(2, 1, 10, 20, LeaveStatus.PENDING);
+        add(3, 1, 10, 10, LeaveStatus.PENDING);
+        assertEquals(Optional.of(2L), overlap(1, 15, 15));
+        assertEquals(Optional.of(2L), overlap(1, 20, 25));
+        assertEquals(Optional.of(1L), overlap(1, 5, 10));
+        assertEquals(Optional.empty(), overlap(1, 21, 25));
+
+        update(2, 1, 10, 20, LeaveStatus.PENDING, LeaveStatus.REJECTED);
+        assertEquals(Optional.empty(), overlap(1, 15, 15));
+        assertEquals(Optional.of(1L), overlap(1, 11, 11));
+    }
+
+    @Test
+    void dayStaysMarkedWhileAnotherApprovedLeaveOfTheUserCoversIt() {
+        add(1, 1, 10, 14, LeaveStatus.APPROVED);
+        add(2, 1, 12, 16, LeaveStatus.APPROVED);
+        add(3, 2, 12, 12, LeaveStatus.APPROVED);
+        assertEquals(List.of(1L, 2L), out(12));
+
+        update(1, 1, 10, 14, LeaveStatus.APPROVED, LeaveStatus.CANCELLED);
+        assertEquals(List.of(), out(10));
+        assertEquals(List.of(), out(11));
+        assertEquals(List.of(1L, 2L), out(12));
+        assertEquals(List.of(1L), out(14));
+        assertEquals(List.of(1L), out(16));
+
+        update(2, 1, 12, 16, LeaveStatus.APPROVED, LeaveStatus.CANCELLED);
+        assertEquals(List.of(2L), out(12));
+        assertEquals(List.of(), out(14));
+    }
+
+    @Test
+    void pendingLeaveDoesNotKeepADayMarked() {
+        add(1, 1, 10, 14, LeaveStatus.APPROVED);
+        add(2, 1, 12, 16, LeaveStatus.PENDING);
+        assertEquals(List.of(), out(15));
+
+        update(1, 1, 10, 14, LeaveStatus.APPROVED, LeaveStatus.CANCELLED);
+        assertEquals(List.of(), out(12));
+        assertEquals(Optional.of(2L), overlap(1, 12, 12));
+
+        update(2, 1, 12, 16, LeaveStatus.PENDING, LeaveStatus.APPROVED);
+        assertEquals(List.of(1L), out(12));
+        assertEquals(Optional.of(new LeaveCalendar.Coverage(day(12), 1)), calendar.busiestDay(day(0), day(20), 2L));
+        assertEquals(Optional.empty(), calendar.busiestDay(day(0), day(20), 1L));
+    }
+
+    private void add(long id, long userId, int start, int end, LeaveStatus status) {
+        calendar.recordStatusChange(leave(id, userId, start, end, status), null);
+    }
+
+    private void update(long id, long userId, int start, int end, LeaveStatus from, LeaveStatus to) {
+        calendar.recordStatusChange(leave(id, userId, start, end, to), from);
+    }
+
+    private Optional<Long> overlap(long userId, int start, int end) {
+        return calendar.findOverlap(userId, day(start), day(end));
+    }
+
+    private List<Long> out(int day) {
+        return calendar.usersOutOn(day(day));
+    }
+
+    private static Leave leave(long id, long userId, int start, int end, LeaveStatus status) {
+        Leave leave = new Leave();
+        leave.setId(id);
+        leave.setUserId(userId);
+        leave.setStartDate(day(start));
+        leave.setEndDate(day(end));
+        leave.setStatus(status);
+        return leave;
+    }
+
+    private static LocalDate day(int offset) {
+        return BASE.plusDays(offset);
+    }
+}
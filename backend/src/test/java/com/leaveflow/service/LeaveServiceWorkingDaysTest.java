@@ -0,0 +1,42 @@
+package com.leaveflow.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// The duration of an application is counted on the server; it must match the leave request form
+class LeaveServiceWorkingDaysTest {
+
+    @Test
+    void countsMondayToFridayInclusive() {
+        // 2026-10-19 is a Monday
+        LocalDate monday = LocalDate.of(2026, 10, 19);
+        assertEquals(1, LeaveService.workingDays(monday, monday));
+        assertEquals(5, LeaveService.workingDays(monday, monday.plusDays(4)));
+        assertEquals(5, LeaveService.workingDays(monday, monday.plusDays(6)));
+        assertEquals(10, LeaveService.workingDays(monday, monday.plusDays(13)));
+        assertEquals(0, LeaveService.workingDays(monday.plusDays(5), monday.plusDays(6)));
+        assertEquals(2, LeaveService.workingDays(monday.plusDays(4), monday.plusDays(7)));
+    }
+
+    @Test
+    void matchesADayByDayCountForEveryStartWeekdayAndLength() {
+        LocalDate first = LocalDate.of(2026, 1, 1);
+        for (int offset = 0; offset < 7; offset++) {
+            LocalDate start = first.plusDays(offset);
+            for (int length = 0; length < 400; length++) {
+                LocalDate end = start.plusDays(length);
+                int expected = 0;
+                for (LocalDate day = start; !day.isAfter(end); day = day.plusDays(1)) {
+                    if (day.getDayOfWeek() != DayOfWeek.SATURDAY && day.getDayOfWeek() != DayOfWeek.SUNDAY) {
+                        expected++;
+                    }
+                }
+                assertEquals(expected, LeaveService.workingDays(start, end), start + ".." + end);
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.leaveflow.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Legacy hashes were taken over String.getBytes() in whatever default charset the storing JVM had
+class LegacySha256PasswordHasherTest {
+
+    private static final Charset WINDOWS_1252 = Charset.forName("windows-1252");
+    private static final String PASSWORD = "Pässwörd-€";
+
+    @Test
+    void matchesUtf8HashesWithoutFallbacks() throws Exception {
+        LegacySha256PasswordHasher hasher = new LegacySha256PasswordHasher(List.of());
+        assertTrue(hasher.matches(PASSWORD, legacyHash(PASSWORD, StandardCharsets.UTF_8)));
+        assertTrue(hasher.matches("admin123", legacyHash("admin123", StandardCharsets.UTF_8)));
+        assertFalse(hasher.matches("Passwörd-€", legacyHash(PASSWORD, StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void matchesANonAsciiPasswordHashedInAWindowsCodePageOnlyWithThatFallback() throws Exception {
+        String stored = legacyHash(PASSWORD, WINDOWS_1252);
+        assertFalse(new LegacySha256PasswordHasher(List.of()).matches(PASSWORD, stored));
+        assertTrue(new LegacySha256PasswordHasher(List.of(WINDOWS_1252)).matches(PASSWORD, stored));
+        assertFalse(new LegacySha256PasswordHasher(List.of(WINDOWS_1252)).matches("Pässwörd-$", stored));
+    }
+
+    @Test
+    void configuredCharsetsAreTriedAfterThePlatformOnes() throws Exception {
+        String stored = legacyHash(PASSWORD, WINDOWS_1252);
+        assertTrue(new LegacySha256PasswordHasher(" windows-1252 ,").matches(PASSWORD, stored));
+        assertTrue(new LegacySha256PasswordHasher("").matches(PASSWORD, legacyHash(PASSWORD, StandardCharsets.UTF_8)));
+        assertThrows(UnsupportedCharsetException.class, () -> new LegacySha256PasswordHasher("no-such-charset-x"));
+    }
+
+    @Test
+    void rejectsHashesOfOtherSchemes() {
+        LegacySha256PasswordHasher hasher = new LegacySha256PasswordHasher(List.of());
+        assertFalse(hasher.supports("pbkdf2-sha256$210000$c2FsdA$aGFzaA"));
+        assertFalse(hasher.supports("ABCDEF".repeat(10) + "ABCD"));
+        assertFalse(hasher.matches(PASSWORD, null));
+    }
+
+    private static String legacyHash(String password, Charset charset) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(password.getBytes(charset)));
+    }
+}
@@ -0,0 +1,80 @@
+package com.leaveflow.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// A false negative would let a revoked token through, so every added key must always be reported
+class LongBloomFilterTest {
+
+    @Test
+    void neverMissesAnAddedKeyEvenPastItsCapacity() {
+        LongBloomFilter filter = new LongBloomFilter(1000, 0.01);
+        SplittableRandom random = new SplittableRandom(7);
+        long[] keys = LongStream.generate(random::nextLong).limit(5000).toArray();
+        for (int i = 0; i < keys.length; i++) {
+            filter.add(keys[i]);
+            for (int j = 0; j <= i; j += 97) {
+                assertTrue(filter.mightContain(keys[j]));
+            }
+        }
+        for (long key : keys) {
+            assertTrue(filter.mightContain(key));
+        }
+        for (long key = -500; key <= 500; key++) {
+            filter.add(key);
+        }
+        for (long key = -500; key <= 500; key++) {
+            assertTrue(filter.mightContain(key), "key " + key);
+        }
+    }
+
+    @Test
+    void keepsNearTheTargetFalsePositiveRateAtCapacity() {
+        LongBloomFilter filter = new LongBloomFilter(10_000, 0.01);
+        for (long key = 1; key <= 10_000; key++) {
+            filter.add(key);
+        }
+        int falsePositives = 0;
+        SplittableRandom random = new SplittableRandom(11);
+        for (int i = 0; i < 100_000; i++) {
+            long key = random.nextLong();
+            if ((key < 1 || key > 10_000) && filter.mightContain(key)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 2000, falsePositives + " false positives in 100000");
+    }
+
+    @Test
+    void concurrentAddsAreAllVisible() throws Exception {
+        LongBloomFilter filter = new LongBloomFilter(100_000, 0.01);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<?>[] adders = new Future<?>[4];
+            for (int t = 0; t < adders.length; t++) {
+                long offset = t;
+                adders[t] = executor.submit(() -> {
+                    for (long key = offset; key < 100_000; key += 4) {
+                        filter.add(key * 0x9E3779B97F4A7C15L);
+                    }
+                });
+            }
+            for (Future<?> adder : adders) {
+                adder.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        for (long key = 0; key < 100_000; key++) {
+            assertTrue(filter.mightContain(key * 0x9E3779B97F4A7C15L), "key " + key);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.leaveflow.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The map behind the token denylist and the watermarks, checked against java.util.HashMap
+class LongLongHashMapTest {
+
+    @Test
+    void storesAnyKeyButZero() {
+        LongLongHashMap map = new LongLongHashMap(0);
+        map.put(Long.MIN_VALUE, 1);
+        map.put(-1, 2);
+        map.put(Long.MAX_VALUE, 3);
+        map.put(-1, 4);
+        assertEquals(3, map.size());
+        assertEquals(1, map.get(Long.MIN_VALUE, 0));
+        assertEquals(4, map.get(-1, 0));
+        assertEquals(3, map.get(Long.MAX_VALUE, 0));
+        assertEquals(-9, map.get(7, -9));
+
+        assertThrows(IllegalArgumentException.class, () -> map.put(0, 1));
+        assertFalse(map.containsKey(0));
+        assertEquals(-9, map.get(0, -9));
+    }
+
+    @Test
+    void collidingKeysProbePastEachOtherAndWrapAround() {
+        LongLongHashMap map = new LongLongHashMap(0);
+        // Three keys hashing to the last slot of the 16-slot table fill slots 15, 0 and 1; a key
+        // hashing to slot 0 then probes on to slot 2
+        List<Long> last = keysInSlot(15, 3);
+        long first = keysInSlot(0, 1).get(0);
+        last.forEach(key -> map.put(key, key * 10));
+        map.put(first, 1);
+        for (long key : last) {
+            assertEquals(key * 10, map.get(key, 0));
+        }
+        assertEquals(1, map.get(first, 0));
+        assertFalse(map.containsKey(keysInSlot(15, 4).get(3)));
+
+        // Removing the head of the chain must not cut off the keys that probed past it
+        assertEquals(1, map.removeIf((key, value) -> key == last.get(0)));
+        assertFalse(map.containsKey(last.get(0)));
+        assertEquals(last.get(1) * 10, map.get(last.get(1), 0));
+        assertEquals(last.get(2) * 10, map.get(last.get(2), 0));
+        assertEquals(1, map.get(first, 0));
+        assertEquals(3, map.size());
+    }
+
+    @Test
+    void growsAndShrinksWithoutLosingEntries() {
+        LongLongHashMap map = new LongLongHashMap(0);
+        Map<Long, Long> expected = new HashMap<>();
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 1; i <= 50_000; i++) {
+            long key = i % 2 == 0 ? i : random.nextLong();
+            map.put(key, i);
+            expected.put(key, (long) i);
+        }
+        assertMatches(expected, map);
+
+        assertEquals(expected.size() - expected.values().stream().filter(value -> value % 3 == 0).count(),
+                map.removeIf((key, value) -> value % 3 != 0));
+        expected.values().removeIf(value -> value % 3 != 0);
+        assertMatches(expected, map);
+
+        for (long key = 1; key <= 1000; key++) {
+            map.put(key, -key);
+            expected.put(key, -key);
+        }
+        assertMatches(expected, map);
+        assertEquals(0, map.removeIf((key, value) -> false));
+        assertEquals(expected.size(), map.removeIf((key, value) -> true));
+        assertEquals(0, map.size());
+        assertFalse(map.containsKey(2));
+    }
+
+    @Test
+    void copyIsIndependentOfTheOriginal() {
+        LongLongHashMap map = new LongLongHashMap(4);
+        map.put(1, 1);
+        LongLongHashMap copy = map.copy();
+        copy.put(2, 2);
+        map.put(1, 5);
+        assertEquals(1, map.size());
+        assertEquals(2, copy.size());
+        assertEquals(1, copy.get(1, 0));
+        assertFalse(map.containsKey(2));
+    }
+
+    private static void assertMatches(Map<Long, Long> expected, LongLongHashMap map) {
+        assertEquals(expected.size(), map.size());
+        expected.forEach((key, value) -> {
+            assertTrue(map.containsKey(key), () -> "missing " + key);
+            assertEquals(value, map.get(key, 0));
+        });
+        Map<Long, Long> visited = new HashMap<>();
+        map.forEach(visited::put);
+        assertEquals(expected, visited);
+    }
+
+    // Keys whose home slot in a 16-slot table is the given one, using the map's Fibonacci hash
+    private static List<Long> keysInSlot(int slot, int count) {
+        List<Long> keys = new ArrayList<>();
+        for (long key = 1; keys.size() < count; key++) {
+            long hash = key * 0x9E3779B97F4A7C15L;
+            if (((int) (hash ^ (hash >>> 32)) & 15) == slot) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,109 @@
+package com.leaveflow.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Login throttling must hold up when an attacker rotates keys to fill the bucket map: the keys it has
+// already drained stay limited, and a legitimate newcomer still gets a bucket of its own
+class TokenBucketLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    // Starts just before nanoTime wraps, so bucket times cross from positive to negative
+    private long now = Long.MAX_VALUE - SECOND;
+
+    @Test
+    void admitsABurstThenOneTokenPerInterval() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(3, 60, 100, () -> now);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("a"));
+        }
+        assertEquals(SECOND, limiter.tryAcquire("a"));
+        now += SECOND / 2;
+        assertEquals(SECOND / 2, limiter.tryAcquire("a"));
+        now += SECOND / 2;
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertEquals(0, limiter.tryAcquire("b"));
+        assertEquals(5, limiter.admitted());
+        assertEquals(2, limiter.limited());
+    }
+
+    @Test
+    void drainedKeyStaysLimitedAndNewcomerIsAdmittedThroughAKeyRotationFlood() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(5, 60, 100, () -> now);
+        drain(limiter, "attacker", 5);
+        for (int i = 0; i < 10_000; i++) {
+            limiter.tryAcquire("flood-" + i);
+            assertTrue(limiter.size() <= 100, "size " + limiter.size());
+            if (i % 1000 == 999) {
+                assertEquals(0, limiter.tryAcquire("newcomer-" + i));
+                assertTrue(limiter.tryAcquire("attacker") > 0);
+            }
+            now += SECOND / 100_000;
+        }
+    }
+
+    @Test
+    void sweepsIdleBucketsBeforeBusyOnes() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(5, 60, 10, () -> now);
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire("idle-" + i);
+        }
+        now += 2 * SECOND;
+        assertEquals(0, limiter.tryAcquire("fresh"));
+        assertEquals(1, limiter.size());
+    }
+
+    @Test
+    void evictsTheBucketsClosestToFullFirst() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(5, 60, 8, () -> now);
+        for (int i = 0; i < 4; i++) {
+            drain(limiter, "busy-" + i, 3);
+            limiter.tryAcquire("light-" + i);
+        }
+        // Sheds the lightly used buckets (ties with the cutoff go too); the busier ones keep their state
+        limiter.tryAcquire("newcomer");
+        assertEquals(5, limiter.size());
+        for (int i = 0; i < 4; i++) {
+            drain(limiter, "busy-" + i, 2);
+            assertTrue(limiter.tryAcquire("busy-" + i) > 0, "busy-" + i);
+        }
+    }
+
+    @Test
+    void fallsBackToStripedOverflowBucketsOnlyWhenEveryBucketIsLimiting() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(2, 60, 4, () -> now);
+        for (int i = 0; i < 4; i++) {
+            drain(limiter, "limited-" + i, 2);
+        }
+        String first = "newcomer-0";
+        drain(limiter, first, 2);
+        assertTrue(limiter.tryAcquire(first) > 0);
+        assertEquals(4, limiter.size());
+
+        // A key on another stripe is not refused because the first one is drained
+        String other = first;
+        for (int i = 1; stripe(other) == stripe(first); i++) {
+            other = "newcomer-" + i;
+        }
+        assertEquals(0, limiter.tryAcquire(other));
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limiter.tryAcquire("limited-" + i) > 0);
+        }
+    }
+
+    private static void drain(TokenBucketLimiter limiter, String key, int times) {
+        for (int i = 0; i < times; i++) {
+            assertEquals(0, limiter.tryAcquire(key), key);
+        }
+    }
+
+    private static int stripe(String key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (TokenBucketLimiter.OVERFLOW_STRIPES - 1);
+    }
+}
@@ -0,0 +1,102 @@
+package com.leaveflow.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Revoked ids and watermarks must reject exactly the tokens they cover, through filter rebuilds and purges
+class TokenRevocationListTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-18T12:00:00Z");
+    private static final long LIFETIME = 3600;
+
+    @Test
+    void rejectsRevokedIdsAndNothingElseDespiteFilterFalsePositives() {
+        // A small, loose filter so that plenty of lookups hit it by accident
+        TokenRevocationList list = new TokenRevocationList(100, 0.3);
+        for (long id = 1; id <= 100; id++) {
+            list.revoke(id * 1_000_003, NOW.plusSeconds(LIFETIME));
+        }
+        for (long id = 1; id <= 100; id++) {
+            assertTrue(list.isRevoked(token(id * 1_000_003, 1L, NOW)));
+        }
+        for (long id = 1; id <= 10_000; id++) {
+            assertFalse(list.isRevoked(token(-id, 1L, NOW)));
+        }
+        TokenRevocationStats stats = list.getStats();
+        assertEquals(100, stats.revokedTokens());
+        assertEquals(100, stats.rejectedById());
+        assertTrue(stats.falsePositives() > 0, "no false positives to exercise");
+        assertEquals(stats.filterHits(), stats.rejectedById() + stats.falsePositives());
+    }
+
+    @Test
+    void keepsEveryIdWhenGrowingPastTheExpectedCount() {
+        TokenRevocationList list = new TokenRevocationList(16, 0.01);
+        for (long id = 1; id <= 20_000; id++) {
+            list.revoke(id, NOW.plusSeconds(LIFETIME));
+            if (id % 1000 == 0) {
+                for (long earlier = 1; earlier <= id; earlier += 37) {
+                    assertTrue(list.isRevoked(token(earlier, 1L, NOW)), "id " + earlier);
+                }
+            }
+        }
+        for (long id = 1; id <= 20_000; id++) {
+            assertTrue(list.isRevoked(token(id, 1L, NOW)), "id " + id);
+        }
+        assertEquals(20_000, list.getStats().revokedTokens());
+    }
+
+    @Test
+    void watermarkRejectsTokensIssuedUpToItsSecond() {
+        TokenRevocationList list = new TokenRevocationList(100, 0.01);
+        list.revokeIssuedUpTo(7, NOW.plusMillis(250));
+        assertTrue(list.isRevoked(token(1, 7L, NOW.minusSeconds(60))));
+        assertTrue(list.isRevoked(token(2, 7L, NOW)));
+        // Issue times are whole seconds, so the rest of the watermark's second is covered too
+        assertTrue(list.isRevoked(token(3, 7L, NOW.plusMillis(900))));
+        assertFalse(list.isRevoked(token(4, 7L, NOW.plusSeconds(1))));
+        assertFalse(list.isRevoked(token(5, 8L, NOW.minusSeconds(60))));
+        assertFalse(list.isRevoked(new TokenClaims(6, null, "EMPLOYEE", NOW, null)));
+        assertFalse(list.isRevoked(new TokenClaims(6, 7L, "EMPLOYEE", null, null)));
+
+        // An earlier watermark never moves it back
+        list.revokeIssuedUpTo(7, NOW.minusSeconds(600));
+        assertTrue(list.isRevoked(token(2, 7L, NOW)));
+        list.revokeIssuedUpTo(7, NOW.plusSeconds(10));
+        assertTrue(list.isRevoked(token(4, 7L, NOW.plusSeconds(1))));
+        assertEquals(1, list.getStats().userWatermarks());
+    }
+
+    @Test
+    void purgeDropsOnlyWhatNoUnexpiredTokenCanMatch() {
+        TokenRevocationList list = new TokenRevocationList(16, 0.01);
+        for (long id = 1; id <= 1000; id++) {
+            list.revoke(id, NOW.plusSeconds(id % 2 == 0 ? LIFETIME : 1));
+        }
+        list.revokeIssuedUpTo(1, NOW.minusSeconds(LIFETIME + 1));
+        list.revokeIssuedUpTo(2, NOW.minusSeconds(LIFETIME - 1));
+
+        Instant later = NOW.plusSeconds(1);
+        assertEquals(501, list.purge(later, LIFETIME));
+        for (long id = 2; id <= 1000; id += 2) {
+            assertTrue(list.isRevoked(token(id, 3L, later)), "id " + id);
+        }
+        assertFalse(list.isRevoked(token(9, 1L, NOW.minusSeconds(2 * LIFETIME))));
+        assertTrue(list.isRevoked(token(10_001, 2L, NOW.minusSeconds(LIFETIME))));
+
+        TokenRevocationStats stats = list.getStats();
+        assertEquals(500, stats.revokedTokens());
+        assertEquals(1, stats.userWatermarks());
+        assertEquals(501, stats.purged());
+        assertEquals(0, list.purge(later, LIFETIME));
+    }
+
+    private static TokenClaims token(long id, Long userId, Instant issuedAt) {
+        return new TokenClaims(id, userId, "EMPLOYEE", issuedAt, issuedAt.plusSeconds(LIFETIME));
+    }
+}
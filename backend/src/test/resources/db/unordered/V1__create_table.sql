@@ -0,0 +1,2 @@
+-- Listed after V2 in index.txt; must still run first
+CREATE TABLE item (id INTEGER PRIMARY KEY, name VARCHAR(50) NOT NULL);
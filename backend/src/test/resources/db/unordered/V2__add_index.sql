@@ -0,0 +1 @@
+CREATE INDEX idx_item_name ON item (name);
@@ -1,9 +1,10 @@
-import { Component, OnInit } from '@angular/core';
+import { Component, OnDestroy, OnInit } from '@angular/core';
 import { CommonModule } from '@angular/common';
 import { Router } from '@angular/router';
+import { Subscription } from 'rxjs';
 import { ApiService } from '../../../services/api.service';
 import { UserResponse } from '../../../interfaces/auth.interface';
-import { LeaveResponse, User, LeaveType, LeaveStatus } from '../../../interfaces/leave.interface';
+import { LeaveResponse, LeaveEvent, User, LeaveType, LeaveStatus } from '../../../interfaces/leave.interface';
 
 interface SystemStats {
   totalUsers: number;
@@ -739,7 +740,7 @@ interface SystemStats {
     }
   `]
 })
-export class AdminDashboardComponent implements OnInit {
+export class AdminDashboardComponent implements OnInit, OnDestroy {
   currentUser: UserResponse | null = null;
   systemStats: SystemStats | null = null;
   pendingLeaves: LeaveResponse[] = [];
@@ -749,6 +750,8 @@ export class AdminDashboardComponent implements OnInit {
   loadingStats = true;
   loadingPending = true;
   loadingActivity = true;
+  private leaveEvents?: Subscription;
+  private streamConnects = 0;
 
   constructor(
     private apiService: ApiService,
@@ -758,6 +761,18 @@ export class AdminDashboardComponent implements OnInit {
   ngOnInit() {
     this.currentUser = this.apiService.getCurrentUser();
     this.loadDashboardData();
+    this.leaveEvents = this.apiService.leaveEvents().subscribe(event => {
+      if (event) {
+        this.applyLeave(event.leave, event.oldStatus === undefined);
+      } else if (this.streamConnects++ > 0) {
+        // Changes may have been missed while the stream was down
+        this.loadDashboardData();
+      }
+    });
+  }
+
+  ngOnDestroy() {
+    this.leaveEvents?.unsubscribe();
   }
 
   loadDashboardData() {
@@ -878,25 +893,8 @@ export class AdminDashboardComponent implements OnInit {
     this.apiService.approveLeave(leave.id, request).subscribe({
       next: (response) => {
         this.processingLeaves.delete(leave.id);
-        if (response.success) {
-          // Remove from pending list
-          this.pendingLeaves = this.pendingLeaves.filter(l => l.id !== leave.id);
-          
-          // Add to recent activity
-          if (response.data) {
-            this.recentActivity.unshift(response.data);
-            this.recentActivity = this.recentActivity.slice(0, 10);
-          }
-
-          // Update stats
-          if (this.systemStats) {
-            this.systemStats.pendingLeaves--;
-            if (status === 'APPROVED') {
-              this.systemStats.approvedLeaves++;
-            } else {
-              this.systemStats.rejectedLeaves++;
-            }
-          }
+        if (response.success && response.data) {
+          this.applyLeave(response.data, false);
         }
       },
       error: (error) => {
@@ -907,6 +905,34 @@ export class AdminDashboardComponent implements OnInit {
     });
   }
 
+  // Moves a leave between the pending list and recent activity and adjusts the counters. Both the
+  // approve response and the pushed event for the same decision arrive here; whichever comes second
+  // finds the leave already moved and changes nothing.
+  private applyLeave(leave: LeaveResponse, isNew: boolean) {
+    const wasPending = this.pendingLeaves.some(l => l.id === leave.id);
+    const isPending = leave.status === LeaveStatus.PENDING;
+
+    this.pendingLeaves = this.pendingLeaves.filter(l => l.id !== leave.id);
+    this.recentActivity = this.recentActivity.filter(l => l.id !== leave.id);
+    if (isPending) {
+      this.pendingLeaves = [leave, ...this.pendingLeaves];
+    } else {
+      this.recentActivity = [leave, ...this.recentActivity].slice(0, 10);
+    }
+
+    if (this.systemStats && wasPending !== isPending) {
+      this.systemStats.pendingLeaves += isPending ? 1 : -1;
+      if (leave.status === LeaveStatus.APPROVED) {
+        this.systemStats.approvedLeaves++;
+      } else if (leave.status === LeaveStatus.REJECTED) {
+        this.systemStats.rejectedLeaves++;
+      }
+    }
+    if (this.systemStats && isNew) {
+      this.systemStats.totalLeaves++;
+    }
+  }
+
   refreshData() {
     this.loadDashboardData();
   }
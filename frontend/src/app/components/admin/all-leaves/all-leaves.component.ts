@@ -1,9 +1,10 @@
-import { Component, OnInit } from '@angular/core';
+import { Component, OnDestroy, OnInit } from '@angular/core';
 import { CommonModule } from '@angular/common';
 import { FormsModule } from '@angular/forms';
 import { Router } from '@angular/router';
+import { Subscription } from 'rxjs';
 import { ApiService } from '../../../services/api.service';
-import { LeaveResponse, LeaveType, LeaveStatus } from '../../../interfaces/leave.interface';
+import { LeaveResponse, LeaveEvent, LeaveType, LeaveStatus } from '../../../interfaces/leave.interface';
 
 @Component({
   selector: 'app-all-leaves',
@@ -983,7 +984,7 @@ import { LeaveResponse, LeaveType, LeaveStatus } from '../../../interfaces/leave
     }
   `]
 })
-export class AllLeavesComponent implements OnInit {
+export class AllLeavesComponent implements OnInit, OnDestroy {
   allLeaves: LeaveResponse[] = [];
   filteredLeaves: LeaveResponse[] = [];
   selectedLeave: LeaveResponse | null = null;
@@ -1007,6 +1008,8 @@ export class AllLeavesComponent implements OnInit {
   ];
   
   summaryStats: any = null;
+  private leaveEvents?: Subscription;
+  private streamConnects = 0;
 
   constructor(
     private apiService: ApiService,
@@ -1015,6 +1018,35 @@ export class AllLeavesComponent implements OnInit {
 
   ngOnInit() {
     this.loadAllLeaves();
+    this.leaveEvents = this.apiService.leaveEvents().subscribe(event => {
+      if (event) {
+        this.applyLeaveEvent(event);
+      } else if (this.streamConnects++ > 0) {
+        // Changes may have been missed while the stream was down
+        this.loadAllLeaves();
+      }
+    });
+  }
+
+  ngOnDestroy() {
+    this.leaveEvents?.unsubscribe();
+  }
+
+  // Pushed changes from every employee, including this admin's own decisions
+  private applyLeaveEvent(event: LeaveEvent) {
+    const leave = event.leave;
+    const index = this.allLeaves.findIndex(l => l.id === leave.id);
+    if (index !== -1) {
+      this.allLeaves[index] = leave;
+    } else {
+      this.allLeaves.unshift(leave);
+    }
+    if (this.selectedLeave?.id === leave.id) {
+      this.selectedLeave = leave;
+    }
+    this.generateUniqueEmployees();
+    this.calculateSummaryStats();
+    this.applyFilters();
   }
 
   loadAllLeaves() {
@@ -1,9 +1,10 @@
-import { Component, OnInit } from '@angular/core';
+import { Component, OnDestroy, OnInit } from '@angular/core';
 import { CommonModule } from '@angular/common';
 import { Router, RouterModule } from '@angular/router';
+import { Subscription } from 'rxjs';
 import { ApiService } from '../../services/api.service';
 import { UserResponse } from '../../interfaces/auth.interface';
-import { LeaveResponse, LeaveBalance, LeaveType, LeaveStatus } from '../../interfaces/leave.interface';
+import { LeaveResponse, LeaveEvent, LeaveBalance, LeaveType, LeaveStatus } from '../../interfaces/leave.interface';
 
 @Component({
   selector: 'app-dashboard',
@@ -963,12 +964,14 @@ import { LeaveResponse, LeaveBalance, LeaveType, LeaveStatus } from '../../inter
     }
   `]
 })
-export class DashboardComponent implements OnInit {
+export class DashboardComponent implements OnInit, OnDestroy {
   currentUser: UserResponse | null = null;
   leaveBalance: LeaveBalance | null = null;
   recentLeaves: LeaveResponse[] = [];
   loadingBalance = true;
   loadingLeaves = true;
+  private leaveEvents?: Subscription;
+  private streamConnects = 0;
 
   constructor(
     private apiService: ApiService,
@@ -978,6 +981,32 @@ export class DashboardComponent implements OnInit {
   ngOnInit() {
     this.currentUser = this.apiService.getCurrentUser();
     this.loadDashboardData();
+    this.leaveEvents = this.apiService.leaveEvents().subscribe(event => {
+      if (event) {
+        this.applyLeaveEvent(event);
+      } else if (this.streamConnects++ > 0) {
+        // Changes may have been missed while the stream was down
+        this.loadDashboardData();
+      }
+    });
+  }
+
+  ngOnDestroy() {
+    this.leaveEvents?.unsubscribe();
+  }
+
+  // Updates the recent list in place; the balance only moves when approved days are taken or returned
+  private applyLeaveEvent(event: LeaveEvent) {
+    const leave = event.leave;
+    if (!this.currentUser || leave.userId !== this.currentUser.id) {
+      return;
+    }
+    this.recentLeaves = [leave, ...this.recentLeaves.filter(l => l.id !== leave.id)]
+      .sort((a, b) => new Date(b.createdAt).getTime() - new Date(a.createdAt).getTime())
+      .slice(0, 5);
+    if (leave.status === LeaveStatus.APPROVED || event.oldStatus === LeaveStatus.APPROVED) {
+      this.loadLeaveBalance();
+    }
   }
 
   loadDashboardData() {
@@ -1,9 +1,10 @@
-import { Component, OnInit } from '@angular/core';
+import { Component, OnDestroy, OnInit } from '@angular/core';
 import { CommonModule } from '@angular/common';
 import { FormsModule } from '@angular/forms';
 import { Router } from '@angular/router';
+import { Subscription } from 'rxjs';
 import { ApiService } from '../../services/api.service';
-import { LeaveResponse, LeaveType, LeaveStatus } from '../../interfaces/leave.interface';
+import { LeaveResponse, LeaveEvent, LeaveType, LeaveStatus } from '../../interfaces/leave.interface';
 
 @Component({
   selector: 'app-leave-history',
@@ -825,7 +826,7 @@ import { LeaveResponse, LeaveType, LeaveStatus } from '../../interfaces/leave.in
     }
   `]
 })
-export class LeaveHistoryComponent implements OnInit {
+export class LeaveHistoryComponent implements OnInit, OnDestroy {
   allLeaves: LeaveResponse[] = [];
   filteredLeaves: LeaveResponse[] = [];
   selectedLeave: LeaveResponse | null = null;
@@ -841,6 +842,8 @@ export class LeaveHistoryComponent implements OnInit {
   sortDirection: 'asc' | 'desc' = 'desc';
   availableYears: number[] = [];
   summaryStats: any = null;
+  private leaveEvents?: Subscription;
+  private streamConnects = 0;
 
   constructor(
     private apiService: ApiService,
@@ -849,6 +852,34 @@ export class LeaveHistoryComponent implements OnInit {
 
   ngOnInit() {
     this.loadLeaveHistory();
+    this.leaveEvents = this.apiService.leaveEvents().subscribe(event => {
+      if (event) {
+        this.applyLeaveEvent(event);
+      } else if (this.streamConnects++ > 0) {
+        // Changes may have been missed while the stream was down
+        this.loadLeaveHistory();
+      }
+    });
+  }
+
+  ngOnDestroy() {
+    this.leaveEvents?.unsubscribe();
+  }
+
+  private applyLeaveEvent(event: LeaveEvent) {
+    const leave = event.leave;
+    const index = this.allLeaves.findIndex(l => l.id === leave.id);
+    if (index !== -1) {
+      this.allLeaves[index] = leave;
+    } else {
+      this.allLeaves.unshift(leave);
+    }
+    if (this.selectedLeave?.id === leave.id) {
+      this.selectedLeave = leave;
+    }
+    this.generateAvailableYears();
+    this.calculateSummaryStats();
+    this.applyFilters();
   }
 
   loadLeaveHistory() {
@@ -575,16 +575,17 @@ export class LeaveRequestComponent implements OnInit {
         return;
       }
 
-      // Calculate business days (excluding weekends)
+      // Calculate business days (excluding weekends). Date-only strings parse as UTC midnight, so the
+      // days are read in UTC; the server counts the same days and rejects a duration that differs.
       let duration = 0;
       const currentDate = new Date(startDate);
       
       while (currentDate <= endDate) {
-        const dayOfWeek = currentDate.getDay();
+        const dayOfWeek = currentDate.getUTCDay();
         if (dayOfWeek !== 0 && dayOfWeek !== 6) { // Not Sunday (0) or Saturday (6)
           duration++;
         }
-        currentDate.setDate(currentDate.getDate() + 1);
+        currentDate.setUTCDate(currentDate.getUTCDate() + 1);
       }
       
       this.leaveRequest.duration = duration;
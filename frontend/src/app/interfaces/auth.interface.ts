@@ -26,10 +26,20 @@ export interface UserResponse {
 export interface AuthResponse {
   token: string;
   tokenType: string;
+  expiresIn: number;
+  refreshToken: string;
   user: UserResponse;
   message: string;
 }
 
+// POST /auth/refresh
+export interface TokenResponse {
+  token: string;
+  tokenType: string;
+  expiresIn: number;
+  refreshToken: string;
+}
+
 // API Error response structure
 export interface ApiError {
   message: string;
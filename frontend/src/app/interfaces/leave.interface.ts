@@ -19,6 +19,12 @@ export interface LeaveResponse {
   updatedAt: string;
 }
 
+// A committed status change pushed on GET /api/leaves/events; oldStatus is absent for a new leave
+export interface LeaveEvent {
+  leave: LeaveResponse;
+  oldStatus?: string;
+}
+
 export interface CreateLeaveRequest {
   leaveType: string;
   startDate: string;
@@ -32,6 +38,25 @@ export interface ApproveLeaveRequest {
   comments?: string;
 }
 
+export interface BulkDecisionItem {
+  leaveId: number;
+  status: string; // APPROVED or REJECTED
+  comments?: string;
+}
+
+export interface BulkDecisionResult {
+  leaveId: number;
+  outcome: string; // APPROVED, REJECTED, NOT_FOUND, INVALID, INSUFFICIENT_BALANCE or FAILED
+  message?: string;
+}
+
+export interface BulkDecisionResponse {
+  approved: number;
+  rejected: number;
+  failed: number;
+  results: BulkDecisionResult[];
+}
+
 export interface LeaveBalance {
   annualRemaining: number;
   sickRemaining: number;
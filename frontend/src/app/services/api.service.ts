@@ -1,18 +1,22 @@
 import { Injectable } from '@angular/core';
 import { HttpClient, HttpErrorResponse, HttpHeaders } from '@angular/common/http';
-import { Observable, throwError } from 'rxjs';
-import { map, catchError } from 'rxjs/operators';
+import { Observable, of, throwError, timer } from 'rxjs';
+import { map, catchError, finalize, repeat, retry, shareReplay, switchMap } from 'rxjs/operators';
 import { 
   LoginRequest, 
   RegisterRequest, 
   AuthResponse, 
+  TokenResponse, 
   ApiResponse, 
   ApiError 
 } from '../interfaces/auth.interface';
 import { 
   LeaveResponse, 
+  LeaveEvent, 
   CreateLeaveRequest, 
   ApproveLeaveRequest, 
+  BulkDecisionItem, 
+  BulkDecisionResponse, 
   LeaveBalance, 
   User as LeaveUser 
 } from '../interfaces/leave.interface';
@@ -24,13 +28,24 @@ import { AuditLoggerService } from './audit-logger.service';
 export class ApiService {
   private readonly baseUrl = 'http://localhost:8080/api';
   private token: string | null = null;
+  private refreshToken: string | null = null;
+  // The refresh in flight, shared by every request that failed with 401 meanwhile: a refresh token
+  // is good for one use only
+  private refreshing: Observable<string> | null = null;
 
   constructor(
     private http: HttpClient,
     private auditLogger: AuditLoggerService
   ) {
-    // Load token from localStorage on service initialization
-    this.token = localStorage.getItem('auth_token');
+    // Load tokens from localStorage on service initialization
+    this.loadTokens();
+    // Every tab shares one login: pick up tokens another tab rotated or cleared, so this tab never
+    // presents a refresh token that has already been used
+    window.addEventListener('storage', event => {
+      if (event.key === null || event.key === 'auth_token' || event.key === 'refresh_token') {
+        this.loadTokens();
+      }
+    });
   }
 
   // Get default headers with optional authentication
@@ -95,28 +110,37 @@ export class ApiService {
     
     this.auditLogger.logApiCall(method, url);
 
-    const httpOptions = {
-      headers: this.getHeaders()
+    // Headers are read per attempt, so a retry after a refresh carries the new access token
+    let sentWith: string | null = null;
+    const send = (): Observable<T> => {
+      sentWith = this.token;
+      const httpOptions = {
+        headers: this.getHeaders()
+      };
+
+      switch (method.toUpperCase()) {
+        case 'GET':
+          return this.http.get<T>(url, httpOptions);
+        case 'POST':
+          return this.http.post<T>(url, body, httpOptions);
+        case 'PUT':
+          return this.http.put<T>(url, body, httpOptions);
+        case 'DELETE':
+          return this.http.delete<T>(url, httpOptions);
+        default:
+          return throwError(() => new Error(`Unsupported HTTP method: ${method}`));
+      }
     };
 
-    let httpRequest: Observable<T>;
-
-    switch (method.toUpperCase()) {
-      case 'GET':
-        httpRequest = this.http.get<T>(url, httpOptions);
-        break;
-      case 'POST':
-        httpRequest = this.http.post<T>(url, body, httpOptions);
-        break;
-      case 'PUT':
-        httpRequest = this.http.put<T>(url, body, httpOptions);
-        break;
-      case 'DELETE':
-        httpRequest = this.http.delete<T>(url, httpOptions);
-        break;
-      default:
-        return throwError(() => new Error(`Unsupported HTTP method: ${method}`));
-    }
+    // An expired access token is renewed once with the refresh token and the request sent again
+    const httpRequest = send().pipe(
+      catchError((error: HttpErrorResponse) => {
+        if (error.status === 401 && this.refreshToken && !endpoint.startsWith('/auth/')) {
+          return this.refreshAccessToken(sentWith).pipe(switchMap(() => send()));
+        }
+        return throwError(() => error);
+      })
+    );
 
     return httpRequest.pipe(
       map((response: T) => {
@@ -164,9 +188,8 @@ export class ApiService {
     return this.request<AuthResponse>('POST', '/auth/login', credentials).pipe(
       map((response: ApiResponse<AuthResponse>) => {
         if (response.success && response.data) {
-          // Store token and user info
-          this.token = response.data.token;
-          localStorage.setItem('auth_token', this.token);
+          // Store tokens and user info
+          this.storeTokens(response.data.token, response.data.refreshToken);
           localStorage.setItem('user_info', JSON.stringify(response.data.user));
           
           // Set user ID in audit logger
@@ -209,9 +232,8 @@ export class ApiService {
     return this.request<AuthResponse>('POST', '/auth/register', requestData).pipe(
       map((response: ApiResponse<AuthResponse>) => {
         if (response.success && response.data) {
-          // Store token and user info
-          this.token = response.data.token;
-          localStorage.setItem('auth_token', this.token);
+          // Store tokens and user info
+          this.storeTokens(response.data.token, response.data.refreshToken);
           localStorage.setItem('user_info', JSON.stringify(response.data.user));
           
           // Set user ID in audit logger
@@ -242,9 +264,15 @@ export class ApiService {
       timestamp: new Date().toISOString()
     });
 
+    // Revoke the tokens server-side; the local session ends either way. Sent even without a usable
+    // access token, which may have expired while the refresh token is still live.
+    if (this.token || this.refreshToken) {
+      const body = this.refreshToken ? { refreshToken: this.refreshToken } : undefined;
+      this.request<void>('POST', '/auth/logout', body).subscribe({ error: () => {} });
+    }
+
     // Clear stored data
-    this.token = null;
-    localStorage.removeItem('auth_token');
+    this.clearTokens();
     localStorage.removeItem('user_info');
     
     // Clear audit logger session
@@ -255,6 +283,68 @@ export class ApiService {
     });
   }
 
+  /**
+   * Trade the refresh token for a new access token and refresh token, unless another tab already has
+   * (sentWith is the access token that was refused). Concurrent callers share one call; if the server refuses the refresh token, the stored tokens are dropped and the user has to
+   * log in again.
+   */
+  private refreshAccessToken(sentWith: string | null): Observable<string> {
+    // Another tab may already have renewed the token the failed request carried
+    this.loadTokens();
+    if (this.token && this.token !== sentWith) {
+      return of(this.token);
+    }
+    if (!this.refreshing) {
+      const url = `${this.baseUrl}/auth/refresh`;
+      const presented = this.refreshToken;
+      this.refreshing = this.http.post<TokenResponse>(url, { refreshToken: presented }, {
+        headers: new HttpHeaders({ 'Content-Type': 'application/json' })
+      }).pipe(
+        map((response: TokenResponse) => {
+          this.storeTokens(response.token, response.refreshToken);
+          this.auditLogger.logApiCall('POST', url, 200);
+          return response.token;
+        }),
+        catchError((error: HttpErrorResponse) => {
+          // Another tab refreshed with the same token first; the server refused this one as a duplicate
+          const stored = localStorage.getItem('refresh_token');
+          if (error.status === 401 && stored && stored !== presented) {
+            this.loadTokens();
+            return of(this.token as string);
+          }
+          if (error.status === 401) {
+            this.auditLogger.logWarn('AUTH', 'Session Expired', { url });
+            this.clearTokens();
+            localStorage.removeItem('user_info');
+          }
+          return throwError(() => error);
+        }),
+        finalize(() => this.refreshing = null),
+        shareReplay(1)
+      );
+    }
+    return this.refreshing;
+  }
+
+  private loadTokens(): void {
+    this.token = localStorage.getItem('auth_token');
+    this.refreshToken = localStorage.getItem('refresh_token');
+  }
+
+  private storeTokens(token: string, refreshToken: string): void {
+    this.token = token;
+    this.refreshToken = refreshToken;
+    localStorage.setItem('auth_token', token);
+    localStorage.setItem('refresh_token', refreshToken);
+  }
+
+  private clearTokens(): void {
+    this.token = null;
+    this.refreshToken = null;
+    localStorage.removeItem('auth_token');
+    localStorage.removeItem('refresh_token');
+  }
+
   /**
    * Check if user is authenticated
    */
@@ -329,6 +419,82 @@ export class ApiService {
     return this.request<void>('DELETE', `/leaves/${id}`);
   }
 
+  /**
+   * Live leave status changes from GET /leaves/events (server-sent events), replacing list polling.
+   * Emits null whenever the stream (re)connects, so the caller re-reads its list once, then one
+   * LeaveEvent per change it may see. The stream is reopened when it ends (the server closes streams
+   * that fall too far behind) or fails, with a growing delay while it keeps failing.
+   * Read with fetch rather than EventSource, which cannot send the Authorization header.
+   */
+  leaveEvents(): Observable<LeaveEvent | null> {
+    const url = `${this.baseUrl}/leaves/events`;
+    return new Observable<LeaveEvent | null>(subscriber => {
+      const controller = new AbortController();
+      const sentWith = this.token;
+      fetch(url, {
+        headers: { 'Accept': 'text/event-stream', 'Authorization': `Bearer ${sentWith}` },
+        signal: controller.signal
+      }).then(async response => {
+        if (response.status === 401 && this.refreshToken) {
+          // The access token expired; renew it so the retry below reconnects with the new one
+          await new Promise<void>((resolve, reject) =>
+            this.refreshAccessToken(sentWith).subscribe({ next: () => resolve(), error: reject }));
+        }
+        if (!response.ok || !response.body) {
+          throw new Error(`Event stream failed: ${response.status}`);
+        }
+        this.auditLogger.logApiCall('GET', url, response.status);
+        subscriber.next(null);
+        const reader = response.body.pipeThrough(new TextDecoderStream()).getReader();
+        let buffer = '';
+        for (;;) {
+          const { value, done } = await reader.read();
+          if (done) {
+            break;
+          }
+          buffer += value;
+          let end: number;
+          while ((end = buffer.indexOf('\n\n')) >= 0) {
+            const event = this.parseLeaveEvent(buffer.slice(0, end));
+            buffer = buffer.slice(end + 2);
+            if (event) {
+              subscriber.next(event);
+            }
+          }
+        }
+        subscriber.complete();
+      }).catch(error => {
+        if (!controller.signal.aborted) {
+          subscriber.error(error);
+        }
+      });
+      return () => controller.abort();
+    }).pipe(
+      repeat({ delay: 1000 }),
+      retry({
+        delay: (error, retryCount) => {
+          this.auditLogger.logWarn('API', 'Leave Event Stream Failed', { url, retryCount, error: String(error) });
+          return timer(Math.min(30000, 1000 * 2 ** retryCount));
+        },
+        resetOnSuccess: true
+      })
+    );
+  }
+
+  // One server-sent event block; heartbeats and other event types yield null
+  private parseLeaveEvent(block: string): LeaveEvent | null {
+    let name = 'message';
+    const data: string[] = [];
+    for (const line of block.split('\n')) {
+      if (line.startsWith('event:')) {
+        name = line.slice(6).trim();
+      } else if (line.startsWith('data:')) {
+        data.push(line.slice(5).trimStart());
+      }
+    }
+    return name === 'leave' && data.length > 0 ? JSON.parse(data.join('\n')) as LeaveEvent : null;
+  }
+
   // Admin Methods
 
   /**
@@ -365,6 +531,17 @@ export class ApiService {
     return this.request<LeaveResponse>('PUT', `/leaves/${id}/approve`, request);
   }
 
+  /**
+   * Approve or reject many leave requests in one call (Admin only)
+   */
+  bulkDecide(decisions: BulkDecisionItem[]): Observable<ApiResponse<BulkDecisionResponse>> {
+    this.auditLogger.logInfo('API', 'Bulk Deciding Leave Requests', {
+      count: decisions.length
+    });
+
+    return this.request<BulkDecisionResponse>('POST', '/leaves/decisions', { decisions });
+  }
+
   /**
    * Get all users (Admin only)
    */
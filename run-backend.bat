@@ -2,11 +2,11 @@
 echo Starting LeaveFlow Backend (Micronaut)...
 echo.
 
-REM Check if Java 17 is installed
+REM Check if Java 21 is installed
 java -version 2>nul
 if %errorlevel% neq 0 (
     echo ERROR: Java is not installed or not in PATH
-    echo Please install Java 17 and add it to your PATH
+    echo Please install Java 21 and add it to your PATH
     pause
     exit /b 1
 )
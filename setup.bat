@@ -10,11 +10,11 @@ echo This script will prepare your LeaveFlow environment...
 echo.
 
 REM Check Java
-echo [1/4] Checking Java 17...
+echo [1/4] Checking Java 21...
 java -version 2>nul
 if %errorlevel% neq 0 (
-    echo ❌ Java 17 not found!
-    echo Please install Java 17 from: https://www.oracle.com/java/technologies/downloads/#java17
+    echo ❌ Java 21 not found!
+    echo Please install Java 21 from: https://www.oracle.com/java/technologies/downloads/#java21
     echo Then run this setup again.
     pause
     exit /b 1